@@ -0,0 +1,70 @@
+package com.recipebook.config;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
+import com.hazelcast.config.JoinConfig;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.config.MaxSizePolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+/**
+ * Embedded Hazelcast member backing the Hibernate second-level cache. Spring Boot starts the member from this
+ * {@link Config} before the entity manager factory, and {@code HazelcastLocalCacheRegionFactory} finds it by the
+ * {@code hibernate.cache.hazelcast.instance_name} property. Each node keeps its regions in local memory, so a hit
+ * costs no network call, and publishes every update and eviction on a topic per region; the nodes listed in
+ * {@code api.cache.hazelcast.members} form one cluster and drop the entries another node invalidated. Without members
+ * the node caches on its own.
+ * <p>
+ * The member has no authentication and its regions hold every cached entity, so it only binds to the addresses of
+ * {@code api.cache.hazelcast.interfaces}, loopback unless configured; list the private network of the nodes there and
+ * keep the port closed to anything else. Nothing secret is cached, see {@code UserCredential}.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+@Slf4j
+public class HibernateCacheConfig {
+    /** Entity and collection regions are named after the mapped class. */
+    private static final String ENTITY_REGIONS = "com.recipebook.domain.entities.*";
+
+    @Bean
+    public Config hazelcastConfig(@Value("${spring.jpa.properties.hibernate.cache.hazelcast.instance_name}") final String instanceName,
+                                  @Value("${api.cache.hazelcast.clustername:recipebook}") final String clusterName,
+                                  @Value("${api.cache.hazelcast.port:5701}") final int port,
+                                  @Value("${api.cache.hazelcast.members:}") final List<String> members,
+                                  @Value("${api.cache.hazelcast.interfaces:127.0.0.1}") final List<String> interfaces,
+                                  @Value("${api.cache.maxentriespernode:100000}") final int maxEntriesPerNode,
+                                  @Value("${api.cache.timetoliveinsec:3600}") final int timeToLiveSeconds) {
+        final Config config = new Config()
+                .setInstanceName(instanceName)
+                .setClusterName(clusterName)
+                .setProperty("hazelcast.phone.home.enabled", "false")
+                // listen on the chosen interface only, not on every address of the host
+                .setProperty("hazelcast.socket.bind.any", "false");
+        config.getNetworkConfig().setPort(port).setPortAutoIncrement(true);
+        config.getNetworkConfig().getInterfaces().setEnabled(true).setInterfaces(interfaces);
+        final JoinConfig join = config.getNetworkConfig().getJoin();
+        join.getMulticastConfig().setEnabled(false);
+        join.getAutoDetectionConfig().setEnabled(false);
+        join.getTcpIpConfig().setEnabled(!members.isEmpty()).setMembers(members);
+        // read by the local regions of the same name; the update timestamps region must never lose entries, so only the
+        // entity and collection regions are bounded
+        config.addMapConfig(new MapConfig(ENTITY_REGIONS)
+                .setTimeToLiveSeconds(timeToLiveSeconds)
+                .setEvictionConfig(new EvictionConfig()
+                        .setEvictionPolicy(EvictionPolicy.LRU)
+                        .setMaxSizePolicy(MaxSizePolicy.PER_NODE)
+                        .setSize(maxEntriesPerNode)));
+        log.info("Second-level cache member '{}' of cluster '{}' binds to {} and joins {}.", instanceName, clusterName, interfaces,
+                members.isEmpty() ? "no other member" : members);
+        return config;
+    }
+}
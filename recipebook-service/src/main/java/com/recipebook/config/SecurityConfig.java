@@ -1,10 +1,14 @@
 package com.recipebook.config;
 
+import com.recipebook.service.BoundedPasswordEncoder;
+import com.recipebook.service.LoginRateLimiter;
 import com.recipebook.service.RecipeUserDetailsService;
 import com.recipebook.service.TokenProvider;
+import com.recipebook.service.VerifiedTokenCache;
 import com.recipebook.web.filter.TokenAuthenticationFilter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.scheduling.annotation.EnableScheduling;
@@ -41,19 +45,53 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Autowired
     private TokenProvider tokenProvider;
 
+    @Value("${api.auth.jwt.verifiedtokencache.maxentries:10000}")
+    private int verifiedTokenCacheMaxEntries;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Value("${api.auth.loginratelimit.email.capacity:5}")
+    private int emailRateLimitCapacity;
+
+    @Value("${api.auth.loginratelimit.email.refillintervalinms:12000}")
+    private long emailRateLimitRefillIntervalInMs;
+
+    @Value("${api.auth.loginratelimit.ip.capacity:50}")
+    private int ipRateLimitCapacity;
+
+    @Value("${api.auth.loginratelimit.ip.refillintervalinms:1200}")
+    private long ipRateLimitRefillIntervalInMs;
+
+    @Bean
+    public VerifiedTokenCache verifiedTokenCache() {
+        return new VerifiedTokenCache(verifiedTokenCacheMaxEntries);
+    }
+
+    @Bean
+    public LoginRateLimiter loginRateLimiter() {
+        return new LoginRateLimiter(emailRateLimitCapacity, emailRateLimitRefillIntervalInMs, ipRateLimitCapacity, ipRateLimitRefillIntervalInMs);
+    }
+
     @Bean
     public TokenAuthenticationFilter tokenAuthenticationFilter(TokenProvider tokenProvider) {
-        return new TokenAuthenticationFilter(tokenProvider);
+        return new TokenAuthenticationFilter(tokenProvider, verifiedTokenCache());
     }
 
     @Override
     public void configure(AuthenticationManagerBuilder authenticationManagerBuilder) throws Exception {
-        authenticationManagerBuilder.userDetailsService(userDetailsService).passwordEncoder(passwordEncoder());
+        authenticationManagerBuilder.userDetailsService(userDetailsService).passwordEncoder(passwordEncoder);
     }
 
+    /**
+     * Static, so that {@link RecipeUserDetailsService} can get the encoder while this configuration is still being created.
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public static PasswordEncoder passwordEncoder(@Value("${api.auth.password.threads:0}") final int threads,
+                                                  @Value("${api.auth.password.queuecapacity:64}") final int queueCapacity,
+                                                  @Value("${api.auth.password.retryafterinsec:1}") final long retryAfterInSec) {
+        final int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(new BCryptPasswordEncoder(), poolSize, queueCapacity, retryAfterInSec);
     }
 
     @Bean(BeanIds.AUTHENTICATION_MANAGER)
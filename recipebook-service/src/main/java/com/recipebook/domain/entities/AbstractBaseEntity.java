@@ -19,6 +19,13 @@ import java.util.UUID;
 @Setter
 @MappedSuperclass
 abstract class AbstractBaseEntity implements Serializable {
+    /**
+     * Ids handed out per sequence call. Must match the {@code INCREMENT} of the sequences, see
+     * {@code V8__POOLED_SEQUENCES.sql}; the pooled-lo optimizer uses the value returned by {@code nextval} as the
+     * first id of the block, so rows inserted with the column default never collide with it.
+     */
+    static final int ID_ALLOCATION_SIZE = 50;
+
     protected abstract Long getId();
 
     @Column(nullable = false, updatable = false)
@@ -1,16 +1,21 @@
 package com.recipebook.domain.entities;
 
 import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
-import javax.persistence.Access;
-import javax.persistence.AccessType;
-import javax.persistence.Embeddable;
+import javax.persistence.*;
 import java.io.Serializable;
 
 /**
+ * Entry of the ingredient dictionary. Recipes reference ingredients by id, so a name is stored once however
+ * many recipes use it. {@link #name} holds the normalized form produced by {@code IngredientDictionary} and is the key
+ * of the entry; {@link #displayName} keeps the case of the spelling that created it and is what responses show.
+ *
  * @author - AvanishKishorPandey
  */
 
@@ -18,8 +23,28 @@ import java.io.Serializable;
 @Setter
 @AllArgsConstructor
 @NoArgsConstructor
-@Embeddable
-@Access(AccessType.FIELD)
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity
+@Table(name = "ingredient")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@SequenceGenerator(name = Ingredient.INGREDIENT_SEQUENCE_GENERATOR_NAME, sequenceName = Ingredient.INGREDIENT_SEQUENCE_GENERATOR_NAME, allocationSize = AbstractBaseEntity.ID_ALLOCATION_SIZE)
 public class Ingredient implements Serializable {
+    public static final String INGREDIENT_SEQUENCE_GENERATOR_NAME = "ingredient_sequence";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = INGREDIENT_SEQUENCE_GENERATOR_NAME)
+    private Integer id;
+
+    @EqualsAndHashCode.Include
+    @Column(nullable = false, unique = true)
     private String name;
+
+    @Column(name = "display_name", nullable = false)
+    private String displayName;
+
+    public Ingredient(final String name, final String displayName) {
+        this.name = name;
+        this.displayName = displayName;
+    }
 }
@@ -3,6 +3,8 @@ package com.recipebook.domain.entities;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.ResultCheckStyle;
 import org.hibernate.annotations.SQLDelete;
 import org.hibernate.annotations.Where;
@@ -17,10 +19,15 @@ import javax.persistence.*;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "recipe")
+@Table(name = "recipe", indexes = {
+        @Index(name = "IDX_RECIPE_USER_CREATEDON_ID", columnList = "user_fk, createdOn, id"),
+        @Index(name = "IDX_RECIPE_USER_SUITABLEFOR_ID", columnList = "user_fk, suitable_for, id")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @SQLDelete(sql = "UPDATE recipe SET deleted = true WHERE id = ? and version = ?", check = ResultCheckStyle.COUNT)
 @Where(clause = "deleted = false")
-@SequenceGenerator(name = Recipe.RECIPE_SEQUENCE_GENERATOR_NAME, sequenceName = Recipe.RECIPE_SEQUENCE_GENERATOR_NAME, allocationSize = 1)
+@SequenceGenerator(name = Recipe.RECIPE_SEQUENCE_GENERATOR_NAME, sequenceName = Recipe.RECIPE_SEQUENCE_GENERATOR_NAME, allocationSize = AbstractBaseEntity.ID_ALLOCATION_SIZE)
 public class Recipe extends AbstractBaseEntity {
     public static final String RECIPE_SEQUENCE_GENERATOR_NAME = "recipe_sequence";
 
@@ -44,7 +51,7 @@ public class Recipe extends AbstractBaseEntity {
     @Column(columnDefinition="TEXT", name = "instruction", nullable = false)
     private String cookingInstruction;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_fk")
     private User user;
 }
@@ -0,0 +1,30 @@
+package com.recipebook.domain.entities;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.Column;
+import javax.persistence.Embeddable;
+import java.io.Serializable;
+
+/**
+ * A record of an import dump that was rejected, with the reason.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Embeddable
+public class RecipeImportError implements Serializable {
+    /** 1-based position of the record in the dump. */
+    @Column(nullable = false)
+    private long record;
+
+    @Column(nullable = false, length = 1000)
+    private String message;
+}
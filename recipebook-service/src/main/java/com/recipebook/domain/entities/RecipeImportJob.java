@@ -0,0 +1,80 @@
+package com.recipebook.domain.entities;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Progress of one {@code POST /recipes/import}. Updated in the transaction of every chunk of recipes it commits, so
+ * {@link #committedOffset} is always the number of records of the dump whose recipes are in the database.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "recipe_import_job")
+@SequenceGenerator(name = RecipeImportJob.RECIPE_IMPORT_JOB_SEQUENCE_GENERATOR_NAME, sequenceName = RecipeImportJob.RECIPE_IMPORT_JOB_SEQUENCE_GENERATOR_NAME, allocationSize = AbstractBaseEntity.ID_ALLOCATION_SIZE)
+public class RecipeImportJob extends AbstractBaseEntity {
+    public static final String RECIPE_IMPORT_JOB_SEQUENCE_GENERATOR_NAME = "recipe_import_job_sequence";
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        /** Stopped at {@link #committedOffset}, can be resumed from there. */
+        FAILED
+    }
+
+    @Id
+    @Column(unique = true)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = RECIPE_IMPORT_JOB_SEQUENCE_GENERATOR_NAME)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_fk", nullable = false)
+    private User user;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private Status status = Status.QUEUED;
+
+    /** Records of the dump, imported or rejected, covered by committed chunks. */
+    @Column(nullable = false)
+    private long committedOffset;
+
+    @Column(nullable = false)
+    private long importedCount;
+
+    @Column(nullable = false)
+    private long rejectedCount;
+
+    /** Time spent importing, summed over the runs of the job. */
+    @Column(nullable = false)
+    private long elapsedMillis;
+
+    @Column(length = 1000)
+    private String failure;
+
+    private LocalDateTime finishedOn;
+
+    /** Instance id of the node that queued the job and runs it, cleared when another node fails the job. */
+    @Column(length = 36)
+    private String nodeId;
+
+    /** Last renewal of the lease of {@link #nodeId} on the queued or running job. */
+    private LocalDateTime heartbeatOn;
+
+    /** The first rejected records, the others are only counted. */
+    @ElementCollection
+    @CollectionTable(name = "recipe_import_error", joinColumns = @JoinColumn(name = "job_id"))
+    @OrderColumn(name = "error_index")
+    private List<RecipeImportError> errors = new ArrayList<>();
+}
@@ -4,10 +4,12 @@ import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import javax.persistence.*;
 import java.io.Serializable;
-import java.util.List;
+import java.util.Set;
 
 /**
  * @author - AvanishKishorPandey
@@ -20,7 +22,14 @@ import java.util.List;
 @Embeddable
 @Access(AccessType.FIELD)
 public class RecipeIngredient implements Serializable {
-    @ElementCollection(fetch = FetchType.EAGER)
-    @CollectionTable(name = "recipe_ingredient", joinColumns = @JoinColumn(name = "recipe_id"))
-    private List<Ingredient> ingredients;
+    /**
+     * Rows of {@code recipe_ingredient} are {@code (recipe_id, ingredient_id)} pairs; their primary key also serves
+     * the lookup by recipe. The cached collection holds ingredient ids, which resolve from the {@link Ingredient}
+     * cache.
+     */
+    @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+    @JoinTable(name = "recipe_ingredient", joinColumns = @JoinColumn(name = "recipe_id"),
+            inverseJoinColumns = @JoinColumn(name = "ingredient_id"))
+    private Set<Ingredient> ingredients;
 }
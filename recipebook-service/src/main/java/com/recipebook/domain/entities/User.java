@@ -3,6 +3,8 @@ package com.recipebook.domain.entities;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.annotations.Where;
 
 import javax.persistence.*;
@@ -10,6 +12,8 @@ import javax.validation.constraints.Pattern;
 import java.util.List;
 
 /**
+ * Cached in the second-level cache, so it holds nothing secret; the password hash is a {@link UserCredential}.
+ *
  * @author - AvanishKishorPandey
  */
 
@@ -17,13 +21,15 @@ import java.util.List;
 @Setter
 @NoArgsConstructor
 @Entity
-@Table(name = "recipe_user", indexes = {
-        @Index(name = "IDX_USERS_EMAILADDRESS", columnList = "emailAddress")
-})
+@Table(name = "recipe_user")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Where(clause = "deleted = false")
-@SequenceGenerator(name = User.USER_SEQUENCE_GENERATOR_NAME, sequenceName = User.USER_SEQUENCE_GENERATOR_NAME, allocationSize = 1)
+@SequenceGenerator(name = User.USER_SEQUENCE_GENERATOR_NAME, sequenceName = User.USER_SEQUENCE_GENERATOR_NAME, allocationSize = AbstractBaseEntity.ID_ALLOCATION_SIZE)
 public class User extends AbstractBaseEntity {
     public static final String USER_SEQUENCE_GENERATOR_NAME = "user_sequence";
+    /** Unique index on {@code lower(email_address)} of the live users, created by the V3 migration. */
+    public static final String EMAIL_ADDRESS_INDEX_NAME = "idx_users_emailaddress_lower";
 
     @Id
     @Column(unique = true)
@@ -40,8 +46,6 @@ public class User extends AbstractBaseEntity {
     @Column(nullable = false)
     private String emailAddress;
 
-    private String passwordHash;
-
     @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     private List<Recipe> recipes;
 }
@@ -0,0 +1,37 @@
+package com.recipebook.domain.entities;
+
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import javax.persistence.*;
+
+/**
+ * Password hash of a {@link User}, kept apart from it because users are in the second-level cache, whose entries
+ * every node of the cluster holds. This entity is not cacheable, the hash is only read when a user logs in.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Getter
+@Setter
+@NoArgsConstructor
+@Entity
+@Table(name = "user_credential")
+public class UserCredential {
+    @Id
+    private Long userId;
+
+    @MapsId
+    @OneToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id")
+    private User user;
+
+    @Column(nullable = false)
+    private String passwordHash;
+
+    public UserCredential(final User user, final String passwordHash) {
+        this.user = user;
+        this.passwordHash = passwordHash;
+    }
+}
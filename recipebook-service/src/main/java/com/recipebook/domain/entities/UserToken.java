@@ -16,7 +16,8 @@ import java.time.Instant;
 @NoArgsConstructor
 @Entity
 @Table(name = "users_token", indexes = {
-		@Index(name = "IDX_USERTOKEN_TOKEN", columnList = "token", unique = true)
+		@Index(name = "IDX_USERTOKEN_TOKEN", columnList = "token", unique = true),
+		@Index(name = "IDX_USERTOKEN_EXPIRYDATE", columnList = "expiryDate")
 })
 public class UserToken {
 	@Id
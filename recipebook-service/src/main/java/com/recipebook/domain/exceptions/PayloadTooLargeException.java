@@ -0,0 +1,18 @@
+package com.recipebook.domain.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The request body is larger than the service accepts for the resource.
+ *
+ * @author - AvanishKishorPandey
+ */
+@ResponseStatus(HttpStatus.PAYLOAD_TOO_LARGE)
+public class PayloadTooLargeException extends RuntimeException {
+    private static final long serialVersionUID = 6118400531520337447L;
+
+    public PayloadTooLargeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,18 @@
+package com.recipebook.domain.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The {@code If-Match} precondition of a request does not hold for the current state of the resource.
+ *
+ * @author - AvanishKishorPandey
+ */
+@ResponseStatus(HttpStatus.PRECONDITION_FAILED)
+public class PreconditionFailedException extends RuntimeException {
+    private static final long serialVersionUID = -4378019416218840162L;
+
+    public PreconditionFailedException(String message) {
+        super(message);
+    }
+}
@@ -2,6 +2,7 @@ package com.recipebook.domain.values;
 
 import lombok.*;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 import java.util.function.Function;
@@ -16,14 +17,28 @@ import java.util.stream.Collectors;
 @AllArgsConstructor
 @NoArgsConstructor
 public final class PageResponse<D> {
+    /** Returned for the totals and page number of a page that was requested with a cursor, as those are not computed. */
+    public static final long UNKNOWN = -1;
+
     private long totalItems;
     private long totalPages;
     private long currentPage;
     @ToString.Exclude
     private List<D> contents;
+    /** Continuation token for the next page, {@code null} on the last page. */
+    private String nextCursor;
 
     public static <D, E> PageResponse<D> of(final Page<E> pageResult, final Function<E, D> converterFunction) {
+        return of(pageResult, converterFunction, null);
+    }
+
+    public static <D, E> PageResponse<D> of(final Page<E> pageResult, final Function<E, D> converterFunction, final String nextCursor) {
         List<D> contents = pageResult.stream().map(converterFunction).collect(Collectors.toList());
-        return new PageResponse<>(pageResult.getTotalElements(), pageResult.getTotalPages(), pageResult.getNumber(), contents);
+        return new PageResponse<>(pageResult.getTotalElements(), pageResult.getTotalPages(), pageResult.getNumber(), contents, nextCursor);
+    }
+
+    public static <D, E> PageResponse<D> ofCursor(final Slice<E> sliceResult, final Function<E, D> converterFunction, final String nextCursor) {
+        List<D> contents = sliceResult.stream().map(converterFunction).collect(Collectors.toList());
+        return new PageResponse<>(UNKNOWN, UNKNOWN, UNKNOWN, contents, nextCursor);
     }
 }
@@ -0,0 +1,25 @@
+package com.recipebook.domain.values;
+
+import lombok.Data;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Body of {@code POST /recipes/batch}.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Data
+public class RecipeBatchRequest implements Serializable {
+    public static final int MAX_RECIPES = 100;
+
+    @Valid
+    @NotEmpty(message = "At least one recipe is required.")
+    @Size(max = MAX_RECIPES, message = "At most " + MAX_RECIPES + " recipes can be created at once.")
+    private List<RecipeRequest> recipes;
+}
@@ -0,0 +1,35 @@
+package com.recipebook.domain.values;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+
+/**
+ * Published by {@code RecipeService} for every recipe write, inside the writing transaction.
+ * {@link #before} is {@code null} for a created recipe and {@link #after} is {@code null} for a deleted one.
+ * Serializable, as {@code RecipeChangeBroadcaster} sends it to the other nodes.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class RecipeChangedEvent implements Serializable {
+    private static final long serialVersionUID = 2874110391950412035L;
+
+    private final RecipeFacets before;
+    private final RecipeFacets after;
+
+    public long getRecipeId() {
+        return (after != null ? after : before).getRecipeId();
+    }
+
+    /**
+     * Version of the recipe once the change is applied. A soft delete bumps the version like an update does.
+     */
+    public int getVersion() {
+        return after != null ? after.getVersion() : before.getVersion() + 1;
+    }
+}
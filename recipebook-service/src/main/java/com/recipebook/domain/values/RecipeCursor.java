@@ -0,0 +1,49 @@
+package com.recipebook.domain.values;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import javax.validation.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position of the last recipe of a page in the {@code (createdOn, id)} order, handed to clients as an opaque
+ * continuation token.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class RecipeCursor {
+    private static final char SEPARATOR = '|';
+
+    private final LocalDateTime createdOn;
+    private final Long id;
+
+    public String encode() {
+        final String value = createdOn.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws ValidationException - if the token was not produced by {@link #encode()}.
+     */
+    public static RecipeCursor decode(@NonNull final String token) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("Invalid cursor '" + token + "'.");
+            }
+            return new RecipeCursor(LocalDateTime.parse(value.substring(0, separator)), Long.valueOf(value.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ValidationException("Invalid cursor '" + token + "'.");
+        }
+    }
+}
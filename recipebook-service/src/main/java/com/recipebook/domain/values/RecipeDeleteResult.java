@@ -0,0 +1,27 @@
+package com.recipebook.domain.values;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one recipe of a {@code DELETE /recipes?ids=} request.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecipeDeleteResult {
+    public enum Status {
+        DELETED,
+        /** No live recipe has the id. */
+        NOT_FOUND,
+        /** The recipe belongs to another user. */
+        FORBIDDEN
+    }
+
+    private String uuid;
+    private Status status;
+}
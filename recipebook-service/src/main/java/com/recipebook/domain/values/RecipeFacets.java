@@ -0,0 +1,31 @@
+package com.recipebook.domain.values;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.util.Set;
+
+/**
+ * The attributes of a recipe that the in-memory indexes are built from.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class RecipeFacets implements Serializable {
+    private static final long serialVersionUID = 3518927140672358716L;
+
+    private final long recipeId;
+    /** Version of the recipe row these facets were read from or written with. */
+    private final int version;
+    private final long userId;
+    private final String name;
+    private final boolean vegetarian;
+    private final int suitableFor;
+    private final Set<Integer> ingredientIds;
+    /** Display names of the ingredients, as the recipe responses show them. */
+    private final Set<String> ingredientNames;
+}
@@ -0,0 +1,24 @@
+package com.recipebook.domain.values;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Criteria of {@code GET /recipes/filter}, every criterion is optional.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Data
+@Builder
+public class RecipeFilter {
+    /** Ingredients the recipe must all contain. */
+    private Set<String> include;
+    /** Ingredients the recipe must not contain. */
+    private Set<String> exclude;
+    private Boolean vegetarian;
+    /** Minimum number of persons the recipe serves. */
+    private Integer minServes;
+}
@@ -0,0 +1,43 @@
+package com.recipebook.domain.values;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Progress of a recipe import job, as polled at {@code GET /recipes/import/{id}}.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Data
+@Builder
+public class RecipeImportJobResponse implements Serializable {
+    private String uuid;
+    /** QUEUED, RUNNING, COMPLETED or FAILED. */
+    private String status;
+    /** Records of the dump, imported or rejected, that are committed. A resumed job skips them. */
+    private long committedOffset;
+    private long importedCount;
+    private long rejectedCount;
+    /** Recipes imported per second of import time, over all runs of the job. */
+    private double recipesPerSecond;
+    private String failure;
+    private String createdAt;
+    private String finishedAt;
+    /** The first rejected records, {@link #rejectedCount} counts them all. */
+    private List<RecordError> errors;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecordError implements Serializable {
+        /** 1-based position of the record in the dump. */
+        private long record;
+        private String message;
+    }
+}
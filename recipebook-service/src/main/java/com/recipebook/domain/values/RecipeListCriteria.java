@@ -0,0 +1,20 @@
+package com.recipebook.domain.values;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * Sort and filters of {@code GET /recipes}, as requested. {@code null} fields are not applied.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Data
+@Builder
+public class RecipeListCriteria {
+    /** {@code field} or {@code field,asc|desc}. */
+    private String sort;
+    private Boolean vegetarian;
+    /** Minimum number of persons the recipe serves, only with the {@code suitableFor} sort. */
+    private Integer minServes;
+}
@@ -0,0 +1,33 @@
+package com.recipebook.domain.values;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Aggregate of the live recipes of a user that changes whenever one of them is created, updated or deleted:
+ * a create raises the highest id, an update raises one version and so the sum, a delete lowers the count.
+ * The highest version alone would miss updates to any recipe but the most edited one.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class RecipeListVersion {
+    private final Long count;
+    private final Long versionSum;
+    private final Long maxId;
+
+    /**
+     * Opaque fingerprint of this aggregate for the given user, so two users with the same aggregate never share it.
+     */
+    public String fingerprint(final long userId) {
+        final String value = userId + ":" + count + ":" + versionSum + ":" + maxId;
+        return DigestUtils.md5DigestAsHex(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
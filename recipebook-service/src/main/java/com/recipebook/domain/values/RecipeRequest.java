@@ -16,10 +16,14 @@ import java.util.Set;
 
 @Data
 public class RecipeRequest implements Serializable {
+    /** Length of the name columns of recipe and ingredient. */
+    public static final int MAX_NAME_LENGTH = 255;
+
     @JsonIgnore
     private String guid;
 
     @NotBlank(message = "Recipe name is required")
+    @Size(max = MAX_NAME_LENGTH, message = "Recipe name must be at most " + MAX_NAME_LENGTH + " characters")
     private String name;
 
     private boolean isVegetarian;
@@ -29,7 +33,7 @@ public class RecipeRequest implements Serializable {
 
     @NotNull(message = "Recipe ingredient is required")
     @Size(min = 1, message = "At least one ingredient is required.")
-    private Set<String> ingredients;
+    private Set<@Size(max = MAX_NAME_LENGTH, message = "Ingredient name must be at most " + MAX_NAME_LENGTH + " characters") String> ingredients;
 
     @NotBlank(message = "Recipe cooking instruction is required")
     private String cookingInstruction;
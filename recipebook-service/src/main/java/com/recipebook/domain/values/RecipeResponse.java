@@ -1,5 +1,6 @@
 package com.recipebook.domain.values;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.Builder;
 import lombok.Data;
 
@@ -13,11 +14,18 @@ import java.util.Set;
 @Data
 @Builder
 public class RecipeResponse implements Serializable {
+    /** Format of {@link #createdAt}, shared by every path that builds a response. */
+    public static final String CREATED_AT_FORMAT = "dd‐MM‐yyyy HH:mm";
+
     private String uuid;
     private String createdAt;
     private String name;
     private boolean isVegetarian;
     private int suitableFor;
+    /** Display names of the ingredients: the spelling each dictionary entry was created with, see {@code Ingredient}. */
     private Set<String> ingredients;
     private String cookingInstruction;
+    /** Sent as the {@code ETag} of the recipe rather than in the body. */
+    @JsonIgnore
+    private int version;
 }
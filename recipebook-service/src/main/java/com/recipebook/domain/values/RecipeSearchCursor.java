@@ -0,0 +1,47 @@
+package com.recipebook.domain.values;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.ToString;
+
+import javax.validation.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position of a search hit in the {@code (rank desc, id desc)} order of search results, handed to clients as an
+ * opaque continuation token.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class RecipeSearchCursor {
+    private static final char SEPARATOR = '|';
+
+    private final float rank;
+    private final long id;
+
+    public String encode() {
+        final String value = Float.toString(rank) + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws ValidationException - if the token was not produced by {@link #encode()}.
+     */
+    public static RecipeSearchCursor decode(@NonNull final String token) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final int separator = value.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new ValidationException("Invalid cursor '" + token + "'.");
+            }
+            return new RecipeSearchCursor(Float.parseFloat(value.substring(0, separator)), Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new ValidationException("Invalid cursor '" + token + "'.");
+        }
+    }
+}
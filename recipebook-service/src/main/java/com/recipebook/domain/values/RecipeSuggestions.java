@@ -0,0 +1,23 @@
+package com.recipebook.domain.values;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Typeahead completions for the add-recipe dialog, each list in alphabetical order.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class RecipeSuggestions {
+    private List<String> recipes;
+    private List<String> ingredients;
+}
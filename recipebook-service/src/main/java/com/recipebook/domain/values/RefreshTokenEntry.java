@@ -0,0 +1,29 @@
+package com.recipebook.domain.values;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Refresh token together with the user details needed to issue a new access token.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class RefreshTokenEntry {
+    @ToString.Exclude
+    private final String token;
+    private final Long userId;
+    private final String userGuid;
+    private final String firstName;
+    private final String lastName;
+    private final Instant expiryDate;
+
+    public boolean isExpired(final Instant now) {
+        return expiryDate.compareTo(now) < 0;
+    }
+}
@@ -0,0 +1,22 @@
+package com.recipebook.domain.values;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Instant;
+
+/**
+ * Claims carried by the access tokens issued by the application.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public final class TokenClaims {
+    private final String subject;
+    private final Long userId;
+    private final Instant issuedAt;
+    private final Instant expiresAt;
+}
@@ -0,0 +1,27 @@
+package com.recipebook.repository;
+
+import com.recipebook.domain.entities.Ingredient;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+
+@Repository
+public interface IngredientRepository extends JpaRepository<Ingredient, Integer> {
+    List<Ingredient> findAllByNameIn(Collection<String> names);
+
+    /**
+     * Inserts new dictionary entries in their own transaction, so an id handed out by the dictionary cache never
+     * belongs to a row that the caller's transaction could still roll back.
+     */
+    @Override
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    <S extends Ingredient> List<S> saveAllAndFlush(Iterable<S> entities);
+}
@@ -0,0 +1,65 @@
+package com.recipebook.repository;
+
+import com.recipebook.domain.values.RecipeSearchCursor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.*;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Portable search for the H2 default profile: every word of the query must appear in the name or the instruction,
+ * and each word scores 2 when found in the name and 1 when found in the instruction. It scans all recipes of the
+ * user, which is fine for development and tests but not for large tables.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Repository
+@ConditionalOnProperty(name = "api.recipe.search.engine", havingValue = "like", matchIfMissing = true)
+public class LikeRecipeSearchRepository implements RecipeSearchRepository {
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int MAX_TERMS = 8;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public LikeRecipeSearchRepository(final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<RecipeSearchCursor> search(final long userId, final String query, final RecipeSearchCursor after, final int limit) {
+        final List<String> terms = Arrays.stream(NON_WORD.split(query.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .limit(MAX_TERMS)
+                .collect(Collectors.toList());
+        if (terms.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("limit", limit);
+        final StringJoiner rank = new StringJoiner(" + ", "(", ")");
+        final StringJoiner matches = new StringJoiner(" and ");
+        for (int i = 0; i < terms.size(); i++) {
+            final String name = "lower(r.name) like :term" + i;
+            final String instruction = "lower(r.instruction) like :term" + i;
+            rank.add("case when " + name + " then 2 else 0 end + case when " + instruction + " then 1 else 0 end");
+            matches.add("(" + name + " or " + instruction + ")");
+            // the terms only hold letters and digits, so they need no escaping
+            parameters.addValue("term" + i, "%" + terms.get(i) + "%");
+        }
+        final StringBuilder sql = new StringBuilder("select id, rank from (select r.id, ").append(rank).append(" as rank from recipe r ")
+                .append("where r.user_fk = :userId and r.deleted = false and ").append(matches).append(") hits ");
+        if (after != null) {
+            sql.append("where rank < :rank or (rank = :rank and id < :id) ");
+            parameters.addValue("rank", after.getRank()).addValue("id", after.getId());
+        }
+        sql.append("order by rank desc, id desc limit :limit");
+        return jdbcTemplate.query(sql.toString(), parameters, (resultSet, rowNum) ->
+                new RecipeSearchCursor(resultSet.getFloat("rank"), resultSet.getLong("id")));
+    }
+}
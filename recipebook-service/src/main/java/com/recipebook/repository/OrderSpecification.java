@@ -0,0 +1,17 @@
+package com.recipebook.repository;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+/**
+ * Order of a criteria query, the ordering counterpart of a {@link org.springframework.data.jpa.domain.Specification}.
+ * Unlike {@link org.springframework.data.domain.Sort} it can order by expressions such as {@code lower(name)}.
+ *
+ * @author - AvanishKishorPandey
+ */
+@FunctionalInterface
+public interface OrderSpecification<T> {
+    List<Order> toOrders(Root<T> root, CriteriaBuilder criteriaBuilder);
+}
@@ -0,0 +1,51 @@
+package com.recipebook.repository;
+
+import com.recipebook.domain.values.RecipeSearchCursor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+/**
+ * Searches the generated {@code recipe.search_vector} column, name weighted above instruction, through the
+ * {@code (user_fk, search_vector)} GIN index. The index only yields the matching recipes of the user, so the cost
+ * of a page follows the number of hits of that user and not the size of the table. The query is parsed with
+ * {@code websearch_to_tsquery}, which accepts quoted phrases, {@code or} and {@code -word} and never fails on
+ * user input.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Repository
+@ConditionalOnProperty(name = "api.recipe.search.engine", havingValue = "postgres")
+public class PostgresRecipeSearchRepository implements RecipeSearchRepository {
+    private static final String HITS = "select id, rank from (select r.id, ts_rank(r.search_vector, query) as rank "
+            + "from recipe r, websearch_to_tsquery('english', :query) query "
+            + "where r.user_fk = :userId and r.deleted = false and r.search_vector @@ query) hits ";
+    private static final String SEARCH = HITS + "order by rank desc, id desc limit :limit";
+    private static final String SEARCH_AFTER = HITS + "where rank < cast(:rank as real) or (rank = cast(:rank as real) and id < :id) "
+            + "order by rank desc, id desc limit :limit";
+    private static final RowMapper<RecipeSearchCursor> HIT_MAPPER = (resultSet, rowNum) ->
+            new RecipeSearchCursor(resultSet.getFloat("rank"), resultSet.getLong("id"));
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public PostgresRecipeSearchRepository(final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<RecipeSearchCursor> search(final long userId, final String query, final RecipeSearchCursor after, final int limit) {
+        final MapSqlParameterSource parameters = new MapSqlParameterSource()
+                .addValue("userId", userId)
+                .addValue("query", query)
+                .addValue("limit", limit);
+        if (after == null) {
+            return jdbcTemplate.query(SEARCH, parameters, HIT_MAPPER);
+        }
+        parameters.addValue("rank", after.getRank()).addValue("id", after.getId());
+        return jdbcTemplate.query(SEARCH_AFTER, parameters, HIT_MAPPER);
+    }
+}
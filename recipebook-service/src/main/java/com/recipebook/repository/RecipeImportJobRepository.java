@@ -0,0 +1,42 @@
+package com.recipebook.repository;
+
+import com.recipebook.domain.entities.RecipeImportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Optional;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+
+@Repository
+public interface RecipeImportJobRepository extends JpaRepository<RecipeImportJob, Long> {
+    Optional<RecipeImportJob> findOneByGuid(String guid);
+
+    Optional<RecipeImportJob> findOneByGuidAndUserId(String guid, Long userId);
+
+    /**
+     * Renews the lease of the jobs {@code nodeId} still holds.
+     */
+    @Modifying
+    @Query("update RecipeImportJob j set j.heartbeatOn = :heartbeatOn where j.nodeId = :nodeId and j.guid in (:guids)")
+    int renewLeases(@Param("nodeId") String nodeId, @Param("guids") Collection<String> guids, @Param("heartbeatOn") LocalDateTime heartbeatOn);
+
+    /**
+     * Fails the jobs left in one of {@code statuses} whose lease was last renewed before {@code expiredBefore}, so they
+     * can be resumed. Their node loses them, in case it is only late.
+     *
+     * @return the number of jobs failed.
+     */
+    @Modifying
+    @Query("update RecipeImportJob j set j.status = com.recipebook.domain.entities.RecipeImportJob$Status.FAILED, j.failure = :failure, "
+            + "j.nodeId = null, j.version = j.version + 1 where j.status in (:statuses) and j.heartbeatOn < :expiredBefore")
+    int failAllByStatusInAndHeartbeatOnBefore(@Param("statuses") Collection<RecipeImportJob.Status> statuses,
+                                              @Param("expiredBefore") LocalDateTime expiredBefore, @Param("failure") String failure);
+}
@@ -0,0 +1,226 @@
+package com.recipebook.repository;
+
+import com.recipebook.domain.values.RecipeFacets;
+import com.recipebook.domain.values.RecipeResponse;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Read-only queries that map rows straight into {@link RecipeResponse}, for list calls that do not need managed
+ * entities. Nothing goes through the persistence context, so there are no entity instances, snapshots or
+ * collection wrappers to build and no second copy through {@code RecipeMapper}.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Repository
+public class RecipeReadRepository {
+    private static final DateTimeFormatter CREATED_AT_FORMATTER = DateTimeFormatter.ofPattern(RecipeResponse.CREATED_AT_FORMAT);
+    private static final String FIND_ALL_BY_ID_IN = "select r.id, r.guid, r.version, r.created_on, r.name, r.vegetarian, r.suitable_for, r.instruction, i.display_name as ingredient "
+            + "from recipe r left join recipe_ingredient ri on ri.recipe_id = r.id left join ingredient i on i.id = ri.ingredient_id "
+            + "where r.deleted = false and r.id in (:ids)";
+    private static final String SELECT_FACETS = "select r.id, r.guid, r.version, r.user_fk, r.name, r.vegetarian, r.suitable_for, ri.ingredient_id, i.display_name as ingredient "
+            + "from recipe r left join recipe_ingredient ri on ri.recipe_id = r.id left join ingredient i on i.id = ri.ingredient_id ";
+    private static final String FIND_ALL_FACETS = SELECT_FACETS + "where r.deleted = false order by r.id";
+    private static final String FIND_FACETS_BY_USER_ID = SELECT_FACETS + "where r.user_fk = :userId and r.deleted = false order by r.id";
+    private static final String FIND_FACETS_BY_GUID_IN = SELECT_FACETS + "where r.guid in (:guids) and r.user_fk = :userId and r.deleted = false order by r.id";
+    private static final String FIND_ALL_BY_USER_ID = "select r.id, r.guid, r.version, r.created_on, r.name, r.vegetarian, r.suitable_for, r.instruction, i.display_name as ingredient "
+            + "from recipe r left join recipe_ingredient ri on ri.recipe_id = r.id left join ingredient i on i.id = ri.ingredient_id "
+            + "where r.user_fk = ? and r.deleted = false order by r.created_on, r.id";
+    private static final int FACETS_FETCH_SIZE = 1000;
+    private static final int RECIPES_FETCH_SIZE = 1000;
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+
+    public RecipeReadRepository(final NamedParameterJdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Loads the recipes with their ingredients in one statement, one row per ingredient.
+     *
+     * @return the recipes in the order of {@code ids}, skipping ids that no longer match a live recipe.
+     */
+    public List<RecipeResponse> findAllByIdIn(final List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final Map<Long, RecipeResponse> recipesById = new HashMap<>(ids.size() * 2);
+        jdbcTemplate.query(FIND_ALL_BY_ID_IN, Map.of("ids", ids), resultSet -> {
+            final long id = resultSet.getLong("id");
+            RecipeResponse recipe = recipesById.get(id);
+            if (recipe == null) {
+                recipe = toResponse(resultSet, new HashSet<>());
+                recipesById.put(id, recipe);
+            }
+            final String ingredient = resultSet.getString("ingredient");
+            if (ingredient != null) {
+                recipe.getIngredients().add(ingredient);
+            }
+        });
+        return ids.stream().map(recipesById::get).filter(Objects::nonNull).collect(Collectors.toList());
+    }
+
+    /**
+     * Streams every live recipe of the user, oldest first, with its ingredients in name order. Runs in a read-only
+     * transaction so the driver can use a cursor with {@value #RECIPES_FETCH_SIZE} rows per fetch; each recipe is
+     * handed over once its last ingredient row is read, so memory does not grow with the number of recipes.
+     * The order is the one of {@code idx_recipe_user_createdon_id}, so the scan needs no sort either.
+     */
+    @Transactional(readOnly = true)
+    public void forEachRecipe(final long userId, final Consumer<RecipeResponse> consumer) {
+        final RecipeCollector collector = new RecipeCollector(consumer);
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_ALL_BY_USER_ID, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(RECIPES_FETCH_SIZE);
+            statement.setLong(1, userId);
+            return statement;
+        }, collector);
+        collector.flush();
+    }
+
+    /**
+     * Streams the facets of every live recipe in id order, for building the in-memory indexes. Runs in a read-only
+     * transaction so the driver can use a cursor with {@value #FACETS_FETCH_SIZE} rows per fetch instead of
+     * materializing the whole table.
+     */
+    @Transactional(readOnly = true)
+    public void forEachFacets(final Consumer<RecipeFacets> consumer) {
+        final FacetsCollector collector = new FacetsCollector((guid, facets) -> consumer.accept(facets));
+        jdbcTemplate.getJdbcOperations().query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(FIND_ALL_FACETS);
+            statement.setFetchSize(FACETS_FETCH_SIZE);
+            return statement;
+        }, collector);
+        collector.flush();
+    }
+
+    /**
+     * Reads the facets of the live recipes of one user in id order.
+     */
+    public void forEachFacets(final long userId, final Consumer<RecipeFacets> consumer) {
+        final FacetsCollector collector = new FacetsCollector((guid, facets) -> consumer.accept(facets));
+        jdbcTemplate.query(FIND_FACETS_BY_USER_ID, Map.of("userId", userId), collector);
+        collector.flush();
+    }
+
+    /**
+     * Reads the facets of one recipe of the user, as committed or as written earlier in the current transaction.
+     */
+    public Optional<RecipeFacets> findFacetsByGuid(final String guid, final long userId) {
+        return Optional.ofNullable(findFacetsByGuidIn(List.of(guid), userId).get(guid));
+    }
+
+    /**
+     * Reads the facets of the live recipes of the user among {@code guids}.
+     *
+     * @return the facets keyed by guid, guids that match no live recipe of the user are absent.
+     */
+    public Map<String, RecipeFacets> findFacetsByGuidIn(final Collection<String> guids, final long userId) {
+        if (guids.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        final Map<String, RecipeFacets> facetsByGuid = new HashMap<>(guids.size() * 2);
+        final FacetsCollector collector = new FacetsCollector(facetsByGuid::put);
+        jdbcTemplate.query(FIND_FACETS_BY_GUID_IN, Map.of("guids", guids, "userId", userId), collector);
+        collector.flush();
+        return facetsByGuid;
+    }
+
+    private static RecipeResponse toResponse(final ResultSet resultSet, final Set<String> ingredients) throws SQLException {
+        return RecipeResponse.builder()
+                .uuid(resultSet.getString("guid"))
+                .createdAt(CREATED_AT_FORMATTER.format(resultSet.getObject("created_on", LocalDateTime.class)))
+                .name(resultSet.getString("name"))
+                .isVegetarian(resultSet.getBoolean("vegetarian"))
+                .suitableFor(resultSet.getInt("suitable_for"))
+                .cookingInstruction(resultSet.getString("instruction"))
+                .version(resultSet.getInt("version"))
+                .ingredients(ingredients)
+                .build();
+    }
+
+    /**
+     * Folds the one-row-per-ingredient result into one {@link RecipeResponse} per recipe, ingredients sorted by
+     * name. Rows of a recipe must be adjacent.
+     */
+    private static final class RecipeCollector implements RowCallbackHandler {
+        private final Consumer<RecipeResponse> consumer;
+        private long currentId;
+        private RecipeResponse current;
+
+        private RecipeCollector(final Consumer<RecipeResponse> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(final ResultSet resultSet) throws SQLException {
+            final long id = resultSet.getLong("id");
+            if (current == null || currentId != id) {
+                flush();
+                currentId = id;
+                current = toResponse(resultSet, new TreeSet<>());
+            }
+            final String ingredient = resultSet.getString("ingredient");
+            if (ingredient != null) {
+                current.getIngredients().add(ingredient);
+            }
+        }
+
+        private void flush() {
+            if (current != null) {
+                consumer.accept(current);
+                current = null;
+            }
+        }
+    }
+
+    /**
+     * Folds the one-row-per-ingredient result into one {@link RecipeFacets} per recipe, handed over with the guid of
+     * the recipe. Rows of a recipe must be adjacent.
+     */
+    private static final class FacetsCollector implements RowCallbackHandler {
+        private final BiConsumer<String, RecipeFacets> consumer;
+        private String currentGuid;
+        private RecipeFacets current;
+
+        private FacetsCollector(final BiConsumer<String, RecipeFacets> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(final ResultSet resultSet) throws SQLException {
+            final long id = resultSet.getLong("id");
+            if (current == null || current.getRecipeId() != id) {
+                flush();
+                currentGuid = resultSet.getString("guid");
+                current = new RecipeFacets(id, resultSet.getInt("version"), resultSet.getLong("user_fk"), resultSet.getString("name"), resultSet.getBoolean("vegetarian"),
+                        resultSet.getInt("suitable_for"), new HashSet<>(), new HashSet<>());
+            }
+            final int ingredientId = resultSet.getInt("ingredient_id");
+            if (!resultSet.wasNull()) {
+                current.getIngredientIds().add(ingredientId);
+                current.getIngredientNames().add(resultSet.getString("ingredient"));
+            }
+        }
+
+        private void flush() {
+            if (current != null) {
+                consumer.accept(currentGuid, current);
+                current = null;
+            }
+        }
+    }
+}
@@ -1,20 +1,116 @@
 package com.recipebook.repository;
 
 import com.recipebook.domain.entities.Recipe;
+import com.recipebook.domain.values.RecipeCursor;
+import com.recipebook.domain.values.RecipeListVersion;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * @author - AvanishKishorPandey
  */
 
 @Repository
-public interface RecipeRepository extends JpaRepository<Recipe, Long> {
-    Page<Recipe> findByUserGuid(String guid, Pageable pageable);
+public interface RecipeRepository extends JpaRepository<Recipe, Long>, RecipeRepositoryCustom {
+    /**
+     * First phase of a page load: only the ordered positions of the page, so the database can page over the index
+     * without dragging ingredient rows through the limit/offset. The position of the last row is the next cursor.
+     */
+    @Query(value = "select new com.recipebook.domain.values.RecipeCursor(r.createdOn, r.id) from Recipe r where r.user.id = :userId",
+            countQuery = "select count(r) from Recipe r where r.user.id = :userId")
+    Page<RecipeCursor> findPositionsByUserId(@Param("userId") Long userId, Pageable pageable);
 
-    Optional<Recipe> findOneByGuid(String guid);
+    /**
+     * First phase of a cursor page load, for the first page.
+     */
+    @Query("select new com.recipebook.domain.values.RecipeCursor(r.createdOn, r.id) from Recipe r where r.user.id = :userId "
+            + "order by r.createdOn asc, r.id asc")
+    Slice<RecipeCursor> findPositionSliceByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * First phase of a cursor page load: seeks past the last recipe of the previous page instead of skipping
+     * an offset, so every page costs the same.
+     */
+    @Query("select new com.recipebook.domain.values.RecipeCursor(r.createdOn, r.id) from Recipe r where r.user.id = :userId "
+            + "and (r.createdOn, r.id) > (:createdOn, :id) order by r.createdOn asc, r.id asc")
+    Slice<RecipeCursor> findPositionSliceByUserIdAfter(@Param("userId") Long userId, @Param("createdOn") LocalDateTime createdOn, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Loads the recipe with its ingredients only when it belongs to the given user, in a single statement.
+     * {@code r.user.id} resolves to the {@code user_fk} column, so the user row is not joined. With the second-level
+     * cache on, the result is cached and a repeat call is answered from the recipe, ingredient and collection caches;
+     * any write to {@code recipe} or {@code recipe_ingredient} invalidates it.
+     */
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.CACHEABLE, value = "true"))
+    @Query("select r from Recipe r left join fetch r.recipeIngredient.ingredients where r.guid = :guid and r.user.id = :userId")
+    Optional<Recipe> findOneByGuidAndUserId(@Param("guid") String guid, @Param("userId") Long userId);
+
+    /**
+     * Version of the recipe when it belongs to the given user, for answering a conditional GET without loading it.
+     */
+    @Query("select r.version from Recipe r where r.guid = :guid and r.user.id = :userId")
+    Optional<Integer> findVersionByGuidAndUserId(@Param("guid") String guid, @Param("userId") Long userId);
+
+    @Query("select new com.recipebook.domain.values.RecipeListVersion(count(r), coalesce(sum(r.version), 0), coalesce(max(r.id), 0)) "
+            + "from Recipe r where r.user.id = :userId")
+    RecipeListVersion findListVersionByUserId(@Param("userId") Long userId);
+
+    /**
+     * Writes the scalar fields of the user's recipe in one statement, only if it is still at {@code version}, and
+     * bumps the version. Nothing is loaded, so the persistence context is bypassed.
+     *
+     * @return 1 when the recipe was updated, 0 when it is missing, someone else's or at another version.
+     */
+    @Modifying
+    @Query("update Recipe r set r.name = :name, r.vegetarian = :vegetarian, r.suitableFor = :suitableFor, "
+            + "r.cookingInstruction = :cookingInstruction, r.version = r.version + 1 "
+            + "where r.guid = :guid and r.user.id = :userId and r.version = :version and r.deleted = false")
+    int updateIfVersion(@Param("guid") String guid, @Param("userId") Long userId, @Param("version") int version,
+                        @Param("name") String name, @Param("vegetarian") Boolean vegetarian, @Param("suitableFor") Integer suitableFor,
+                        @Param("cookingInstruction") String cookingInstruction);
+
+    /**
+     * The native writes name the table they touch, so that only the cached {@code recipe_ingredient} collections are
+     * evicted rather than the whole second-level cache.
+     */
+    @Modifying
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = "recipe_ingredient"))
+    @Query(value = "delete from recipe_ingredient where recipe_id = :recipeId and ingredient_id in (:ingredientIds)", nativeQuery = true)
+    int deleteIngredients(@Param("recipeId") Long recipeId, @Param("ingredientIds") Collection<Integer> ingredientIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = "recipe_ingredient"))
+    @Query(value = "insert into recipe_ingredient (recipe_id, ingredient_id) select :recipeId, i.id from ingredient i where i.id in (:ingredientIds)",
+            nativeQuery = true)
+    int insertIngredients(@Param("recipeId") Long recipeId, @Param("ingredientIds") Collection<Integer> ingredientIds);
+
+    /**
+     * Soft deletes the live recipes of the user among {@code ids} in one statement, bumping their version.
+     *
+     * @return the number of recipes deleted.
+     */
+    @Modifying
+    @Query("update Recipe r set r.deleted = true, r.version = r.version + 1 where r.id in (:ids) and r.user.id = :userId and r.deleted = false")
+    int softDeleteByIdIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    /**
+     * Guids among {@code guids} that belong to a live recipe of any user.
+     */
+    @Query("select r.guid from Recipe r where r.guid in (:guids)")
+    Set<String> findGuidsByGuidIn(@Param("guids") Collection<String> guids);
+
+    boolean existsByGuid(String guid);
 }
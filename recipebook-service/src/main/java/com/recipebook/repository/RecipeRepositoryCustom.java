@@ -0,0 +1,17 @@
+package com.recipebook.repository;
+
+import com.recipebook.domain.entities.Recipe;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+public interface RecipeRepositoryCustom {
+    /**
+     * First phase of a sorted or filtered page load: only the ids of the page, in order. The count query is skipped
+     * when the total can be derived from the page.
+     */
+    Page<Long> findIds(Specification<Recipe> specification, OrderSpecification<Recipe> order, Pageable pageable);
+}
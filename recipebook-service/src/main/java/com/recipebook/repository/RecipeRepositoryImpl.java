@@ -0,0 +1,45 @@
+package com.recipebook.repository;
+
+import com.recipebook.domain.entities.Recipe;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Root;
+import java.util.List;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+public class RecipeRepositoryImpl implements RecipeRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<Long> findIds(final Specification<Recipe> specification, final OrderSpecification<Recipe> order, final Pageable pageable) {
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        final Root<Recipe> root = query.from(Recipe.class);
+        query.select(root.get("id"))
+                .where(specification.toPredicate(root, query, criteriaBuilder))
+                .orderBy(order.toOrders(root, criteriaBuilder));
+        final List<Long> ids = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize())
+                .getResultList();
+        return PageableExecutionUtils.getPage(ids, pageable, () -> count(specification));
+    }
+
+    private long count(final Specification<Recipe> specification) {
+        final CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        final CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        final Root<Recipe> root = query.from(Recipe.class);
+        query.select(criteriaBuilder.count(root)).where(specification.toPredicate(root, query, criteriaBuilder));
+        return entityManager.createQuery(query).getSingleResult();
+    }
+}
@@ -0,0 +1,20 @@
+package com.recipebook.repository;
+
+import com.recipebook.domain.values.RecipeSearchCursor;
+
+import java.util.List;
+
+/**
+ * Full-text search over the name and cooking instruction of the recipes of one user. The implementation is
+ * selected with {@code api.recipe.search.engine} ({@code like} by default, {@code postgres} for the
+ * {@code tsvector} column and GIN index of the Flyway migrations).
+ *
+ * @author - AvanishKishorPandey
+ */
+public interface RecipeSearchRepository {
+    /**
+     * @param after - position of the last hit of the previous page, {@code null} for the first page.
+     * @return up to {@code limit} hits, best rank first and newest first among equal ranks.
+     */
+    List<RecipeSearchCursor> search(long userId, String query, RecipeSearchCursor after, int limit);
+}
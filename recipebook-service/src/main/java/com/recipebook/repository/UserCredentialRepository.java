@@ -0,0 +1,19 @@
+package com.recipebook.repository;
+
+import com.recipebook.domain.entities.UserCredential;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+
+@Repository
+public interface UserCredentialRepository extends JpaRepository<UserCredential, Long> {
+    @Query("select c.passwordHash from UserCredential c where c.userId = :userId")
+    Optional<String> findPasswordHashByUserId(@Param("userId") final Long userId);
+}
@@ -2,15 +2,20 @@ package com.recipebook.repository;
 
 import com.recipebook.domain.entities.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
-    Optional<User> findByEmailAddressIgnoreCase(final String emailAddress);
-
-    boolean existsByEmailAddressIgnoreCase(final String emailAddress);
+    /**
+     * Written out instead of derived, because derived {@code IgnoreCase} queries compare with {@code upper()}
+     * and would not use the {@code lower(email_address)} index.
+     */
+    @Query("select u from User u where lower(u.emailAddress) = lower(:emailAddress)")
+    Optional<User> findByEmailAddressIgnoreCase(@Param("emailAddress") final String emailAddress);
 
     Optional<User> findOneByGuid(final String uuid);
 }
\ No newline at end of file
@@ -3,8 +3,17 @@ package com.recipebook.repository;
 import com.recipebook.domain.entities.UserToken;
 import lombok.NonNull;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -14,4 +23,27 @@ import java.util.Optional;
 @Repository
 public interface UserTokenRepository extends JpaRepository<UserToken, Long>{
 	Optional<UserToken> findByToken(@NonNull final String token);
+
+	@Query("select t from UserToken t join fetch t.user where t.expiryDate > :now")
+	List<UserToken> findAllValid(@Param("now") final Instant now);
+
+	@Modifying
+	@Query("delete from UserToken t where t.token = :token")
+	int deleteByToken(@Param("token") final String token);
+
+	@Modifying
+	@Query("delete from UserToken t where t.token in :tokens")
+	int deleteByTokenIn(@Param("tokens") final Collection<String> tokens);
+
+	/**
+	 * Deletes at most {@code limit} tokens that expired before {@code cutoff}, oldest first, in its own transaction.
+	 * The sub-select walks {@code IDX_USERTOKEN_EXPIRYDATE}, so each call only touches the rows it removes. Naming
+	 * the table keeps the purge from evicting the second-level cache.
+	 */
+	@Transactional
+	@Modifying
+	@QueryHints(@QueryHint(name = org.hibernate.annotations.QueryHints.NATIVE_SPACES, value = "users_token"))
+	@Query(value = "DELETE FROM users_token WHERE id IN "
+			+ "(SELECT id FROM users_token WHERE expiry_date < :cutoff ORDER BY expiry_date LIMIT :limit)", nativeQuery = true)
+	int deleteExpiredBatch(@Param("cutoff") final Instant cutoff, @Param("limit") final int limit);
 }
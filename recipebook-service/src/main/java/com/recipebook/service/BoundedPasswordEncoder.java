@@ -0,0 +1,150 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Runs the hashing and verification of a delegate {@link PasswordEncoder} (BCrypt) on a dedicated, bounded pool,
+ * so a burst of signin/signup requests cannot take every request thread and CPU away from the recipe endpoints.
+ * <p>
+ * At most {@code threads} hashes run at a time and at most {@code queueCapacity} wait for a thread; anything beyond
+ * that is rejected straight away with {@link TooManyRequestsException} instead of queueing on the request thread.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Slf4j
+public class BoundedPasswordEncoder implements PasswordEncoder, MeterBinder {
+    private static final String METRIC_NAME = "recipebook.auth.password";
+
+    private final PasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final TimeStats waitTime = new TimeStats();
+    private final TimeStats encodeTime = new TimeStats();
+    private final TimeStats matchesTime = new TimeStats();
+    private final LongAdder rejected = new LongAdder();
+
+    public BoundedPasswordEncoder(@NonNull final PasswordEncoder delegate, final int threads, final int queueCapacity, final long retryAfterSeconds) {
+        this.delegate = delegate;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new PasswordHashThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @Override
+    public String encode(final CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), encodeTime);
+    }
+
+    @Override
+    public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), matchesTime);
+    }
+
+    @Override
+    public boolean upgradeEncoding(final String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Called by Spring when the context closes.
+     */
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        Gauge.builder(METRIC_NAME + ".queue.size", executor, pool -> pool.getQueue().size())
+                .description("Password hashing requests waiting for a thread")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Password hashing requests currently running")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".rejected", rejected, LongAdder::sum)
+                .description("Password hashing requests rejected because the queue was full")
+                .register(registry);
+        waitTime.register(registry, METRIC_NAME + ".wait", "Time password hashing requests spent queued", null);
+        encodeTime.register(registry, METRIC_NAME + ".hash", "Time spent hashing or verifying passwords", "encode");
+        matchesTime.register(registry, METRIC_NAME + ".hash", "Time spent hashing or verifying passwords", "matches");
+    }
+
+    private <T> T submit(final Supplier<T> task, final TimeStats hashTime) {
+        final long submittedAt = System.nanoTime();
+        final Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                final long startedAt = System.nanoTime();
+                waitTime.record(startedAt - submittedAt);
+                try {
+                    return task.get();
+                } finally {
+                    hashTime.record(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            log.warn("Password hashing queue is full ({} waiting), rejecting request.", executor.getQueue().size());
+            throw new TooManyRequestsException("Too many authentication requests, please retry later.", retryAfterSeconds);
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Password hashing failed", e.getCause());
+        }
+    }
+
+    private static final class TimeStats {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+
+        private void record(final long nanos) {
+            count.increment();
+            totalNanos.add(nanos);
+        }
+
+        private void register(final MeterRegistry registry, final String name, final String description, final String operation) {
+            FunctionTimer.Builder<TimeStats> builder = FunctionTimer.builder(name, this, stats -> stats.count.sum(),
+                            stats -> stats.totalNanos.sum(), TimeUnit.NANOSECONDS)
+                    .description(description);
+            if (operation != null) {
+                builder.tag("operation", operation);
+            }
+            builder.register(registry);
+        }
+    }
+
+    private static final class PasswordHashThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, "password-hash-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
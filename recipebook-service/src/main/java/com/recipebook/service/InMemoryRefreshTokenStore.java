@@ -0,0 +1,126 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.values.RefreshTokenEntry;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Refresh token store that answers lookups from a concurrent in-memory index. Saves are written through to
+ * {@code users_token} before the token is handed out; deletes are written behind, in batches.
+ * <p>
+ * Recovery: the index is reloaded from the table at startup and a lookup miss falls through to the table,
+ * so tokens issued by another node or before a restart keep working. Deletes that had not been flushed when
+ * the process died are lost, which is harmless because deletes only happen for tokens that are already expired
+ * and {@link RefreshTokenReaper} purges those rows.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Component
+@Primary
+@ConditionalOnProperty(name = "api.auth.refreshtoken.store", havingValue = "memory", matchIfMissing = true)
+@Slf4j
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+    private final Map<String, RefreshTokenEntry> tokens = new ConcurrentHashMap<>();
+    private final Set<String> pendingDeletes = ConcurrentHashMap.newKeySet();
+    private final JpaRefreshTokenStore persistentStore;
+
+    @Value("${api.auth.refreshtoken.writebatchsize:500}")
+    private int writeBatchSize = 500;
+
+    public InMemoryRefreshTokenStore(final JpaRefreshTokenStore persistentStore) {
+        this.persistentStore = persistentStore;
+    }
+
+    @PostConstruct
+    public void load() {
+        persistentStore.findAllValid(Instant.now()).forEach(entry -> tokens.put(entry.getToken(), entry));
+        log.info("Loaded {} refresh tokens into memory.", tokens.size());
+    }
+
+    /**
+     * Persists the token before indexing it, so a token is never handed out that another node or a restarted one
+     * cannot find.
+     */
+    @Override
+    public RefreshTokenEntry save(@NonNull final RefreshTokenEntry entry) {
+        final RefreshTokenEntry persistedEntry = persistentStore.save(entry);
+        tokens.put(persistedEntry.getToken(), persistedEntry);
+        return persistedEntry;
+    }
+
+    @Override
+    public Optional<RefreshTokenEntry> find(@NonNull final String token) {
+        RefreshTokenEntry entry = tokens.get(token);
+        if (entry != null) {
+            return Optional.of(entry);
+        }
+        if (pendingDeletes.contains(token)) {
+            return Optional.empty();
+        }
+        // Issued by another node since the index was loaded.
+        Optional<RefreshTokenEntry> persistedEntry = persistentStore.find(token);
+        persistedEntry.ifPresent(persisted -> tokens.putIfAbsent(token, persisted));
+        return persistedEntry;
+    }
+
+    @Override
+    public void remove(@NonNull final String token) {
+        tokens.remove(token);
+        pendingDeletes.add(token);
+    }
+
+    public int pendingDeleteCount() {
+        return pendingDeletes.size();
+    }
+
+    /**
+     * Drops expired tokens from the index. Their rows are purged from the table by {@link RefreshTokenReaper}.
+     */
+    @Override
+    public void evictExpired(@NonNull final Instant now) {
+        tokens.values().removeIf(entry -> entry.isExpired(now));
+    }
+
+    @Scheduled(fixedDelayString = "${api.auth.refreshtoken.flushintervalinms:1000}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<String> deletes = new ArrayList<>();
+        for (String token : pendingDeletes) {
+            if (!pendingDeletes.remove(token)) {
+                continue;
+            }
+            deletes.add(token);
+            if (deletes.size() >= writeBatchSize) {
+                writeDeletes(deletes);
+                deletes = new ArrayList<>();
+            }
+        }
+        if (!deletes.isEmpty()) {
+            writeDeletes(deletes);
+        }
+    }
+
+    private void writeDeletes(final List<String> deletes) {
+        try {
+            persistentStore.removeAll(deletes);
+        } catch (RuntimeException exception) {
+            log.warn("Unable to delete batch of {} refresh tokens, they will be retried.", deletes.size(), exception);
+            pendingDeletes.addAll(deletes);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.entities.Ingredient;
+import com.recipebook.domain.exceptions.APIException;
+import com.recipebook.repository.IngredientRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Maps ingredient names to the ids of the {@code ingredient} dictionary table, creating missing entries.
+ * <p>
+ * Names are normalized (trimmed, inner whitespace collapsed, lowercased) so "Salt" and " salt" share one entry. The
+ * entry keeps the first spelling it was created with, trimmed and collapsed, as its display name, which later
+ * spellings of the same name also show. Resolved entries are interned in a concurrent map, so once warm a recipe write
+ * needs no dictionary statement at all. Dictionary rows are never deleted, so a cached entry stays valid.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Service
+@Slf4j
+public class IngredientDictionary implements MeterBinder {
+    private static final String METRIC_NAME = "recipebook.ingredient.dictionary";
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final int MAX_INSERT_ATTEMPTS = 3;
+
+    private final Map<String, Ingredient> entriesByName = new ConcurrentHashMap<>();
+    private final LongAdder misses = new LongAdder();
+    private final IngredientRepository ingredientRepository;
+    private final int maxEntries;
+
+    public IngredientDictionary(final IngredientRepository ingredientRepository,
+                                @Value("${api.recipe.ingredientdictionary.maxentries:100000}") final int maxEntries) {
+        this.ingredientRepository = ingredientRepository;
+        this.maxEntries = maxEntries;
+    }
+
+    public static String normalize(@NonNull final String name) {
+        return displayName(name).toLowerCase(Locale.ROOT);
+    }
+
+    private static String displayName(final String name) {
+        return WHITESPACE.matcher(name.strip()).replaceAll(" ");
+    }
+
+    /**
+     * @return one dictionary entry per distinct normalized name, blank names are dropped. A name missing from the
+     * dictionary is created with its first spelling in {@code names} as display name.
+     */
+    public Set<Ingredient> resolve(@NonNull final Collection<String> names) {
+        final Set<Ingredient> ingredients = new HashSet<>(names.size() * 2);
+        final Map<String, String> missing = new HashMap<>();
+        for (String name : names) {
+            final String displayName = displayName(name);
+            if (displayName.isEmpty()) {
+                continue;
+            }
+            final String normalized = displayName.toLowerCase(Locale.ROOT);
+            final Ingredient entry = entriesByName.get(normalized);
+            if (entry == null) {
+                missing.putIfAbsent(normalized, displayName);
+            } else {
+                ingredients.add(copy(entry));
+            }
+        }
+        if (!missing.isEmpty()) {
+            misses.add(missing.size());
+            findOrCreate(missing).forEach(ingredient -> {
+                cache(ingredient);
+                ingredients.add(copy(ingredient));
+            });
+        }
+        return ingredients;
+    }
+
+    /**
+     * Looks names up without creating entries, for read queries.
+     *
+     * @return the ids of the normalized names that are in the dictionary, keyed by normalized name.
+     */
+    public Map<String, Integer> findIds(@NonNull final Collection<String> names) {
+        final Map<String, Integer> ids = new HashMap<>(names.size() * 2);
+        final Set<String> missing = new HashSet<>();
+        for (String name : names) {
+            final String normalized = normalize(name);
+            final Ingredient entry = entriesByName.get(normalized);
+            if (entry == null) {
+                missing.add(normalized);
+            } else {
+                ids.put(normalized, entry.getId());
+            }
+        }
+        if (!missing.isEmpty()) {
+            misses.add(missing.size());
+            ingredientRepository.findAllByNameIn(missing).forEach(ingredient -> {
+                cache(ingredient);
+                ids.put(ingredient.getName(), ingredient.getId());
+            });
+        }
+        return ids;
+    }
+
+    /**
+     * A concurrent writer may insert the same name between the lookup and the insert; the unique constraint
+     * rejects the second insert and the next attempt finds the winner's row, with the winner's display name.
+     *
+     * @param displayNamesByName display name of each missing entry, keyed by normalized name
+     */
+    private List<Ingredient> findOrCreate(final Map<String, String> displayNamesByName) {
+        final List<Ingredient> found = new ArrayList<>(ingredientRepository.findAllByNameIn(displayNamesByName.keySet()));
+        for (int attempt = 1; ; attempt++) {
+            final Set<String> known = found.stream().map(Ingredient::getName).collect(Collectors.toSet());
+            final List<Ingredient> created = displayNamesByName.entrySet().stream()
+                    .filter(entry -> !known.contains(entry.getKey()))
+                    .map(entry -> new Ingredient(entry.getKey(), entry.getValue()))
+                    .collect(Collectors.toList());
+            if (created.isEmpty()) {
+                return found;
+            }
+            try {
+                found.addAll(ingredientRepository.saveAllAndFlush(created));
+                return found;
+            } catch (DataIntegrityViolationException e) {
+                if (attempt == MAX_INSERT_ATTEMPTS) {
+                    throw new APIException("Unable to save ingredients.");
+                }
+                log.debug("Ingredient inserted concurrently, looking it up again", e);
+                found.addAll(ingredientRepository.findAllByNameIn(created.stream().map(Ingredient::getName).collect(Collectors.toList())));
+            }
+        }
+    }
+
+    private void cache(final Ingredient ingredient) {
+        if (entriesByName.size() < maxEntries) {
+            entriesByName.putIfAbsent(ingredient.getName(), copy(ingredient));
+        }
+    }
+
+    /**
+     * Recipes hold their own instances, so the interned entries are never attached to a persistence context.
+     */
+    private static Ingredient copy(final Ingredient ingredient) {
+        return new Ingredient(ingredient.getId(), ingredient.getName(), ingredient.getDisplayName());
+    }
+
+    public int size() {
+        return entriesByName.size();
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        Gauge.builder(METRIC_NAME + ".size", entriesByName, Map::size)
+                .description("Number of ingredient names interned in memory")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".misses", misses, LongAdder::sum)
+                .description("Ingredient names that had to be looked up or inserted")
+                .register(registry);
+    }
+}
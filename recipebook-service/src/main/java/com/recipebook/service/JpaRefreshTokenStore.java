@@ -0,0 +1,78 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.entities.User;
+import com.recipebook.domain.entities.UserToken;
+import com.recipebook.domain.values.RefreshTokenEntry;
+import com.recipebook.repository.UserRepository;
+import com.recipebook.repository.UserTokenRepository;
+import lombok.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Refresh token store backed directly by the {@code users_token} table.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Component
+@Transactional
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+    private final UserTokenRepository tokenRepository;
+    private final UserRepository userRepository;
+
+    public JpaRefreshTokenStore(final UserTokenRepository tokenRepository, final UserRepository userRepository) {
+        this.tokenRepository = tokenRepository;
+        this.userRepository = userRepository;
+    }
+
+    @Override
+    public RefreshTokenEntry save(@NonNull final RefreshTokenEntry entry) {
+        return toEntry(tokenRepository.save(toEntity(entry)), entry);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<RefreshTokenEntry> find(@NonNull final String token) {
+        return tokenRepository.findByToken(token).map(userToken -> toEntry(userToken, null));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RefreshTokenEntry> findAllValid(@NonNull final Instant now) {
+        return tokenRepository.findAllValid(now).stream().map(userToken -> toEntry(userToken, null)).collect(Collectors.toList());
+    }
+
+    @Override
+    public void remove(@NonNull final String token) {
+        tokenRepository.deleteByToken(token);
+    }
+
+    public void removeAll(@NonNull final Collection<String> tokens) {
+        tokenRepository.deleteByTokenIn(tokens);
+    }
+
+    private UserToken toEntity(final RefreshTokenEntry entry) {
+        UserToken userToken = new UserToken();
+        userToken.setUser(userRepository.getById(entry.getUserId()));
+        userToken.setToken(entry.getToken());
+        userToken.setExpiryDate(entry.getExpiryDate());
+        return userToken;
+    }
+
+    /**
+     * The user details are taken from the original entry when there is one, so saving never initialises the user proxy.
+     */
+    private RefreshTokenEntry toEntry(final UserToken userToken, final RefreshTokenEntry original) {
+        if (original != null) {
+            return new RefreshTokenEntry(userToken.getToken(), original.getUserId(), original.getUserGuid(),
+                    original.getFirstName(), original.getLastName(), userToken.getExpiryDate());
+        }
+        User user = userToken.getUser();
+        return new RefreshTokenEntry(userToken.getToken(), user.getId(), user.getGuid(), user.getFirstName(), user.getLastName(), userToken.getExpiryDate());
+    }
+}
@@ -0,0 +1,522 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.values.TokenClaims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.PrematureJwtException;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import lombok.NonNull;
+
+import javax.crypto.Mac;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * HS512 codec specialised for the fixed claim set of our access tokens ({@code sub}, {@code ID}, {@code exp}, {@code iat}).
+ * <p>
+ * Tokens are byte-for-byte identical to the ones jjwt produces for the same claims, so tokens issued before and after
+ * switching to this codec verify with either implementation. Each thread owns its {@link Mac} and scratch buffers,
+ * which removes the per-call {@code Mac}, claim map and Base64 allocations of the generic jjwt path.
+ *
+ * @author - AvanishKishorPandey
+ */
+public final class JwtCodec {
+    /** Base64url of {@code {"alg":"HS512"}}, the only header jjwt writes for our tokens. */
+    static final String HEADER = "eyJhbGciOiJIUzUxMiJ9";
+    private static final byte[] HEADER_BYTES = HEADER.getBytes(StandardCharsets.US_ASCII);
+    private static final String HMAC_SHA_512 = "HmacSHA512";
+    private static final int SIGNATURE_LENGTH = 64;
+    private static final int ENCODED_SIGNATURE_LENGTH = encodedLength(SIGNATURE_LENGTH);
+    private static final int MAX_TOKEN_LENGTH = 8 * 1024;
+
+    private static final byte[] SUBJECT_KEY = ascii("sub");
+    private static final byte[] ID_KEY = ascii("ID");
+    private static final byte[] EXPIRATION_KEY = ascii("exp");
+    private static final byte[] ISSUED_AT_KEY = ascii("iat");
+    private static final byte[] NOT_BEFORE_KEY = ascii("nbf");
+
+    private static final byte[] BASE64URL_ALPHABET = ascii("ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_");
+    private static final int[] BASE64URL_VALUES = new int[128];
+
+    static {
+        Arrays.fill(BASE64URL_VALUES, -1);
+        for (int i = 0; i < BASE64URL_ALPHABET.length; i++) {
+            BASE64URL_VALUES[BASE64URL_ALPHABET[i]] = i;
+        }
+    }
+
+    private final ThreadLocal<Workspace> workspaces;
+
+    public JwtCodec(@NonNull final Key key) {
+        // Fail fast on an unusable key instead of on the first request.
+        newMac(key);
+        this.workspaces = ThreadLocal.withInitial(() -> new Workspace(newMac(key)));
+    }
+
+    public String encode(@NonNull final String subject, final long userId, @NonNull final Instant issuedAt, @NonNull final Instant expiresAt) {
+        final Workspace workspace = workspaces.get();
+        final int claimsLength = workspace.writeClaims(subject, userId, issuedAt.getEpochSecond(), expiresAt.getEpochSecond());
+        final byte[] token = workspace.ensureToken(HEADER_BYTES.length + 2 + encodedLength(claimsLength) + ENCODED_SIGNATURE_LENGTH);
+
+        int position = HEADER_BYTES.length;
+        System.arraycopy(HEADER_BYTES, 0, token, 0, position);
+        token[position++] = '.';
+        position = encodeBase64Url(workspace.claims, claimsLength, token, position);
+        workspace.sign(token, position);
+        token[position++] = '.';
+        position = encodeBase64Url(workspace.signature, SIGNATURE_LENGTH, token, position);
+        return new String(token, 0, position, StandardCharsets.ISO_8859_1);
+    }
+
+    /**
+     * Verifies the signature and the time based claims of the token and returns its claims.
+     * Failures are reported with the same jjwt exception types as {@code JwtParser#parseClaimsJws}.
+     */
+    public TokenClaims decode(final String compactToken, @NonNull final Instant now) {
+        if (compactToken == null || compactToken.isEmpty()) {
+            throw new IllegalArgumentException("JWT String argument cannot be null or empty.");
+        }
+        final int length = compactToken.length();
+        if (length > MAX_TOKEN_LENGTH) {
+            throw new MalformedJwtException("JWT exceeds the maximum supported length.");
+        }
+        final Workspace workspace = workspaces.get();
+        final byte[] token = workspace.ensureToken(length);
+        int firstSeparator = -1;
+        int secondSeparator = -1;
+        for (int i = 0; i < length; i++) {
+            final char c = compactToken.charAt(i);
+            if (c == '.') {
+                if (firstSeparator < 0) {
+                    firstSeparator = i;
+                } else if (secondSeparator < 0) {
+                    secondSeparator = i;
+                } else {
+                    throw new MalformedJwtException("JWT strings must contain exactly 2 period characters.");
+                }
+            } else if (c > 127) {
+                throw new MalformedJwtException("JWT contains non base64url characters.");
+            }
+            token[i] = (byte) c;
+        }
+        if (secondSeparator < 0) {
+            throw new MalformedJwtException("JWT strings must contain exactly 2 period characters.");
+        }
+        if (secondSeparator == length - 1) {
+            throw new UnsupportedJwtException("Unsigned Claims JWTs are not supported.");
+        }
+        if (firstSeparator != HEADER_BYTES.length || !Arrays.equals(token, 0, firstSeparator, HEADER_BYTES, 0, HEADER_BYTES.length)) {
+            throw new UnsupportedJwtException("Only HS512 signed JWTs are supported.");
+        }
+
+        workspace.sign(token, secondSeparator);
+        if (length - secondSeparator - 1 != ENCODED_SIGNATURE_LENGTH
+                || decodeBase64Url(token, secondSeparator + 1, length, workspace.presentedSignature, 0) != SIGNATURE_LENGTH
+                || !constantTimeEquals(workspace.signature, workspace.presentedSignature)) {
+            throw new SignatureException("JWT signature does not match locally computed signature. JWT validity cannot be asserted and should not be trusted.");
+        }
+
+        final byte[] claims = workspace.ensureClaims((secondSeparator - firstSeparator) * 3 / 4 + 3);
+        final int claimsLength = decodeBase64Url(token, firstSeparator + 1, secondSeparator, claims, 0);
+        final TokenClaims tokenClaims = new ClaimsReader(claims, claimsLength).read(now);
+        if (tokenClaims.getExpiresAt().isBefore(now)) {
+            throw new ExpiredJwtException(null, null, String.format("JWT expired at %s. Current time: %s", tokenClaims.getExpiresAt(), now));
+        }
+        return tokenClaims;
+    }
+
+    private static Mac newMac(final Key key) {
+        try {
+            final Mac mac = Mac.getInstance(HMAC_SHA_512);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to initialise " + HMAC_SHA_512, e);
+        }
+    }
+
+    private static boolean constantTimeEquals(final byte[] expected, final byte[] actual) {
+        int result = 0;
+        for (int i = 0; i < SIGNATURE_LENGTH; i++) {
+            result |= expected[i] ^ actual[i];
+        }
+        return result == 0;
+    }
+
+    private static int encodedLength(final int length) {
+        return (length * 4 + 2) / 3;
+    }
+
+    private static int encodeBase64Url(final byte[] source, final int length, final byte[] target, int position) {
+        int i = 0;
+        for (; i + 3 <= length; i += 3) {
+            final int bits = (source[i] & 0xff) << 16 | (source[i + 1] & 0xff) << 8 | (source[i + 2] & 0xff);
+            target[position++] = BASE64URL_ALPHABET[bits >>> 18];
+            target[position++] = BASE64URL_ALPHABET[(bits >>> 12) & 0x3f];
+            target[position++] = BASE64URL_ALPHABET[(bits >>> 6) & 0x3f];
+            target[position++] = BASE64URL_ALPHABET[bits & 0x3f];
+        }
+        final int remaining = length - i;
+        if (remaining == 1) {
+            final int bits = (source[i] & 0xff) << 16;
+            target[position++] = BASE64URL_ALPHABET[bits >>> 18];
+            target[position++] = BASE64URL_ALPHABET[(bits >>> 12) & 0x3f];
+        } else if (remaining == 2) {
+            final int bits = (source[i] & 0xff) << 16 | (source[i + 1] & 0xff) << 8;
+            target[position++] = BASE64URL_ALPHABET[bits >>> 18];
+            target[position++] = BASE64URL_ALPHABET[(bits >>> 12) & 0x3f];
+            target[position++] = BASE64URL_ALPHABET[(bits >>> 6) & 0x3f];
+        }
+        return position;
+    }
+
+    private static int decodeBase64Url(final byte[] source, final int from, final int to, final byte[] target, int position) {
+        final int start = position;
+        int bits = 0;
+        int bitCount = 0;
+        for (int i = from; i < to; i++) {
+            final int value = source[i] < 0 ? -1 : BASE64URL_VALUES[source[i]];
+            if (value < 0) {
+                throw new MalformedJwtException("JWT contains non base64url characters.");
+            }
+            bits = bits << 6 | value;
+            bitCount += 6;
+            if (bitCount >= 8) {
+                bitCount -= 8;
+                target[position++] = (byte) (bits >>> bitCount);
+            }
+        }
+        if (bitCount >= 6) {
+            throw new MalformedJwtException("JWT contains an invalid base64url segment.");
+        }
+        return position - start;
+    }
+
+    private static byte[] ascii(final String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Per thread state; never shared, so no synchronisation is needed.
+     */
+    private static final class Workspace {
+        private final Mac mac;
+        private final byte[] signature = new byte[SIGNATURE_LENGTH];
+        private final byte[] presentedSignature = new byte[SIGNATURE_LENGTH];
+        private byte[] token = new byte[512];
+        private byte[] claims = new byte[256];
+
+        private Workspace(final Mac mac) {
+            this.mac = mac;
+        }
+
+        private byte[] ensureToken(final int capacity) {
+            if (token.length < capacity) {
+                token = new byte[Math.max(capacity, token.length * 2)];
+            }
+            return token;
+        }
+
+        private byte[] ensureClaims(final int capacity) {
+            if (claims.length < capacity) {
+                claims = new byte[Math.max(capacity, claims.length * 2)];
+            }
+            return claims;
+        }
+
+        private void sign(final byte[] source, final int length) {
+            mac.update(source, 0, length);
+            try {
+                mac.doFinal(signature, 0);
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Unable to compute JWT signature", e);
+            }
+        }
+
+        /** Writes {@code {"sub":"..","ID":"..","exp":..,"iat":..}}, the claim order jjwt uses for our tokens. */
+        private int writeClaims(final String subject, final long userId, final long issuedAt, final long expiresAt) {
+            ensureClaims(subject.length() * 6 + 96);
+            int position = writeAscii("{\"sub\":\"", 0);
+            position = writeJsonString(subject, position);
+            position = writeAscii("\",\"ID\":\"", position);
+            position = writeLong(userId, position);
+            position = writeAscii("\",\"exp\":", position);
+            position = writeLong(expiresAt, position);
+            position = writeAscii(",\"iat\":", position);
+            position = writeLong(issuedAt, position);
+            claims[position++] = '}';
+            return position;
+        }
+
+        private int writeAscii(final String value, int position) {
+            for (int i = 0; i < value.length(); i++) {
+                claims[position++] = (byte) value.charAt(i);
+            }
+            return position;
+        }
+
+        private int writeJsonString(final String value, int position) {
+            for (int i = 0; i < value.length(); i++) {
+                final char c = value.charAt(i);
+                if (c == '"' || c == '\\') {
+                    claims[position++] = '\\';
+                    claims[position++] = (byte) c;
+                } else if (c < 0x20) {
+                    position = writeAscii(String.format("\\u%04x", (int) c), position);
+                } else if (c < 0x80) {
+                    claims[position++] = (byte) c;
+                } else {
+                    final int codePoint = value.codePointAt(i);
+                    final byte[] encoded = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8);
+                    System.arraycopy(encoded, 0, claims, position, encoded.length);
+                    position += encoded.length;
+                    i += Character.charCount(codePoint) - 1;
+                }
+            }
+            return position;
+        }
+
+        private int writeLong(final long value, int position) {
+            if (value < 0) {
+                claims[position++] = '-';
+                if (value == Long.MIN_VALUE) {
+                    return writeAscii("9223372036854775808", position);
+                }
+                return writeLong(-value, position);
+            }
+            final int start = position;
+            long remaining = value;
+            do {
+                claims[position++] = (byte) ('0' + remaining % 10);
+                remaining /= 10;
+            } while (remaining > 0);
+            for (int left = start, right = position - 1; left < right; left++, right--) {
+                final byte digit = claims[left];
+                claims[left] = claims[right];
+                claims[right] = digit;
+            }
+            return position;
+        }
+    }
+
+    /**
+     * Reader for the flat JSON claims object. Unknown claims are skipped; only the claims we issue are materialised.
+     */
+    private static final class ClaimsReader {
+        private final byte[] json;
+        private final int length;
+        private int position;
+
+        private ClaimsReader(final byte[] json, final int length) {
+            this.json = json;
+            this.length = length;
+        }
+
+        private TokenClaims read(final Instant now) {
+            String subject = null;
+            Long userId = null;
+            Long issuedAt = null;
+            Long expiresAt = null;
+            Long notBefore = null;
+
+            expect('{');
+            skipWhitespace();
+            if (peek() == '}') {
+                position++;
+            } else {
+                do {
+                    skipWhitespace();
+                    expect('"');
+                    final int keyStart = position;
+                    skipString();
+                    final int keyEnd = position - 1;
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    if (keyEquals(keyStart, keyEnd, SUBJECT_KEY)) {
+                        subject = readString();
+                    } else if (keyEquals(keyStart, keyEnd, ID_KEY)) {
+                        userId = peek() == '"' ? parseLong(readString()) : readLong();
+                    } else if (keyEquals(keyStart, keyEnd, EXPIRATION_KEY)) {
+                        expiresAt = readLong();
+                    } else if (keyEquals(keyStart, keyEnd, ISSUED_AT_KEY)) {
+                        issuedAt = readLong();
+                    } else if (keyEquals(keyStart, keyEnd, NOT_BEFORE_KEY)) {
+                        notBefore = readLong();
+                    } else {
+                        skipValue();
+                    }
+                    skipWhitespace();
+                } while (consume(','));
+                expect('}');
+            }
+
+            if (userId == null || expiresAt == null) {
+                throw new MalformedJwtException("JWT is missing the ID or exp claim.");
+            }
+            if (notBefore != null && now.isBefore(Instant.ofEpochSecond(notBefore))) {
+                throw new PrematureJwtException(null, null, "JWT must not be accepted before " + Instant.ofEpochSecond(notBefore));
+            }
+            return new TokenClaims(subject, userId, issuedAt == null ? null : Instant.ofEpochSecond(issuedAt), Instant.ofEpochSecond(expiresAt));
+        }
+
+        private boolean keyEquals(final int from, final int to, final byte[] key) {
+            return Arrays.equals(json, from, to, key, 0, key.length);
+        }
+
+        private String readString() {
+            expect('"');
+            final int start = position;
+            boolean escaped = false;
+            while (position < length && json[position] != '"') {
+                if (json[position] == '\\') {
+                    escaped = true;
+                    position++;
+                }
+                position++;
+            }
+            if (position >= length) {
+                throw malformed();
+            }
+            position++;
+            final int end = position - 1;
+            if (!escaped) {
+                return new String(json, start, end - start, StandardCharsets.UTF_8);
+            }
+            final StringBuilder value = new StringBuilder(end - start);
+            int segmentStart = start;
+            for (int i = start; i < end; i++) {
+                if (json[i] != '\\') {
+                    continue;
+                }
+                value.append(new String(json, segmentStart, i - segmentStart, StandardCharsets.UTF_8));
+                final byte escape = json[++i];
+                switch (escape) {
+                    case 'b': value.append('\b'); break;
+                    case 'f': value.append('\f'); break;
+                    case 'n': value.append('\n'); break;
+                    case 'r': value.append('\r'); break;
+                    case 't': value.append('\t'); break;
+                    case 'u':
+                        if (i + 4 >= end) {
+                            throw malformed();
+                        }
+                        value.append((char) Integer.parseInt(new String(json, i + 1, 4, StandardCharsets.US_ASCII), 16));
+                        i += 4;
+                        break;
+                    default: value.append((char) escape);
+                }
+                segmentStart = i + 1;
+            }
+            value.append(new String(json, segmentStart, end - segmentStart, StandardCharsets.UTF_8));
+            return value.toString();
+        }
+
+        private long readLong() {
+            final int start = position;
+            while (position < length && isNumberCharacter(json[position])) {
+                position++;
+            }
+            if (start == position) {
+                throw malformed();
+            }
+            boolean integral = true;
+            for (int i = start; i < position; i++) {
+                if (json[i] == '.' || json[i] == 'e' || json[i] == 'E') {
+                    integral = false;
+                    break;
+                }
+            }
+            final String number = new String(json, start, position - start, StandardCharsets.US_ASCII);
+            return integral ? parseLong(number) : (long) Double.parseDouble(number);
+        }
+
+        private void skipValue() {
+            final byte c = peek();
+            if (c == '"') {
+                position++;
+                skipString();
+            } else if (c == '{' || c == '[') {
+                int depth = 0;
+                do {
+                    final byte current = json[position++];
+                    if (current == '"') {
+                        skipString();
+                    } else if (current == '{' || current == '[') {
+                        depth++;
+                    } else if (current == '}' || current == ']') {
+                        depth--;
+                    }
+                } while (depth > 0 && position < length);
+                if (depth != 0) {
+                    throw malformed();
+                }
+            } else {
+                while (position < length && json[position] != ',' && json[position] != '}') {
+                    position++;
+                }
+            }
+        }
+
+        /** Skips to just after the closing quote of a string whose opening quote was already consumed. */
+        private void skipString() {
+            while (position < length && json[position] != '"') {
+                if (json[position] == '\\') {
+                    position++;
+                }
+                position++;
+            }
+            if (position >= length) {
+                throw malformed();
+            }
+            position++;
+        }
+
+        private void skipWhitespace() {
+            while (position < length && (json[position] == ' ' || json[position] == '\t' || json[position] == '\n' || json[position] == '\r')) {
+                position++;
+            }
+        }
+
+        private byte peek() {
+            if (position >= length) {
+                throw malformed();
+            }
+            return json[position];
+        }
+
+        private boolean consume(final char expected) {
+            if (position < length && json[position] == expected) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private void expect(final char expected) {
+            if (!consume(expected)) {
+                throw malformed();
+            }
+        }
+
+        private static boolean isNumberCharacter(final byte c) {
+            return (c >= '0' && c <= '9') || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E';
+        }
+
+        private static long parseLong(final String value) {
+            try {
+                return Long.parseLong(value);
+            } catch (NumberFormatException e) {
+                throw new MalformedJwtException("JWT claim is not a valid number: " + value, e);
+            }
+        }
+
+        private static MalformedJwtException malformed() {
+            return new MalformedJwtException("Unable to read JWT claims JSON.");
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket rate limiter for signin attempts, keyed by lowercased email and by client IP.
+ * <p>
+ * Each bucket is a single {@link AtomicLong} holding the time at which the bucket will be full again
+ * (the generic cell rate algorithm formulation of a token bucket), so a check is one map lookup and one CAS
+ * and never blocks. Buckets that have refilled completely carry no state and are dropped by {@link #evictIdle()}.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Slf4j
+public class LoginRateLimiter implements MeterBinder {
+    private static final String METRIC_NAME = "recipebook.auth.login.ratelimit";
+    private static final String EMAIL_PREFIX = "email:";
+    private static final String IP_PREFIX = "ip:";
+
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+    private final Limit emailLimit;
+    private final Limit ipLimit;
+
+    public LoginRateLimiter(final int emailCapacity, final long emailRefillIntervalInMs, final int ipCapacity, final long ipRefillIntervalInMs) {
+        this.emailLimit = new Limit(emailCapacity, emailRefillIntervalInMs);
+        this.ipLimit = new Limit(ipCapacity, ipRefillIntervalInMs);
+    }
+
+    /**
+     * Takes one token from the client IP bucket and one from the email bucket.
+     *
+     * @throws TooManyRequestsException - if either bucket is empty.
+     */
+    public void acquire(@NonNull final String email, @NonNull final String clientIp) {
+        final long now = System.nanoTime();
+        long waitNanos = tryAcquire(IP_PREFIX + clientIp, ipLimit, now);
+        if (waitNanos == 0) {
+            waitNanos = tryAcquire(EMAIL_PREFIX + email.toLowerCase(Locale.ROOT), emailLimit, now);
+        }
+        if (waitNanos > 0) {
+            rejected.increment();
+            log.debug("Signin rate limit exceeded for {} from {}", email, clientIp);
+            throw new TooManyRequestsException("Too many signin attempts, please retry later.",
+                    Math.max(1L, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1)));
+        }
+    }
+
+    /**
+     * @return {@code 0} when a token was taken, otherwise the time in nanoseconds until the next token is available.
+     */
+    private long tryAcquire(final String key, final Limit limit, final long now) {
+        final AtomicLong fullAt = buckets.computeIfAbsent(key, ignored -> new AtomicLong(now));
+        while (true) {
+            final long current = fullAt.get();
+            final long next = Math.max(current, now) + limit.intervalNanos;
+            final long excess = next - now - limit.burstNanos;
+            if (excess > 0) {
+                return excess;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.auth.loginratelimit.evictionintervalinms:60000}")
+    public void evictIdle() {
+        final long now = System.nanoTime();
+        buckets.values().removeIf(fullAt -> fullAt.get() - now <= 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_NAME + ".rejected", rejected, LongAdder::sum)
+                .description("Signin attempts rejected by the rate limiter")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".buckets", buckets, Map::size)
+                .description("Number of email and client IP buckets currently tracked")
+                .register(registry);
+    }
+
+    private static final class Limit {
+        /** Time to refill one token. */
+        private final long intervalNanos;
+        /** Time to refill an empty bucket. */
+        private final long burstNanos;
+
+        private Limit(final int capacity, final long refillIntervalInMs) {
+            this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(refillIntervalInMs);
+            this.burstNanos = intervalNanos * capacity;
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.recipebook.service;
+
+import com.hazelcast.cluster.Member;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.hazelcast.topic.Message;
+import com.recipebook.domain.values.RecipeChangedEvent;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.UUID;
+
+/**
+ * Keeps the in-memory indexes of every node in step with the recipe writes of the others. Each committed
+ * {@link RecipeChangedEvent} is published on a topic of the Hazelcast cluster started for the second-level cache, see
+ * {@code HibernateCacheConfig}, and the other members apply it to their {@link RecipeFilterIndex} and
+ * {@link RecipeSuggestionIndex} like a local change. The messages of one node arrive in the order it published them,
+ * but the messages of two nodes may interleave either way; the indexes compare the recipe version of each change with
+ * the one they applied and drop the older ones.
+ * <p>
+ * Without the second-level cache there is no cluster, so several nodes must not serve the same database then.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Component
+@ConditionalOnProperty(name = "spring.jpa.properties.hibernate.cache.use_second_level_cache", havingValue = "true")
+@Slf4j
+public class RecipeChangeBroadcaster {
+    static final String TOPIC_NAME = "recipebook.recipe.changes";
+
+    private final ITopic<RecipeChangedEvent> topic;
+    private final UUID registration;
+    private final RecipeFilterIndex recipeFilterIndex;
+    private final RecipeSuggestionIndex recipeSuggestionIndex;
+
+    public RecipeChangeBroadcaster(final HazelcastInstance hazelcastInstance, final RecipeFilterIndex recipeFilterIndex,
+                                   final RecipeSuggestionIndex recipeSuggestionIndex) {
+        this.recipeFilterIndex = recipeFilterIndex;
+        this.recipeSuggestionIndex = recipeSuggestionIndex;
+        this.topic = hazelcastInstance.getTopic(TOPIC_NAME);
+        this.registration = topic.addMessageListener(this::onMessage);
+    }
+
+    @TransactionalEventListener
+    public void onRecipeChanged(@NonNull final RecipeChangedEvent event) {
+        try {
+            topic.publish(event);
+        } catch (RuntimeException e) {
+            // the write is committed already, only the indexes of the other nodes miss it
+            log.warn("Unable to publish recipe change {} to the other nodes.", event, e);
+        }
+    }
+
+    private void onMessage(final Message<RecipeChangedEvent> message) {
+        final Member publisher = message.getPublishingMember();
+        if (publisher != null && publisher.localMember()) {
+            return;
+        }
+        recipeFilterIndex.onRecipeChanged(message.getMessageObject());
+        recipeSuggestionIndex.onRecipeChanged(message.getMessageObject());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        topic.removeMessageListener(registration);
+    }
+}
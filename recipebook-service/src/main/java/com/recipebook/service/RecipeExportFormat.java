@@ -0,0 +1,46 @@
+package com.recipebook.service;
+
+import org.springframework.http.MediaType;
+
+import javax.validation.ValidationException;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/**
+ * Formats of {@code GET /recipes/export}.
+ *
+ * @author - AvanishKishorPandey
+ */
+public enum RecipeExportFormat {
+    /** One JSON object per line, the fields of a {@code RecipeResponse}. */
+    NDJSON("ndjson", new MediaType("application", "x-ndjson")),
+    /** A header row then one row per recipe, ingredients joined with {@code ;}. */
+    CSV("csv", new MediaType("text", "csv"));
+
+    private final String extension;
+    private final MediaType mediaType;
+
+    RecipeExportFormat(final String extension, final MediaType mediaType) {
+        this.extension = extension;
+        this.mediaType = mediaType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @throws ValidationException when {@code extension} names no format
+     */
+    public static RecipeExportFormat of(final String extension) {
+        return Arrays.stream(values())
+                .filter(format -> format.extension.equalsIgnoreCase(extension))
+                .findFirst()
+                .orElseThrow(() -> new ValidationException("Export format '" + extension + "' is not supported, use one of "
+                        + Arrays.stream(values()).map(RecipeExportFormat::getExtension).collect(Collectors.joining(", ")) + "."));
+    }
+}
@@ -0,0 +1,78 @@
+package com.recipebook.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.recipebook.domain.values.RecipeResponse;
+import com.recipebook.repository.RecipeReadRepository;
+import lombok.NonNull;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes the recipes of a user with a Jackson streaming generator, straight from the
+ * {@link RecipeReadRepository#forEachRecipe} cursor. Each recipe is written as soon as it is read and the output is
+ * flushed every {@value #FLUSH_INTERVAL} recipes, so neither the service nor the client holds the whole export.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Component
+public class RecipeExporter {
+    static final int FLUSH_INTERVAL = 500;
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("uuid")
+            .addColumn("createdAt")
+            .addColumn("name")
+            .addBooleanColumn("vegetarian")
+            .addNumberColumn("suitableFor")
+            .addArrayColumn("ingredients", ";")
+            .addColumn("cookingInstruction")
+            .build()
+            .withHeader();
+
+    private final RecipeReadRepository recipeReadRepository;
+    private final ObjectWriter jsonWriter;
+    private final ObjectWriter csvWriter;
+
+    public RecipeExporter(final RecipeReadRepository recipeReadRepository, final ObjectMapper jsonMapper) {
+        this.recipeReadRepository = recipeReadRepository;
+        // flushes every FLUSH_INTERVAL recipes instead of after each one
+        this.jsonWriter = jsonMapper.writerFor(RecipeResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        this.csvWriter = new CsvMapper().writer(CSV_SCHEMA).forType(RecipeResponse.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+
+    /**
+     * Writes the live recipes of the user to {@code out}, oldest first. {@code out} is flushed but left open.
+     */
+    public void export(final long userId, @NonNull final RecipeExportFormat format, @NonNull final OutputStream out) throws IOException {
+        final ObjectWriter writer = format == RecipeExportFormat.CSV ? csvWriter : jsonWriter;
+        try (JsonGenerator generator = writer.createGenerator(out).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            if (format == RecipeExportFormat.NDJSON) {
+                // every line is terminated by the loop below instead
+                generator.setRootValueSeparator(null);
+            }
+            final int[] written = {0};
+            recipeReadRepository.forEachRecipe(userId, recipe -> {
+                try {
+                    writer.writeValue(generator, recipe);
+                    if (format == RecipeExportFormat.NDJSON) {
+                        generator.writeRaw('\n');
+                    }
+                    if (++written[0] % FLUSH_INTERVAL == 0) {
+                        generator.flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.values.RecipeChangedEvent;
+import com.recipebook.domain.values.RecipeFacets;
+import com.recipebook.repository.RecipeReadRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.roaringbitmap.FastAggregation;
+import org.roaringbitmap.PeekableIntIterator;
+import org.roaringbitmap.RoaringBitmap;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index answering "all of these ingredients, none of those, vegetarian, serves at least n" for the
+ * recipes of one user, without self-joins on {@code recipe_ingredient}.
+ * <p>
+ * Every criterion is a compressed {@link RoaringBitmap} of recipe ids: one per user, one per ingredient id, one
+ * for vegetarian recipes and one per "serves at least n" for n up to {@value #MAX_SERVES_BUCKET}. A filter is an
+ * intersection of a few bitmaps followed by differences, which stays well under a millisecond at millions of
+ * recipes. The index is loaded from the database at startup and then follows {@link RecipeChangedEvent}s after
+ * their transaction commits, so rolled back writes never show up; the changes committed on other nodes arrive
+ * through {@link RecipeChangeBroadcaster}. Two nodes may deliver their changes of one recipe in either order, so the
+ * index keeps the version it applied for every recipe: a change at or below it is dropped, and a change that does not
+ * follow it directly clears the recipe from every bitmap before adding its new facets.
+ * <p>
+ * With {@code api.recipe.filterindex.enabled} off, or when the database holds more than
+ * {@code api.recipe.filterindex.maxrecipes} live recipes at startup, nothing is kept in memory and every filter reads
+ * the facets of the user's recipes instead.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Component
+@Slf4j
+public class RecipeFilterIndex implements SmartInitializingSingleton, MeterBinder {
+    private static final String METRIC_NAME = "recipebook.recipe.filterindex";
+    static final int MAX_SERVES_BUCKET = 12;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, RoaringBitmap> recipesByUser = new HashMap<>();
+    private final Map<Integer, RoaringBitmap> recipesByIngredient = new HashMap<>();
+    private final RoaringBitmap vegetarian = new RoaringBitmap();
+    /** {@code servesAtLeast[n]} holds the recipes suitable for {@code n} persons or more. */
+    private final RoaringBitmap[] servesAtLeast = new RoaringBitmap[MAX_SERVES_BUCKET + 1];
+    /** Exact serving counts of the recipes above the last bucket, which are rare. */
+    private final Map<Integer, Integer> largeServings = new HashMap<>();
+    /** Version applied per recipe, deleted ones included, so that late changes can be told from new ones. */
+    private final RecipeVersions versions = new RecipeVersions();
+    private final RecipeReadRepository recipeReadRepository;
+    private final boolean enabled;
+    private final int maxRecipes;
+    /** Set while the index holds every live recipe and follows the changes. */
+    private volatile boolean loaded;
+
+    public RecipeFilterIndex(final RecipeReadRepository recipeReadRepository,
+                             @Value("${api.recipe.filterindex.enabled:true}") final boolean enabled,
+                             @Value("${api.recipe.filterindex.maxrecipes:10000000}") final int maxRecipes) {
+        this.recipeReadRepository = recipeReadRepository;
+        this.enabled = enabled;
+        this.maxRecipes = maxRecipes;
+        for (int serves = 1; serves <= MAX_SERVES_BUCKET; serves++) {
+            servesAtLeast[serves] = new RoaringBitmap();
+        }
+    }
+
+    /**
+     * Loads every live recipe before the application starts serving requests, unless disabled or over the limit.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (!enabled) {
+            log.info("Recipe filter index is disabled, filters read the recipes of the user.");
+            return;
+        }
+        final long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            // changes wait on the lock and are applied after the load
+            loaded = true;
+            final int[] recipes = {0};
+            recipeReadRepository.forEachFacets(facets -> {
+                if (++recipes[0] > maxRecipes) {
+                    throw new IndexLimitExceededException();
+                }
+                add(facets);
+            });
+            recipesByIngredient.values().forEach(RoaringBitmap::runOptimize);
+        } catch (IndexLimitExceededException e) {
+            loaded = false;
+            clear();
+            log.warn("Recipe filter index is not loaded, there are more than {} recipes; filters read the recipes of the user.", maxRecipes);
+            return;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Recipe filter index loaded {} recipes in {} ms", size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    @TransactionalEventListener
+    public void onRecipeChanged(@NonNull final RecipeChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (!loaded) {
+                return;
+            }
+            final int id = ordinal(event.getRecipeId());
+            final int applied = versions.get(id);
+            if (applied >= event.getVersion()) {
+                // already applied, or older than what is: another node's change delivered late
+                return;
+            }
+            if (applied != RecipeVersions.NONE) {
+                if (event.getBefore() != null && event.getBefore().getVersion() == applied) {
+                    remove(event.getBefore());
+                } else {
+                    // a change in between is skipped or still on its way, the bitmaps hold facets this event does not know
+                    removeEverywhere(id);
+                }
+            }
+            if (event.getAfter() != null) {
+                add(event.getAfter());
+            } else {
+                versions.set(id, event.getVersion());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * @param include    - ingredient ids the recipes must all contain.
+     * @param exclude    - ingredient ids the recipes must not contain.
+     * @param vegetarian - {@code null} for either.
+     * @param minServes  - {@code null} for any.
+     * @return the matching recipe ids of the page, in ascending id order.
+     */
+    public Page<Long> filter(final long userId, @NonNull final Collection<Integer> include, @NonNull final Collection<Integer> exclude,
+                             final Boolean vegetarian, final Integer minServes, @NonNull final Pageable pageable) {
+        final RoaringBitmap matches;
+        lock.readLock().lock();
+        try {
+            matches = loaded ? evaluate(userId, include, exclude, vegetarian, minServes) : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+        return page(matches != null ? matches : scan(userId, include, exclude, vegetarian, minServes), pageable);
+    }
+
+    private static Page<Long> page(final RoaringBitmap matches, final Pageable pageable) {
+        final int total = matches.getCardinality();
+        final List<Long> ids = new ArrayList<>(pageable.getPageSize());
+        if (pageable.getOffset() < total) {
+            final PeekableIntIterator iterator = matches.getIntIterator();
+            iterator.advanceIfNeeded(matches.select((int) pageable.getOffset()));
+            while (iterator.hasNext() && ids.size() < pageable.getPageSize()) {
+                ids.add((long) iterator.next());
+            }
+        }
+        return new PageImpl<>(ids, pageable, total);
+    }
+
+    private RoaringBitmap evaluate(final long userId, final Collection<Integer> include, final Collection<Integer> exclude,
+                                   final Boolean vegetarian, final Integer minServes) {
+        final RoaringBitmap userRecipes = recipesByUser.get(userId);
+        if (userRecipes == null) {
+            return new RoaringBitmap();
+        }
+        final List<RoaringBitmap> required = new ArrayList<>(include.size() + 3);
+        required.add(userRecipes);
+        for (Integer ingredientId : include) {
+            final RoaringBitmap recipes = recipesByIngredient.get(ingredientId);
+            if (recipes == null) {
+                return new RoaringBitmap();
+            }
+            required.add(recipes);
+        }
+        if (Boolean.TRUE.equals(vegetarian)) {
+            required.add(this.vegetarian);
+        }
+        if (minServes != null && minServes > 1) {
+            required.add(servesAtLeast[Math.min(minServes, MAX_SERVES_BUCKET)]);
+        }
+        final RoaringBitmap matches = required.size() == 1 ? userRecipes.clone() : FastAggregation.and(required.iterator());
+        for (Integer ingredientId : exclude) {
+            final RoaringBitmap recipes = recipesByIngredient.get(ingredientId);
+            if (recipes != null) {
+                matches.andNot(recipes);
+            }
+        }
+        if (Boolean.FALSE.equals(vegetarian)) {
+            matches.andNot(this.vegetarian);
+        }
+        if (minServes != null && minServes > MAX_SERVES_BUCKET) {
+            matches.and(RoaringBitmap.bitmapOf(matches.stream()
+                    .filter(id -> largeServings.getOrDefault(id, 0) >= minServes)
+                    .toArray()));
+        }
+        return matches;
+    }
+
+    /**
+     * Evaluates the filter on the facets of the user's recipes, when the index is not loaded.
+     */
+    private RoaringBitmap scan(final long userId, final Collection<Integer> include, final Collection<Integer> exclude,
+                               final Boolean vegetarian, final Integer minServes) {
+        final RoaringBitmap matches = new RoaringBitmap();
+        recipeReadRepository.forEachFacets(userId, facets -> {
+            if (facets.getIngredientIds().containsAll(include)
+                    && Collections.disjoint(facets.getIngredientIds(), exclude)
+                    && (vegetarian == null || vegetarian == facets.isVegetarian())
+                    && (minServes == null || facets.getSuitableFor() >= minServes)) {
+                matches.add(ordinal(facets.getRecipeId()));
+            }
+        });
+        return matches;
+    }
+
+    private void add(final RecipeFacets facets) {
+        final int id = ordinal(facets.getRecipeId());
+        versions.set(id, facets.getVersion());
+        recipesByUser.computeIfAbsent(facets.getUserId(), ignored -> new RoaringBitmap()).add(id);
+        facets.getIngredientIds().forEach(ingredientId -> recipesByIngredient.computeIfAbsent(ingredientId, ignored -> new RoaringBitmap()).add(id));
+        if (facets.isVegetarian()) {
+            vegetarian.add(id);
+        }
+        for (int serves = 1; serves <= Math.min(facets.getSuitableFor(), MAX_SERVES_BUCKET); serves++) {
+            servesAtLeast[serves].add(id);
+        }
+        if (facets.getSuitableFor() > MAX_SERVES_BUCKET) {
+            largeServings.put(id, facets.getSuitableFor());
+        }
+    }
+
+    private void remove(final RecipeFacets facets) {
+        final int id = ordinal(facets.getRecipeId());
+        removeFrom(recipesByUser, facets.getUserId(), id);
+        facets.getIngredientIds().forEach(ingredientId -> removeFrom(recipesByIngredient, ingredientId, id));
+        removeAttributes(id);
+    }
+
+    /**
+     * Removes the recipe without knowing its facets, by visiting every user and ingredient bitmap. Only needed when
+     * changes of one recipe arrive out of order, which is rare.
+     */
+    private void removeEverywhere(final int id) {
+        removeFromAll(recipesByUser, id);
+        removeFromAll(recipesByIngredient, id);
+        removeAttributes(id);
+    }
+
+    private void removeAttributes(final int id) {
+        vegetarian.remove(id);
+        for (int serves = 1; serves <= MAX_SERVES_BUCKET; serves++) {
+            servesAtLeast[serves].remove(id);
+        }
+        largeServings.remove(id);
+    }
+
+    private void clear() {
+        recipesByUser.clear();
+        recipesByIngredient.clear();
+        vegetarian.clear();
+        for (int serves = 1; serves <= MAX_SERVES_BUCKET; serves++) {
+            servesAtLeast[serves].clear();
+        }
+        largeServings.clear();
+        versions.clear();
+    }
+
+    private static <K> void removeFromAll(final Map<K, RoaringBitmap> bitmaps, final int id) {
+        final Iterator<RoaringBitmap> iterator = bitmaps.values().iterator();
+        while (iterator.hasNext()) {
+            final RoaringBitmap bitmap = iterator.next();
+            if (bitmap.checkedRemove(id) && bitmap.isEmpty()) {
+                iterator.remove();
+            }
+        }
+    }
+
+    private static <K> void removeFrom(final Map<K, RoaringBitmap> bitmaps, final K key, final int id) {
+        final RoaringBitmap bitmap = bitmaps.get(key);
+        if (bitmap != null) {
+            bitmap.remove(id);
+            if (bitmap.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    /**
+     * Recipe ids come from a sequence, so they are dense and used as bitmap positions directly.
+     */
+    private static int ordinal(final long recipeId) {
+        return Math.toIntExact(recipeId);
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return recipesByUser.values().stream().mapToInt(RoaringBitmap::getCardinality).sum();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public long sizeInBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = vegetarian.getLongSizeInBytes();
+            for (RoaringBitmap bitmap : recipesByUser.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            for (RoaringBitmap bitmap : recipesByIngredient.values()) {
+                bytes += bitmap.getLongSizeInBytes();
+            }
+            for (int serves = 1; serves <= MAX_SERVES_BUCKET; serves++) {
+                bytes += servesAtLeast[serves].getLongSizeInBytes();
+            }
+            return bytes + versions.sizeInBytes();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applied version per recipe ordinal, in pages allocated as ids are first seen. Ids are dense, so this costs four
+     * bytes per recipe id handed out, which is less than a map entry per recipe.
+     */
+    private static final class RecipeVersions {
+        static final int NONE = -1;
+        private static final int PAGE_BITS = 16;
+        private static final int PAGE_SIZE = 1 << PAGE_BITS;
+
+        private int[][] pages = new int[0][];
+
+        /**
+         * @return the version, or {@link #NONE} when the recipe was never indexed.
+         */
+        int get(final int id) {
+            final int page = id >>> PAGE_BITS;
+            // versions are stored plus one, so a zeroed slot reads as NONE
+            return page < pages.length && pages[page] != null ? pages[page][id & (PAGE_SIZE - 1)] - 1 : NONE;
+        }
+
+        void set(final int id, final int version) {
+            final int page = id >>> PAGE_BITS;
+            if (page >= pages.length) {
+                pages = Arrays.copyOf(pages, Math.max(page + 1, pages.length * 2));
+            }
+            if (pages[page] == null) {
+                pages[page] = new int[PAGE_SIZE];
+            }
+            pages[page][id & (PAGE_SIZE - 1)] = version + 1;
+        }
+
+        void clear() {
+            pages = new int[0][];
+        }
+
+        long sizeInBytes() {
+            return Arrays.stream(pages).filter(Objects::nonNull).count() * PAGE_SIZE * Integer.BYTES;
+        }
+    }
+
+    private static final class IndexLimitExceededException extends RuntimeException {
+        private static final long serialVersionUID = 4893152052405719338L;
+
+        private IndexLimitExceededException() {
+            super(null, null, false, false);
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        Gauge.builder(METRIC_NAME + ".recipes", this, RecipeFilterIndex::size)
+                .description("Number of recipes in the filter index")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".bytes", this, RecipeFilterIndex::sizeInBytes)
+                .description("Serialized size of the filter index bitmaps, plus the recipe versions")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+}
@@ -0,0 +1,430 @@
+package com.recipebook.service;
+
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.recipebook.domain.entities.RecipeImportError;
+import com.recipebook.domain.entities.RecipeImportJob;
+import com.recipebook.domain.exceptions.PayloadTooLargeException;
+import com.recipebook.domain.exceptions.ResourceNotFoundException;
+import com.recipebook.domain.exceptions.TooManyRequestsException;
+import com.recipebook.domain.values.RecipeBatchRequest;
+import com.recipebook.domain.values.RecipeImportJobResponse;
+import com.recipebook.domain.values.RecipeRequest;
+import com.recipebook.domain.values.RecipeResponse;
+import com.recipebook.repository.RecipeImportJobRepository;
+import com.recipebook.repository.UserRepository;
+import com.recipebook.util.SecurityUtils;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import javax.annotation.PreDestroy;
+import javax.validation.ConstraintViolation;
+import javax.validation.ValidationException;
+import javax.validation.Validator;
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the {@code POST /recipes/import} jobs. The request thread only copies the NDJSON dump to a temporary file,
+ * through a fixed size buffer, and queues the job on a bounded pool. A dump larger than
+ * {@code api.recipe.import.maxsize} is rejected while it is copied, before a job is created or resumed. The worker reads the file one record at a time
+ * with a Jackson {@link MappingIterator} and commits every {@value #CHUNK_SIZE} records in one transaction, the
+ * recipes through {@link RecipeService#createRecipes} and the progress of the job together, so the committed offset
+ * of a job always matches the recipes in the database.
+ * <p>
+ * A record that is not a valid recipe is rejected and reported, and the job goes on. A dump that is not well-formed
+ * JSON or a database error fails the job; resuming it with the same dump skips the committed records.
+ * <p>
+ * Every node stamps the jobs it queues with an instance id drawn at startup and renews their lease every
+ * {@code api.recipe.import.heartbeatintervalinms}. Any node fails the queued or running jobs whose lease is older than
+ * {@code api.recipe.import.leasetimeoutinms}, so the jobs of a node that stopped can be resumed elsewhere while the
+ * jobs of the nodes still up are left alone. A worker that lost its job that way stops at its next chunk.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Service
+@Slf4j
+public class RecipeImportService {
+    static final int CHUNK_SIZE = RecipeBatchRequest.MAX_RECIPES;
+    static final int MAX_REPORTED_ERRORS = 100;
+    private static final int MAX_MESSAGE_LENGTH = 1000;
+    private static final String INTERRUPTED = "The import was interrupted, resume it to continue.";
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern(RecipeResponse.CREATED_AT_FORMAT);
+    private static final int SPOOL_BUFFER_SIZE = 8192;
+
+    private final RecipeImportJobRepository jobRepository;
+    private final UserRepository userRepository;
+    private final RecipeService recipeService;
+    private final ObjectReader recordReader;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor executor;
+    private final long retryAfterSeconds;
+    private final long maxDumpBytes;
+    private final long leaseTimeoutMillis;
+    /** Identifies this node's jobs in {@code recipe_import_job.node_id}, fresh on every start. */
+    private final String nodeId = UUID.randomUUID().toString();
+    /** Jobs queued or running on this node, whose lease it renews. */
+    private final Set<String> activeJobs = ConcurrentHashMap.newKeySet();
+
+    public RecipeImportService(final RecipeImportJobRepository jobRepository, final UserRepository userRepository, final RecipeService recipeService,
+                               final ObjectMapper objectMapper, final Validator validator, final PlatformTransactionManager transactionManager,
+                               @Value("${api.recipe.import.threads:1}") final int threads,
+                               @Value("${api.recipe.import.queuecapacity:16}") final int queueCapacity,
+                               @Value("${api.recipe.import.retryafterinsec:60}") final long retryAfterSeconds,
+                               @Value("${api.recipe.import.maxsize:100MB}") final DataSize maxDumpSize,
+                               @Value("${api.recipe.import.leasetimeoutinms:300000}") final long leaseTimeoutMillis) {
+        this.jobRepository = jobRepository;
+        this.userRepository = userRepository;
+        this.recipeService = recipeService;
+        this.recordReader = objectMapper.readerFor(RecipeRequest.class);
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.maxDumpBytes = maxDumpSize.toBytes();
+        this.leaseTimeoutMillis = leaseTimeoutMillis;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new RecipeImportThreadFactory(), new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Queues the import of {@code dump}, one recipe request per line, for the current user.
+     *
+     * @throws TooManyRequestsException when the import queue is full; the job is created failed and can be resumed
+     * @throws PayloadTooLargeException when the dump is larger than {@code api.recipe.import.maxsize}; no job is created
+     */
+    public RecipeImportJobResponse startImport(@NonNull final InputStream dump) throws IOException {
+        final Path spool = spool(dump);
+        final RecipeImportJobResponse job;
+        try {
+            job = transactionTemplate.execute(status -> {
+                final RecipeImportJob newJob = new RecipeImportJob();
+                newJob.setUser(userRepository.getById(SecurityUtils.getCurrentUserId()));
+                newJob.setNodeId(nodeId);
+                newJob.setHeartbeatOn(LocalDateTime.now());
+                return toResponse(jobRepository.save(newJob));
+            });
+        } catch (RuntimeException e) {
+            deleteSpool(spool);
+            throw e;
+        }
+        return submit(job, spool);
+    }
+
+    /**
+     * Queues a failed job again with {@code dump}, which must start with the records the job already committed.
+     * Those are read but skipped.
+     *
+     * @throws ValidationException when the job has not failed
+     * @throws PayloadTooLargeException when the dump is larger than {@code api.recipe.import.maxsize}; the job stays failed
+     */
+    public RecipeImportJobResponse resumeImport(@NonNull final String jobId, @NonNull final InputStream dump) throws IOException {
+        // checked before the dump is copied, and again when the job is queued
+        requireFailed(transactionTemplate.execute(status -> toResponse(findOwnedJob(jobId))));
+        final Path spool = spool(dump);
+        final RecipeImportJobResponse job;
+        try {
+            job = transactionTemplate.execute(status -> {
+                final RecipeImportJob failedJob = findOwnedJob(jobId);
+                requireFailed(toResponse(failedJob));
+                failedJob.setStatus(RecipeImportJob.Status.QUEUED);
+                failedJob.setFailure(null);
+                failedJob.setNodeId(nodeId);
+                failedJob.setHeartbeatOn(LocalDateTime.now());
+                return toResponse(failedJob);
+            });
+        } catch (RuntimeException e) {
+            deleteSpool(spool);
+            throw e;
+        }
+        return submit(job, spool);
+    }
+
+    @Transactional(readOnly = true)
+    public RecipeImportJobResponse findJob(@NonNull final String jobId) {
+        return toResponse(findOwnedJob(jobId));
+    }
+
+    @Scheduled(fixedDelayString = "${api.recipe.import.heartbeatintervalinms:30000}")
+    public void renewLeases() {
+        if (!activeJobs.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> jobRepository.renewLeases(nodeId, List.copyOf(activeJobs), LocalDateTime.now()));
+        }
+    }
+
+    /**
+     * Jobs whose node stopped renewing their lease were cut off; fails them so they can be resumed.
+     */
+    @Scheduled(fixedDelayString = "${api.recipe.import.heartbeatintervalinms:30000}")
+    public void failExpiredJobs() {
+        final LocalDateTime expiredBefore = LocalDateTime.now().minus(leaseTimeoutMillis, ChronoUnit.MILLIS);
+        final Integer failed = transactionTemplate.execute(status -> jobRepository.failAllByStatusInAndHeartbeatOnBefore(
+                List.of(RecipeImportJob.Status.QUEUED, RecipeImportJob.Status.RUNNING), expiredBefore, INTERRUPTED));
+        if (failed != null && failed > 0) {
+            log.info("Failed {} recipe imports whose node stopped renewing them.", failed);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private RecipeImportJobResponse submit(final RecipeImportJobResponse job, final Path spool) {
+        final Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        activeJobs.add(job.getUuid());
+        try {
+            executor.execute(() -> run(job.getUuid(), authentication, spool));
+        } catch (RejectedExecutionException e) {
+            activeJobs.remove(job.getUuid());
+            deleteSpool(spool);
+            fail(job.getUuid(), "Too many imports were queued, resume it later.");
+            throw new TooManyRequestsException("Too many imports are queued, resume import '" + job.getUuid() + "' later.", retryAfterSeconds);
+        }
+        return job;
+    }
+
+    private void run(final String jobId, final Authentication authentication, final Path spool) {
+        // createRecipes takes the owner of the recipes from the security context
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        try {
+            importRecords(jobId, spool);
+        } catch (IOException | RuntimeException e) {
+            log.warn("Recipe import {} failed.", jobId, e);
+            fail(jobId, failureMessage(e));
+        } finally {
+            activeJobs.remove(jobId);
+            SecurityContextHolder.clearContext();
+            deleteSpool(spool);
+        }
+    }
+
+    private void importRecords(final String jobId, final Path spool) throws IOException {
+        final Long offset = transactionTemplate.execute(status -> {
+            final RecipeImportJob job = findLeasedJob(jobId);
+            job.setStatus(RecipeImportJob.Status.RUNNING);
+            return job.getCommittedOffset();
+        });
+        final List<RecipeRequest> recipes = new ArrayList<>(CHUNK_SIZE);
+        final List<RecipeImportError> errors = new ArrayList<>();
+        long record = 0;
+        long chunkStart = System.nanoTime();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(spool));
+             MappingIterator<RecipeRequest> records = recordReader.readValues(in)) {
+            while (records.hasNextValue()) {
+                record++;
+                if (record <= offset) {
+                    skip(records);
+                    continue;
+                }
+                read(records, record, recipes, errors);
+                if ((record - offset) % CHUNK_SIZE == 0) {
+                    commit(jobId, record, recipes, errors, chunkStart, false);
+                    chunkStart = System.nanoTime();
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new InterruptedIOException(INTERRUPTED);
+                    }
+                }
+            }
+        }
+        if (record < offset) {
+            throw new ValidationException("The dump has " + record + " records, fewer than the " + offset + " already imported.");
+        }
+        commit(jobId, Math.max(record, offset), recipes, errors, chunkStart, true);
+    }
+
+    private void read(final MappingIterator<RecipeRequest> records, final long record, final List<RecipeRequest> recipes, final List<RecipeImportError> errors)
+            throws IOException {
+        final RecipeRequest recipe;
+        try {
+            recipe = records.nextValue();
+        } catch (JsonMappingException e) {
+            errors.add(new RecipeImportError(record, truncate(e.getOriginalMessage())));
+            return;
+        }
+        final String violations = validator.validate(recipe).stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining(", "));
+        if (violations.isEmpty()) {
+            recipes.add(recipe);
+        } else {
+            errors.add(new RecipeImportError(record, truncate(violations)));
+        }
+    }
+
+    private static void skip(final MappingIterator<RecipeRequest> records) throws IOException {
+        try {
+            records.nextValue();
+        } catch (JsonMappingException e) {
+            // rejected when the job first read it
+        }
+    }
+
+    private void commit(final String jobId, final long offset, final List<RecipeRequest> recipes, final List<RecipeImportError> errors,
+                        final long chunkStart, final boolean last) {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (!recipes.isEmpty()) {
+                recipeService.createRecipes(recipes);
+            }
+            final RecipeImportJob job = findLeasedJob(jobId);
+            job.setCommittedOffset(offset);
+            job.setImportedCount(job.getImportedCount() + recipes.size());
+            job.setRejectedCount(job.getRejectedCount() + errors.size());
+            errors.stream().limit(Math.max(0, MAX_REPORTED_ERRORS - job.getErrors().size())).forEach(job.getErrors()::add);
+            job.setElapsedMillis(job.getElapsedMillis() + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - chunkStart));
+            job.setHeartbeatOn(LocalDateTime.now());
+            if (last) {
+                job.setStatus(RecipeImportJob.Status.COMPLETED);
+                job.setFinishedOn(LocalDateTime.now());
+            }
+        });
+        recipes.clear();
+        errors.clear();
+    }
+
+    private void fail(final String jobId, final String failure) {
+        transactionTemplate.executeWithoutResult(status -> {
+            final RecipeImportJob job = findJobById(jobId);
+            // failed already by another node, which may have queued it again since
+            if (nodeId.equals(job.getNodeId())) {
+                job.setStatus(RecipeImportJob.Status.FAILED);
+                job.setFailure(truncate(failure));
+            }
+        });
+    }
+
+    private static String failureMessage(final Exception e) {
+        if (e instanceof InterruptedIOException) {
+            return INTERRUPTED;
+        }
+        if (e instanceof JsonProcessingException) {
+            final JsonProcessingException jsonException = (JsonProcessingException) e;
+            final JsonLocation location = jsonException.getLocation();
+            return "The dump is not valid NDJSON" + (location == null ? "" : " at line " + location.getLineNr() + ", column " + location.getColumnNr())
+                    + ": " + jsonException.getOriginalMessage();
+        }
+        if (e instanceof ValidationException) {
+            return e.getMessage();
+        }
+        return "The import failed, resume it to continue.";
+    }
+
+    private static void requireFailed(final RecipeImportJobResponse job) {
+        if (!RecipeImportJob.Status.FAILED.name().equals(job.getStatus())) {
+            throw new ValidationException("Only a failed import can be resumed, import '" + job.getUuid() + "' is " + job.getStatus() + ".");
+        }
+    }
+
+    private RecipeImportJob findOwnedJob(final String jobId) {
+        return jobRepository.findOneByGuidAndUserId(jobId, SecurityUtils.getCurrentUserId())
+                .orElseThrow(() -> new ResourceNotFoundException("Import", "GUID", jobId));
+    }
+
+    /**
+     * @throws ImportLeaseLostException when another node failed the job after its lease expired
+     */
+    private RecipeImportJob findLeasedJob(final String jobId) {
+        final RecipeImportJob job = findJobById(jobId);
+        if (!nodeId.equals(job.getNodeId())) {
+            throw new ImportLeaseLostException("Recipe import " + jobId + " was failed by another node after its lease expired.");
+        }
+        return job;
+    }
+
+    private RecipeImportJob findJobById(final String jobId) {
+        return jobRepository.findOneByGuid(jobId).orElseThrow(() -> new ResourceNotFoundException("Import", "GUID", jobId));
+    }
+
+    private Path spool(final InputStream dump) throws IOException {
+        final Path spool = Files.createTempFile("recipe-import-", ".ndjson");
+        try (OutputStream out = Files.newOutputStream(spool)) {
+            final byte[] buffer = new byte[SPOOL_BUFFER_SIZE];
+            long copied = 0;
+            int read;
+            while ((read = dump.read(buffer)) != -1) {
+                copied += read;
+                if (copied > maxDumpBytes) {
+                    throw new PayloadTooLargeException("The dump is larger than the import limit of " + maxDumpBytes + " bytes.");
+                }
+                out.write(buffer, 0, read);
+            }
+        } catch (IOException | RuntimeException e) {
+            deleteSpool(spool);
+            throw e;
+        }
+        return spool;
+    }
+
+    private static void deleteSpool(final Path spool) {
+        try {
+            Files.deleteIfExists(spool);
+        } catch (IOException e) {
+            log.warn("Unable to delete recipe import file {}.", spool, e);
+        }
+    }
+
+    private static String truncate(final String message) {
+        return message == null || message.length() <= MAX_MESSAGE_LENGTH ? message : message.substring(0, MAX_MESSAGE_LENGTH);
+    }
+
+    private static RecipeImportJobResponse toResponse(final RecipeImportJob job) {
+        return RecipeImportJobResponse.builder()
+                .uuid(job.getGuid())
+                .status(job.getStatus().name())
+                .committedOffset(job.getCommittedOffset())
+                .importedCount(job.getImportedCount())
+                .rejectedCount(job.getRejectedCount())
+                .recipesPerSecond(job.getElapsedMillis() == 0 ? 0 : job.getImportedCount() * 1000d / job.getElapsedMillis())
+                .failure(job.getFailure())
+                .createdAt(DATE_TIME_FORMATTER.format(job.getCreatedOn()))
+                .finishedAt(job.getFinishedOn() == null ? null : DATE_TIME_FORMATTER.format(job.getFinishedOn()))
+                .errors(job.getErrors().stream()
+                        .map(error -> new RecipeImportJobResponse.RecordError(error.getRecord(), error.getMessage()))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private static final class ImportLeaseLostException extends IllegalStateException {
+        private static final long serialVersionUID = -2286453125713931839L;
+
+        ImportLeaseLostException(final String message) {
+            super(message);
+        }
+    }
+
+    private static final class RecipeImportThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadNumber = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            Thread thread = new Thread(runnable, "recipe-import-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.entities.Recipe;
+import com.recipebook.domain.values.RecipeListCriteria;
+import com.recipebook.repository.OrderSpecification;
+import lombok.Getter;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.Root;
+import javax.validation.ValidationException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+
+/**
+ * Validated form of a {@link RecipeListCriteria}. Only sort keys backed by a partial index on
+ * {@code (user_fk, key, id)} and one on {@code (user_fk, vegetarian, key, id)} are accepted, and only filters that
+ * the index scan of that key can apply without sorting, so every accepted listing reads the index in order and stops
+ * at the page.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Getter
+public final class RecipeListing {
+    /**
+     * Whitelisted sort keys. The index of each key is created in {@code V4__RECIPE_LISTING_INDEXES.sql} or
+     * {@code V7__RECIPE_SORT_INDEXES.sql}, the one of each key under the vegetarian filter in
+     * {@code V10__RECIPE_VEGETARIAN_SORT_INDEXES.sql}.
+     */
+    public enum SortKey {
+        CREATED_ON("createdOn", (root, cb) -> root.get("createdOn"), false),
+        /** Sorts on {@code lower(name)}, the case-insensitive key of {@code idx_recipe_user_lower_name_id}. */
+        NAME("name", (root, cb) -> cb.lower(root.get("name")), false),
+        SUITABLE_FOR("suitableFor", (root, cb) -> root.get("suitableFor"), true);
+
+        private final String field;
+        private final BiFunction<Root<Recipe>, CriteriaBuilder, Expression<?>> expression;
+        private final boolean minServesSupported;
+
+        SortKey(final String field, final BiFunction<Root<Recipe>, CriteriaBuilder, Expression<?>> expression, final boolean minServesSupported) {
+            this.field = field;
+            this.expression = expression;
+            this.minServesSupported = minServesSupported;
+        }
+
+        public String getField() {
+            return field;
+        }
+
+        static SortKey of(final String field) {
+            return Arrays.stream(values())
+                    .filter(key -> key.field.equals(field))
+                    .findFirst()
+                    .orElseThrow(() -> new ValidationException("Sorting by '" + field + "' is not supported, use one of "
+                            + Arrays.stream(values()).map(SortKey::getField).collect(Collectors.joining(", ")) + "."));
+        }
+    }
+
+    private final SortKey sortKey;
+    private final Sort.Direction direction;
+    private final Boolean vegetarian;
+    private final Integer minServes;
+
+    private RecipeListing(final SortKey sortKey, final Sort.Direction direction, final Boolean vegetarian, final Integer minServes) {
+        this.sortKey = sortKey;
+        this.direction = direction;
+        this.vegetarian = vegetarian;
+        this.minServes = minServes;
+    }
+
+    /**
+     * @throws ValidationException when the sort key or direction is unknown, or the filters cannot be served by the
+     *                             index of the sort key
+     */
+    public static RecipeListing of(final RecipeListCriteria criteria) {
+        SortKey sortKey = SortKey.CREATED_ON;
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (StringUtils.hasText(criteria.getSort())) {
+            final String[] parts = criteria.getSort().split(",", -1);
+            if (parts.length > 2) {
+                throw new ValidationException("Sort must be 'field' or 'field,asc|desc'.");
+            }
+            sortKey = SortKey.of(parts[0].strip());
+            if (parts.length == 2) {
+                direction = direction(parts[1].strip());
+            }
+        }
+        if (criteria.getMinServes() != null) {
+            if (!sortKey.minServesSupported) {
+                throw new ValidationException("Filtering on minServes is only supported when sorting by " + SortKey.SUITABLE_FOR.field + ".");
+            }
+            if (criteria.getMinServes() < 1) {
+                throw new ValidationException("minServes must be at least 1.");
+            }
+        }
+        return new RecipeListing(sortKey, direction, criteria.getVegetarian(), criteria.getMinServes());
+    }
+
+    private static Sort.Direction direction(final String value) {
+        switch (value.toLowerCase(Locale.ROOT)) {
+            case "asc":
+                return Sort.Direction.ASC;
+            case "desc":
+                return Sort.Direction.DESC;
+            default:
+                throw new ValidationException("Sort direction must be 'asc' or 'desc'.");
+        }
+    }
+
+    /**
+     * Whether this is the unfiltered creation order, which is served by the cursor-capable listing queries.
+     */
+    public boolean isDefault() {
+        return sortKey == SortKey.CREATED_ON && direction == Sort.Direction.ASC && vegetarian == null && minServes == null;
+    }
+
+    public Specification<Recipe> specification(final long userId) {
+        Specification<Recipe> specification = (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+        if (vegetarian != null) {
+            specification = specification.and((root, query, cb) -> cb.equal(root.get("vegetarian"), vegetarian));
+        }
+        if (minServes != null) {
+            specification = specification.and((root, query, cb) -> cb.greaterThanOrEqualTo(root.get("suitableFor"), minServes));
+        }
+        return specification;
+    }
+
+    /**
+     * Orders on the sort key then the id, both in the requested direction, which is the order of the key's index.
+     */
+    public OrderSpecification<Recipe> order() {
+        return (root, cb) -> {
+            final Expression<?> key = sortKey.expression.apply(root, cb);
+            return direction.isAscending()
+                    ? List.of(cb.asc(key), cb.asc(root.get("id")))
+                    : List.of(cb.desc(key), cb.desc(root.get("id")));
+        };
+    }
+}
@@ -1,28 +1,50 @@
 package com.recipebook.service;
 
+import com.recipebook.domain.entities.Ingredient;
 import com.recipebook.domain.entities.Recipe;
-import com.recipebook.domain.entities.User;
+import com.recipebook.domain.entities.RecipeIngredient;
 import com.recipebook.domain.exceptions.APIException;
+import com.recipebook.domain.exceptions.PreconditionFailedException;
 import com.recipebook.domain.exceptions.ResourceNotFoundException;
 import com.recipebook.domain.values.PageResponse;
+import com.recipebook.domain.values.RecipeBatchRequest;
+import com.recipebook.domain.values.RecipeChangedEvent;
+import com.recipebook.domain.values.RecipeCursor;
+import com.recipebook.domain.values.RecipeDeleteResult;
+import com.recipebook.domain.values.RecipeFacets;
+import com.recipebook.domain.values.RecipeFilter;
+import com.recipebook.domain.values.RecipeListCriteria;
 import com.recipebook.domain.values.RecipeRequest;
 import com.recipebook.domain.values.RecipeResponse;
+import com.recipebook.domain.values.RecipeSearchCursor;
+import com.recipebook.domain.values.RecipeSuggestions;
+import com.recipebook.repository.RecipeReadRepository;
 import com.recipebook.repository.RecipeRepository;
+import com.recipebook.repository.RecipeSearchRepository;
 import com.recipebook.repository.UserRepository;
 import com.recipebook.service.mappers.RecipeMapper;
 import com.recipebook.util.SecurityUtils;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.util.Optional;
+import javax.validation.ValidationException;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * @author - AvanishKishorPandey
@@ -34,63 +56,388 @@ import java.util.Optional;
 public class RecipeService {
     private static final String ENTITY_NAME = "Recipe";
     private static final RecipeMapper RECIPE_MAPPER_INSTANCE = RecipeMapper.INSTANCE;
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final int MAX_SUGGESTION_PREFIX_LENGTH = 100;
+    private static final int MAX_SUGGESTIONS = 50;
+    private static final int MAX_BULK_DELETE = 100;
     private final RecipeRepository recipeRepository;
+    private final RecipeReadRepository recipeReadRepository;
+    private final RecipeSearchRepository recipeSearchRepository;
     private final UserRepository userRepository;
+    private final IngredientDictionary ingredientDictionary;
+    private final RecipeFilterIndex recipeFilterIndex;
+    private final RecipeSuggestionIndex recipeSuggestionIndex;
+    private final RecipeExporter recipeExporter;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public RecipeService(final RecipeRepository recipeRepository, final UserRepository userRepository) {
+    public RecipeService(final RecipeRepository recipeRepository, final RecipeReadRepository recipeReadRepository,
+                         final RecipeSearchRepository recipeSearchRepository, final UserRepository userRepository, final IngredientDictionary ingredientDictionary,
+                         final RecipeFilterIndex recipeFilterIndex, final RecipeSuggestionIndex recipeSuggestionIndex,
+                         final RecipeExporter recipeExporter, final ApplicationEventPublisher eventPublisher) {
         this.recipeRepository = recipeRepository;
+        this.recipeReadRepository = recipeReadRepository;
+        this.recipeSearchRepository = recipeSearchRepository;
         this.userRepository = userRepository;
+        this.ingredientDictionary = ingredientDictionary;
+        this.recipeFilterIndex = recipeFilterIndex;
+        this.recipeSuggestionIndex = recipeSuggestionIndex;
+        this.recipeExporter = recipeExporter;
+        this.eventPublisher = eventPublisher;
     }
 
+    /**
+     * Loads the page in two statements whatever its size: the ordered positions of the page, then those recipes
+     * with their ingredients straight into responses. A count query is added when the page total cannot be
+     * derived from the positions.
+     */
     @Transactional(readOnly = true)
     public PageResponse<RecipeResponse> findAll(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "createdOn"));
-        Page<Recipe> pageResult = recipeRepository.findByUserGuid(SecurityUtils.getCurrentUserLogin(), pageable);
-        return PageResponse.of(pageResult, RECIPE_MAPPER_INSTANCE::toResponse);
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "createdOn", "id"));
+        Page<RecipeCursor> positions = recipeRepository.findPositionsByUserId(SecurityUtils.getCurrentUserId(), pageable);
+        List<RecipeResponse> recipes = recipeReadRepository.findAllByIdIn(ids(positions));
+        Page<RecipeResponse> pageResult = new PageImpl<>(recipes, pageable, positions.getTotalElements());
+        return PageResponse.of(pageResult, Function.identity(), positions.hasNext() ? nextCursor(positions) : null);
+    }
+
+    /**
+     * Loads the page that follows {@code cursor}, or the first page when there is no cursor, by seeking on
+     * {@code (createdOn, id)}. No count is run, so the totals of the response are {@link PageResponse#UNKNOWN}.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<RecipeResponse> findAllAfter(final String cursor, int size) {
+        final Long userId = SecurityUtils.getCurrentUserId();
+        final Pageable pageable = PageRequest.of(0, size);
+        Slice<RecipeCursor> positions;
+        if (StringUtils.hasText(cursor)) {
+            RecipeCursor position = RecipeCursor.decode(cursor);
+            positions = recipeRepository.findPositionSliceByUserIdAfter(userId, position.getCreatedOn(), position.getId(), pageable);
+        } else {
+            positions = recipeRepository.findPositionSliceByUserId(userId, pageable);
+        }
+        List<RecipeResponse> recipes = recipeReadRepository.findAllByIdIn(ids(positions));
+        Slice<RecipeResponse> sliceResult = new SliceImpl<>(recipes, pageable, positions.hasNext());
+        return PageResponse.ofCursor(sliceResult, Function.identity(), positions.hasNext() ? nextCursor(positions) : null);
+    }
+
+    /**
+     * Loads the page in the order and with the filters of {@code criteria}. The unfiltered creation order is served
+     * by {@link #findAll(int, int)}; any other listing loads the ids of the page through {@link RecipeListing}, which
+     * rejects combinations that no index serves, then those recipes. No cursor is returned for these listings.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<RecipeResponse> findAll(@NonNull final RecipeListCriteria criteria, int page, int size) {
+        final RecipeListing listing = RecipeListing.of(criteria);
+        if (listing.isDefault()) {
+            return findAll(page, size);
+        }
+        final Pageable pageable = PageRequest.of(page, size);
+        final Page<Long> idPage = recipeRepository.findIds(listing.specification(SecurityUtils.getCurrentUserId()), listing.order(), pageable);
+        final List<RecipeResponse> recipes = recipeReadRepository.findAllByIdIn(idPage.getContent());
+        return PageResponse.of(new PageImpl<>(recipes, pageable, idPage.getTotalElements()), Function.identity());
+    }
+
+    /**
+     * Cursor paging is only available in the unfiltered creation order, see {@link #findAllAfter(String, int)}.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<RecipeResponse> findAllAfter(final String cursor, @NonNull final RecipeListCriteria criteria, int size) {
+        if (!RecipeListing.of(criteria).isDefault()) {
+            throw new ValidationException("Cursor paging is only supported for the default sort without filters.");
+        }
+        return findAllAfter(cursor, size);
+    }
+
+    /**
+     * Evaluates the filter on {@link RecipeFilterIndex}, then loads the matching page like {@link #findAll(int, int)}.
+     * Recipes are in id order, which is creation order.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<RecipeResponse> filter(@NonNull final RecipeFilter filter, int page, int size) {
+        if (filter.getMinServes() != null && filter.getMinServes() < 1) {
+            throw new ValidationException("minServes must be at least 1.");
+        }
+        final Pageable pageable = PageRequest.of(page, size);
+        final Set<String> include = Optional.ofNullable(filter.getInclude()).orElse(Collections.emptySet());
+        final Set<String> exclude = Optional.ofNullable(filter.getExclude()).orElse(Collections.emptySet());
+        final Set<String> names = new HashSet<>(include);
+        names.addAll(exclude);
+        final Map<String, Integer> ingredientIds = ingredientDictionary.findIds(names);
+        final List<Integer> includeIds = new ArrayList<>(include.size());
+        for (String name : include) {
+            final Integer id = ingredientIds.get(IngredientDictionary.normalize(name));
+            if (id == null) {
+                // no recipe has an ingredient that is not in the dictionary
+                return PageResponse.of(new PageImpl<>(Collections.<RecipeResponse>emptyList(), pageable, 0), Function.identity());
+            }
+            includeIds.add(id);
+        }
+        final List<Integer> excludeIds = exclude.stream()
+                .map(name -> ingredientIds.get(IngredientDictionary.normalize(name)))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        final Page<Long> idPage = recipeFilterIndex.filter(SecurityUtils.getCurrentUserId(), includeIds, excludeIds,
+                filter.getVegetarian(), filter.getMinServes(), pageable);
+        final List<RecipeResponse> recipes = recipeReadRepository.findAllByIdIn(idPage.getContent());
+        return PageResponse.of(new PageImpl<>(recipes, pageable, idPage.getTotalElements()), Function.identity());
+    }
+
+    /**
+     * Searches the name and cooking instruction of the user's recipes, best match first. Pages are continued with
+     * the {@code nextCursor} of the previous page, so deep pages cost the same as the first one and no count is run.
+     */
+    @Transactional(readOnly = true)
+    public PageResponse<RecipeResponse> search(final String query, final String cursor, int size) {
+        if (!StringUtils.hasText(query)) {
+            throw new ValidationException("Search query must not be blank.");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new ValidationException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters.");
+        }
+        final Pageable pageable = PageRequest.of(0, size);
+        final RecipeSearchCursor after = StringUtils.hasText(cursor) ? RecipeSearchCursor.decode(cursor) : null;
+        // one extra hit tells whether there is a next page
+        final List<RecipeSearchCursor> hits = recipeSearchRepository.search(SecurityUtils.getCurrentUserId(), query.strip(), after, size + 1);
+        final boolean hasNext = hits.size() > size;
+        final List<RecipeSearchCursor> pageHits = hasNext ? hits.subList(0, size) : hits;
+        List<RecipeResponse> recipes = recipeReadRepository.findAllByIdIn(pageHits.stream().map(RecipeSearchCursor::getId).collect(Collectors.toList()));
+        Slice<RecipeResponse> sliceResult = new SliceImpl<>(recipes, pageable, hasNext);
+        return PageResponse.ofCursor(sliceResult, Function.identity(), hasNext ? pageHits.get(size - 1).encode() : null);
+    }
+
+    /**
+     * Completes {@code prefix} from the names of the user's recipes and ingredients, for the add-recipe dialog.
+     * Served from {@link RecipeSuggestionIndex}, so no transaction is started and no connection is taken once the
+     * user's terms are loaded.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public RecipeSuggestions suggest(final String prefix, int limit) {
+        if (!StringUtils.hasText(prefix)) {
+            throw new ValidationException("Prefix must not be blank.");
+        }
+        if (prefix.length() > MAX_SUGGESTION_PREFIX_LENGTH) {
+            throw new ValidationException("Prefix must be at most " + MAX_SUGGESTION_PREFIX_LENGTH + " characters.");
+        }
+        if (limit < 1 || limit > MAX_SUGGESTIONS) {
+            throw new ValidationException("Limit must be between 1 and " + MAX_SUGGESTIONS + ".");
+        }
+        return recipeSuggestionIndex.suggest(SecurityUtils.getCurrentUserId(), prefix, limit);
+    }
+
+    /**
+     * Export of all the current user's recipes, with no page or count query. The user is resolved now, on the request
+     * thread; the returned body runs later on the MVC async executor and streams the recipes from a cursor in a
+     * read-only transaction of its own, see {@link RecipeExporter}.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public StreamingResponseBody exportRecipes(@NonNull final RecipeExportFormat format) {
+        final long userId = SecurityUtils.getCurrentUserId();
+        return out -> recipeExporter.export(userId, format, out);
+    }
+
+    private static List<Long> ids(final Slice<RecipeCursor> positions) {
+        return positions.stream().map(RecipeCursor::getId).collect(Collectors.toList());
+    }
+
+    private static String nextCursor(final Slice<RecipeCursor> positions) {
+        List<RecipeCursor> content = positions.getContent();
+        return content.isEmpty() ? null : content.get(content.size() - 1).encode();
     }
 
     public RecipeResponse createRecipe(@NonNull final RecipeRequest createRequest) {
         return Optional.of(createRequest)
                 .map(recipeRequest -> {
-                    Recipe recipeEntity = RECIPE_MAPPER_INSTANCE.toEntity(recipeRequest, userRepository);
+                    Recipe recipeEntity = RECIPE_MAPPER_INSTANCE.toEntity(recipeRequest, userRepository, ingredientDictionary);
                     recipeEntity = this.recipeRepository.save(recipeEntity);
+                    eventPublisher.publishEvent(new RecipeChangedEvent(null, facetsOf(recipeEntity)));
                     return RECIPE_MAPPER_INSTANCE.toResponse(recipeEntity);
                 })
                 .orElseThrow(() -> new APIException("Unable to create recipe."));
     }
 
+    /**
+     * Creates the recipes in one transaction. The ingredient names of the whole batch are resolved in one dictionary
+     * call, ids come from the pooled sequences, and the {@code recipe} and {@code recipe_ingredient} rows are flushed
+     * at commit as ordered JDBC batches, so the statement count follows the JDBC batch size rather than the number
+     * of recipes.
+     *
+     * @return the created recipes, in request order.
+     */
+    public List<RecipeResponse> createRecipes(@NonNull final List<RecipeRequest> createRequests) {
+        if (createRequests.isEmpty()) {
+            throw new ValidationException("At least one recipe is required.");
+        }
+        if (createRequests.size() > RecipeBatchRequest.MAX_RECIPES) {
+            throw new ValidationException("At most " + RecipeBatchRequest.MAX_RECIPES + " recipes can be created at once.");
+        }
+        // creates the new names of the batch together, each recipe then resolves its names from the cache
+        ingredientDictionary.resolve(createRequests.stream()
+                .map(RecipeRequest::getIngredients)
+                .filter(Objects::nonNull)
+                .flatMap(Set::stream)
+                .collect(Collectors.toSet()));
+        final List<Recipe> recipes = createRequests.stream()
+                .map(recipeRequest -> RECIPE_MAPPER_INSTANCE.toEntity(recipeRequest, userRepository, ingredientDictionary))
+                .collect(Collectors.toList());
+        recipeRepository.saveAll(recipes);
+        recipes.forEach(recipe -> eventPublisher.publishEvent(new RecipeChangedEvent(null, facetsOf(recipe))));
+        return recipes.stream().map(RECIPE_MAPPER_INSTANCE::toResponse).collect(Collectors.toList());
+    }
+
+    /**
+     * Version of the current user's recipe, read from the recipe row alone. Empty when the user has no such recipe,
+     * in which case {@link #findByGuid(String)} tells a missing recipe from someone else's.
+     */
+    @Transactional(readOnly = true)
+    public Optional<Integer> findVersion(@NonNull final String guid) {
+        return recipeRepository.findVersionByGuidAndUserId(guid, SecurityUtils.getCurrentUserId());
+    }
+
+    /**
+     * Fingerprint of the current user's recipes, which changes with any write to them. Every list of the user is
+     * derived from those recipes, so an unchanged fingerprint means an unchanged page for the same parameters.
+     */
+    @Transactional(readOnly = true)
+    public String listFingerprint() {
+        final Long userId = SecurityUtils.getCurrentUserId();
+        return recipeRepository.findListVersionByUserId(userId).fingerprint(userId);
+    }
+
+    @Transactional(readOnly = true)
     public RecipeResponse findByGuid(@NonNull final String guid) {
-        return recipeRepository.findOneByGuid(guid)
-                .filter(this::hasPermission)
+        return findOwnedRecipe(guid)
                 .map(RECIPE_MAPPER_INSTANCE::toResponse)
-                .orElseThrow(() -> new ResourceNotFoundException(ENTITY_NAME, "GUID", guid));
+                .orElseThrow(() -> notFoundOrDenied(guid));
     }
 
+    /**
+     * Loads the recipe, merges the request and writes the changes. The recipe is managed, so it is flushed rather
+     * than saved: a merge would load every newly added ingredient by id. Flushing here also makes the version of the
+     * response the one the update commits.
+     */
     public RecipeResponse updateRecipe(@NonNull final RecipeRequest updateRequest) {
-        return recipeRepository.findOneByGuid(updateRequest.getGuid())
-                .filter(this::hasPermission)
+        return findOwnedRecipe(updateRequest.getGuid())
                 .map(recipe -> {
-                    RECIPE_MAPPER_INSTANCE.updateEntity(updateRequest, recipe);
-                    this.recipeRepository.save(recipe);
+                    final RecipeFacets before = facetsOf(recipe);
+                    RECIPE_MAPPER_INSTANCE.updateEntity(updateRequest, recipe, ingredientDictionary);
+                    this.recipeRepository.flush();
+                    eventPublisher.publishEvent(new RecipeChangedEvent(before, facetsOf(recipe)));
                     return RECIPE_MAPPER_INSTANCE.toResponse(recipe);
                 })
-                .orElseThrow(() -> new ResourceNotFoundException(ENTITY_NAME, "GUID", updateRequest.getGuid()));
+                .orElseThrow(() -> notFoundOrDenied(updateRequest.getGuid()));
     }
 
+    /**
+     * Updates the recipe only if it is still at {@code expectedVersion}, without loading it: its facets are read over
+     * JDBC, the scalar fields go out as a single versioned {@code UPDATE}, then {@code recipe_ingredient} rows are
+     * deleted and inserted for the ingredients that were removed or added, if any.
+     *
+     * @throws PreconditionFailedException - if the user's recipe is at another version.
+     */
+    public RecipeResponse updateRecipe(@NonNull final RecipeRequest updateRequest, final int expectedVersion) {
+        final String guid = updateRequest.getGuid();
+        final Long userId = SecurityUtils.getCurrentUserId();
+        // read before the update, in the same transaction: the update only succeeds if the recipe is still at
+        // expectedVersion, and every write bumps the version, so these are the facets the update replaces
+        final RecipeFacets before = recipeReadRepository.findFacetsByGuid(guid, userId)
+                .orElseThrow(() -> notFoundOrDenied(guid));
+        final int updated = recipeRepository.updateIfVersion(guid, userId, expectedVersion, updateRequest.getName(), updateRequest.isVegetarian(),
+                updateRequest.getSuitableFor(), updateRequest.getCookingInstruction());
+        if (updated == 0) {
+            final Optional<Integer> version = recipeRepository.findVersionByGuidAndUserId(guid, userId);
+            if (version.isPresent()) {
+                throw new PreconditionFailedException("Recipe '" + guid + "' is at version " + version.get() + ", not " + expectedVersion + ".");
+            }
+            throw notFoundOrDenied(guid);
+        }
+        final Set<Ingredient> ingredients = ingredientDictionary.resolve(updateRequest.getIngredients());
+        final Set<Integer> ingredientIds = ingredients.stream().map(Ingredient::getId).collect(Collectors.toSet());
+        final Set<Integer> removed = new HashSet<>(before.getIngredientIds());
+        removed.removeAll(ingredientIds);
+        final Set<Integer> added = new HashSet<>(ingredientIds);
+        added.removeAll(before.getIngredientIds());
+        if (!removed.isEmpty()) {
+            recipeRepository.deleteIngredients(before.getRecipeId(), removed);
+        }
+        if (!added.isEmpty()) {
+            recipeRepository.insertIngredients(before.getRecipeId(), added);
+        }
+        eventPublisher.publishEvent(new RecipeChangedEvent(before, new RecipeFacets(before.getRecipeId(), expectedVersion + 1, userId, updateRequest.getName(),
+                updateRequest.isVegetarian(), updateRequest.getSuitableFor(), ingredientIds,
+                ingredients.stream().map(Ingredient::getDisplayName).collect(Collectors.toSet()))));
+        return recipeReadRepository.findAllByIdIn(List.of(before.getRecipeId())).get(0);
+    }
+
+    /**
+     * Soft deletes the recipe in two statements: a JDBC read of its facets, which the in-memory indexes need, then one
+     * owner-scoped {@code UPDATE}. No entity or collection is loaded. Folding the read into the update would take
+     * Postgres-only SQL, an {@code UPDATE ... RETURNING} in a CTE joined to the ingredients, that H2 cannot run.
+     */
     public void deleteRecipe(@NonNull final String recipeId) {
-        recipeRepository.findOneByGuid(recipeId)
-                .filter(this::hasPermission)
-                .ifPresentOrElse(recipe -> recipeRepository.deleteById(recipe.getId()), () -> {
-                    throw new ResourceNotFoundException(ENTITY_NAME, "GUID", recipeId);
-                });
+        final Long userId = SecurityUtils.getCurrentUserId();
+        final RecipeFacets facets = recipeReadRepository.findFacetsByGuid(recipeId, userId)
+                .orElseThrow(() -> notFoundOrDenied(recipeId));
+        if (recipeRepository.softDeleteByIdIn(List.of(facets.getRecipeId()), userId) == 0) {
+            // deleted by a concurrent request since the facets were read
+            throw new ResourceNotFoundException(ENTITY_NAME, "GUID", recipeId);
+        }
+        eventPublisher.publishEvent(new RecipeChangedEvent(facets, null));
+    }
+
+    /**
+     * Soft deletes the user's recipes among {@code guids} in one {@code UPDATE}, whatever their number. Ids that are
+     * not the user's live recipes are reported rather than failing the request; telling someone else's recipe from a
+     * missing one costs one more statement, only when there are such ids.
+     *
+     * @return one result per distinct id, in request order.
+     */
+    public List<RecipeDeleteResult> deleteRecipes(@NonNull final Collection<String> guids) {
+        if (guids.isEmpty()) {
+            throw new ValidationException("At least one recipe id is required.");
+        }
+        final Set<String> distinct = new LinkedHashSet<>(guids);
+        if (distinct.size() > MAX_BULK_DELETE) {
+            throw new ValidationException("At most " + MAX_BULK_DELETE + " recipes can be deleted at once.");
+        }
+        final Long userId = SecurityUtils.getCurrentUserId();
+        final Map<String, RecipeFacets> owned = recipeReadRepository.findFacetsByGuidIn(distinct, userId);
+        if (!owned.isEmpty()) {
+            recipeRepository.softDeleteByIdIn(owned.values().stream().map(RecipeFacets::getRecipeId).collect(Collectors.toList()), userId);
+            // a recipe deleted concurrently is reported as deleted too, the index listeners are idempotent
+            owned.values().forEach(facets -> eventPublisher.publishEvent(new RecipeChangedEvent(facets, null)));
+        }
+        final Set<String> missing = new HashSet<>(distinct);
+        missing.removeAll(owned.keySet());
+        final Set<String> othersRecipes = missing.isEmpty() ? Collections.emptySet() : recipeRepository.findGuidsByGuidIn(missing);
+        return distinct.stream()
+                .map(guid -> new RecipeDeleteResult(guid, owned.containsKey(guid) ? RecipeDeleteResult.Status.DELETED
+                        : othersRecipes.contains(guid) ? RecipeDeleteResult.Status.FORBIDDEN : RecipeDeleteResult.Status.NOT_FOUND))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Recipes are only written by their owner, so the owner is the current user and the lazy user is not touched.
+     */
+    private static RecipeFacets facetsOf(final Recipe recipe) {
+        final Set<Ingredient> ingredients = Optional.ofNullable(recipe.getRecipeIngredient())
+                .map(RecipeIngredient::getIngredients)
+                .orElse(Collections.emptySet());
+        return new RecipeFacets(recipe.getId(), recipe.getVersion(), SecurityUtils.getCurrentUserId(), recipe.getName(), Boolean.TRUE.equals(recipe.getVegetarian()),
+                Optional.ofNullable(recipe.getSuitableFor()).orElse(0),
+                ingredients.stream().map(Ingredient::getId).collect(Collectors.toSet()),
+                ingredients.stream().map(Ingredient::getDisplayName).collect(Collectors.toSet()));
+    }
+
+    private Optional<Recipe> findOwnedRecipe(final String guid) {
+        return recipeRepository.findOneByGuidAndUserId(guid, SecurityUtils.getCurrentUserId());
     }
 
-    boolean hasPermission(@NonNull final Recipe recipe) {
-        String currentLoginUser = SecurityUtils.getCurrentUserLogin();
-        User recipeUser = recipe.getUser();
-        if(!StringUtils.hasText(currentLoginUser) || !recipeUser.getGuid().equals(currentLoginUser)) {
-            throw new AccessDeniedException("You don't have permission to edit/delete this record.");
+    /**
+     * Only runs when the owner-scoped lookup found nothing, to tell a missing recipe from someone else's.
+     */
+    private RuntimeException notFoundOrDenied(final String guid) {
+        if (recipeRepository.existsByGuid(guid)) {
+            return new AccessDeniedException("You don't have permission to edit/delete this record.");
         }
-        return true;
+        return new ResourceNotFoundException(ENTITY_NAME, "GUID", guid);
     }
 }
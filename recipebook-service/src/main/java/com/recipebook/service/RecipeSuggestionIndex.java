@@ -0,0 +1,261 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.values.RecipeChangedEvent;
+import com.recipebook.domain.values.RecipeFacets;
+import com.recipebook.domain.values.RecipeSuggestions;
+import com.recipebook.repository.RecipeReadRepository;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Prefix completion over the recipe names and ingredient names of each user.
+ * <p>
+ * The terms of a user are loaded from the database on their first lookup and then kept in two skip lists sorted
+ * by their normalized form, so a lookup is a seek and a short scan, without any statement; it only holds the lock of
+ * the access order to move the user to its end. A
+ * {@link RecipeChangedEvent} of that user, committed here or on another node, see {@link RecipeChangeBroadcaster},
+ * removes the old terms of the recipe and inserts the new ones in place. Each user keeps the version it applied per
+ * recipe and drops older events, so an event that races with the initial load, or a change of another node that
+ * arrives after a newer one, is harmless. The users are kept in access order, a
+ * lookup or a change counting as an access: the least recently used user makes room when
+ * {@code api.recipe.suggestions.maxusers} are loaded, and the users idle for {@code api.recipe.suggestions.idleinms}
+ * are dropped from the old end.
+ *
+ * @author - AvanishKishorPandey
+ */
+
+@Component
+public class RecipeSuggestionIndex implements MeterBinder {
+    private static final String METRIC_NAME = "recipebook.recipe.suggestions";
+
+    /** Access ordered, guarded by itself. */
+    private final LinkedHashMap<Long, UserTerms> users;
+    /** Ingredient names come from one dictionary, so all users share one copy of each name. */
+    private final Map<String, String> sharedIngredientNames = new ConcurrentHashMap<>();
+    private final LongAdder loads = new LongAdder();
+    private final RecipeReadRepository recipeReadRepository;
+    private final long idleInMs;
+    private final int maxSharedIngredientNames;
+
+    public RecipeSuggestionIndex(final RecipeReadRepository recipeReadRepository,
+                                 @Value("${api.recipe.suggestions.maxusers:10000}") final int maxUsers,
+                                 @Value("${api.recipe.suggestions.idleinms:900000}") final long idleInMs,
+                                 @Value("${api.recipe.ingredientdictionary.maxentries:100000}") final int maxSharedIngredientNames) {
+        this.recipeReadRepository = recipeReadRepository;
+        this.idleInMs = idleInMs;
+        this.maxSharedIngredientNames = maxSharedIngredientNames;
+        this.users = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Long, UserTerms> eldest) {
+                return size() > maxUsers;
+            }
+        };
+    }
+
+    /**
+     * @param prefix - matched case-insensitively, with whitespace normalized like ingredient names.
+     */
+    public RecipeSuggestions suggest(final long userId, @NonNull final String prefix, final int limit) {
+        final String key = IngredientDictionary.normalize(prefix);
+        final UserTerms terms = termsOf(userId);
+        return new RecipeSuggestions(terms.recipeNames.complete(key, limit), terms.ingredientNames.complete(key, limit));
+    }
+
+    private UserTerms termsOf(final long userId) {
+        final UserTerms terms;
+        synchronized (users) {
+            terms = users.computeIfAbsent(userId, ignored -> new UserTerms());
+            terms.lastAccessInMs = System.currentTimeMillis();
+        }
+        terms.loadIfNeeded(userId);
+        return terms;
+    }
+
+    /**
+     * Only users that are loaded are updated, the others read the committed state when they are loaded.
+     */
+    @TransactionalEventListener
+    public void onRecipeChanged(@NonNull final RecipeChangedEvent event) {
+        final RecipeFacets facets = Optional.ofNullable(event.getAfter()).orElse(event.getBefore());
+        final UserTerms terms;
+        synchronized (users) {
+            terms = users.get(facets.getUserId());
+            if (terms != null) {
+                terms.lastAccessInMs = System.currentTimeMillis();
+            }
+        }
+        if (terms != null) {
+            terms.apply(event);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${api.recipe.suggestions.evictionintervalinms:60000}")
+    public void evictIdle() {
+        final long idleSince = System.currentTimeMillis() - idleInMs;
+        synchronized (users) {
+            final Iterator<UserTerms> leastRecentlyUsed = users.values().iterator();
+            while (leastRecentlyUsed.hasNext() && leastRecentlyUsed.next().lastAccessInMs <= idleSince) {
+                leastRecentlyUsed.remove();
+            }
+        }
+    }
+
+    public int size() {
+        synchronized (users) {
+            return users.size();
+        }
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        Gauge.builder(METRIC_NAME + ".users", this, RecipeSuggestionIndex::size)
+                .description("Number of users whose suggestion terms are loaded")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".loads", loads, LongAdder::sum)
+                .description("Suggestion terms loaded from the database")
+                .register(registry);
+    }
+
+    /**
+     * The terms of each recipe of one user, its name followed by its ingredient names, and the sorted terms derived
+     * from them. Writers hold the monitor, lookups only read the sorted terms.
+     */
+    private final class UserTerms {
+        private final Map<Long, String[]> recipes = new HashMap<>();
+        /** Version applied per recipe, deleted ones included. */
+        private final Map<Long, Integer> versions = new HashMap<>();
+        private final SortedTerms recipeNames = new SortedTerms();
+        private final SortedTerms ingredientNames = new SortedTerms();
+        private boolean loaded;
+        /** Written under the lock of {@link #users}. */
+        private long lastAccessInMs;
+
+        private synchronized void loadIfNeeded(final long userId) {
+            if (!loaded) {
+                recipeReadRepository.forEachFacets(userId, facets -> {
+                    if (advance(facets.getRecipeId(), facets.getVersion())) {
+                        put(facets.getRecipeId(), termsOf(facets));
+                    }
+                });
+                loaded = true;
+                loads.increment();
+            }
+        }
+
+        private synchronized void apply(final RecipeChangedEvent event) {
+            if (!advance(event.getRecipeId(), event.getVersion())) {
+                return;
+            }
+            if (event.getAfter() != null) {
+                put(event.getAfter().getRecipeId(), termsOf(event.getAfter()));
+            } else {
+                remove(event.getBefore().getRecipeId());
+            }
+        }
+
+        /**
+         * @return whether {@code version} is newer than the applied one, which it then replaces.
+         */
+        private boolean advance(final long recipeId, final int version) {
+            final Integer applied = versions.get(recipeId);
+            if (applied != null && applied >= version) {
+                return false;
+            }
+            versions.put(recipeId, version);
+            return true;
+        }
+
+        private void put(final long recipeId, final String[] terms) {
+            remove(recipeId);
+            recipes.put(recipeId, terms);
+            recipeNames.add(terms[0]);
+            for (int i = 1; i < terms.length; i++) {
+                ingredientNames.add(terms[i]);
+            }
+        }
+
+        private void remove(final long recipeId) {
+            final String[] terms = recipes.remove(recipeId);
+            if (terms != null) {
+                recipeNames.remove(terms[0]);
+                for (int i = 1; i < terms.length; i++) {
+                    ingredientNames.remove(terms[i]);
+                }
+            }
+        }
+    }
+
+    private String[] termsOf(final RecipeFacets facets) {
+        final String[] terms = new String[1 + facets.getIngredientNames().size()];
+        terms[0] = facets.getName();
+        int i = 1;
+        for (String ingredientName : facets.getIngredientNames()) {
+            terms[i++] = share(ingredientName);
+        }
+        return terms;
+    }
+
+    private String share(final String ingredientName) {
+        final String shared = sharedIngredientNames.get(ingredientName);
+        if (shared != null) {
+            return shared;
+        }
+        if (sharedIngredientNames.size() < maxSharedIngredientNames) {
+            sharedIngredientNames.putIfAbsent(ingredientName, ingredientName);
+        }
+        return ingredientName;
+    }
+
+    /**
+     * Distinct terms sorted by their normalized form, which is what prefixes are matched against, then by the term.
+     * Each term is counted by the recipes it occurs in and leaves the list with the last of them. Readers need no lock.
+     */
+    private static final class SortedTerms {
+        /** Normalized form, a NUL separator, then the term; the separator sorts below any character of a term. */
+        private final ConcurrentNavigableMap<String, String> terms = new ConcurrentSkipListMap<>();
+        /** Guarded by the monitor of the owning {@link UserTerms}. */
+        private final Map<String, Integer> occurrences = new HashMap<>();
+
+        private void add(final String term) {
+            if (occurrences.merge(term, 1, Integer::sum) == 1) {
+                terms.put(sortKey(term), term);
+            }
+        }
+
+        private void remove(final String term) {
+            if (occurrences.computeIfPresent(term, (ignored, count) -> count == 1 ? null : count - 1) == null) {
+                terms.remove(sortKey(term));
+            }
+        }
+
+        private List<String> complete(final String prefix, final int limit) {
+            final List<String> completions = new ArrayList<>(Math.min(limit, 16));
+            for (Map.Entry<String, String> entry : terms.tailMap(prefix).entrySet()) {
+                if (completions.size() >= limit || !entry.getKey().startsWith(prefix)) {
+                    break;
+                }
+                completions.add(entry.getValue());
+            }
+            return completions;
+        }
+
+        private static String sortKey(final String term) {
+            return IngredientDictionary.normalize(term) + '\0' + term;
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.recipebook.service;
 
 import com.recipebook.domain.entities.User;
+import com.recipebook.domain.entities.UserCredential;
 import com.recipebook.domain.exceptions.ResourceAlreadyExistsException;
 import com.recipebook.domain.values.SignupRequest;
 import com.recipebook.domain.values.UserPrincipal;
 import com.recipebook.domain.values.UserResponse;
+import com.recipebook.repository.UserCredentialRepository;
 import com.recipebook.repository.UserRepository;
 import com.recipebook.service.mappers.UserMapper;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -16,7 +20,7 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import java.util.Locale;
 
 /**
  * @author - AvanishKishorPandey
@@ -27,15 +31,19 @@ import java.util.Optional;
 @Slf4j
 public class RecipeUserDetailsService implements UserDetailsService {
     private final UserRepository userRepository;
+    private final UserCredentialRepository userCredentialRepository;
     private final PasswordEncoder passwordEncoder;
 
-    public RecipeUserDetailsService(final UserRepository userRepository, final PasswordEncoder passwordEncoder) {
+    public RecipeUserDetailsService(final UserRepository userRepository, final UserCredentialRepository userCredentialRepository,
+                                    final PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
+        this.userCredentialRepository = userCredentialRepository;
         this.passwordEncoder = passwordEncoder;
     }
 
     /**
-     * Locates the user based on the email.
+     * Locates the user based on the email. The password hash is read by a query of its own, it is not part of the
+     * cached user.
      * @param email - The email identifying the user whose data is required.
      * @return - a fully populated user record.
      * @throws UsernameNotFoundException - if the user could not be found or the user has noGrantedAuthority.
@@ -44,20 +52,45 @@ public class RecipeUserDetailsService implements UserDetailsService {
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(final String email) throws UsernameNotFoundException {
         return this.userRepository.findByEmailAddressIgnoreCase(email)
-                .map(user -> new UserPrincipal(user.getId(), user.getGuid(), user.getFirstName(), user.getLastName(), user.getPasswordHash()))
+                .map(user -> new UserPrincipal(user.getId(), user.getGuid(), user.getFirstName(), user.getLastName(),
+                        userCredentialRepository.findPasswordHashByUserId(user.getId()).orElse(null)))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found by email : " + email));
     }
 
+    /**
+     * Inserts the user straight away and relies on the unique email index to detect an existing account,
+     * so concurrent signups with the same email cannot both succeed. Any other integrity violation is rethrown.
+     * @param signupRequest - The details of the user to register.
+     * @return - the registered user.
+     * @throws ResourceAlreadyExistsException - if a user is already registered with the email, in any letter case.
+     */
     public UserResponse registerUser(@NonNull final SignupRequest signupRequest) {
         log.debug("Registering new user with details :: {}", signupRequest);
-        return Optional.of(signupRequest)
-                .filter(request -> !this.userRepository.existsByEmailAddressIgnoreCase(request.getEmail()))
-                .map(request -> {
-                    User newUser = UserMapper.INSTANCE.toEntity(request, passwordEncoder);
-                    newUser = this.userRepository.save(newUser);
-                    log.debug("New user created successfully with Id :: {}", newUser.getId());
-                    return UserMapper.INSTANCE.toResponse(newUser);
-                })
-                .orElseThrow(() -> new ResourceAlreadyExistsException(String.format("User already exists by email '%s'.", signupRequest.getEmail())));
+        final String passwordHash = passwordEncoder.encode(signupRequest.getPassword());
+        User newUser = UserMapper.INSTANCE.toEntity(signupRequest);
+        try {
+            newUser = this.userRepository.saveAndFlush(newUser);
+        } catch (DataIntegrityViolationException e) {
+            if (!violates(e, User.EMAIL_ADDRESS_INDEX_NAME)) {
+                throw e;
+            }
+            log.debug("Unable to register user, email is already in use.", e);
+            throw new ResourceAlreadyExistsException(String.format("User already exists by email '%s'.", signupRequest.getEmail()));
+        }
+        userCredentialRepository.save(new UserCredential(newUser, passwordHash));
+        log.debug("New user created successfully with Id :: {}", newUser.getId());
+        return UserMapper.INSTANCE.toResponse(newUser);
+    }
+
+    /**
+     * PostgreSQL reports the bare constraint name, H2 the rest of the violation message starting with the qualified
+     * index name, so the name is looked up within it.
+     */
+    private static boolean violates(final DataIntegrityViolationException e, final String constraintName) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) {
+            return false;
+        }
+        final String violated = ((ConstraintViolationException) e.getCause()).getConstraintName();
+        return violated != null && violated.toLowerCase(Locale.ROOT).contains(constraintName);
     }
 }
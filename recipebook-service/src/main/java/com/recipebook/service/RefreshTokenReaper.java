@@ -0,0 +1,94 @@
+package com.recipebook.service;
+
+import com.recipebook.repository.UserTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * Background job that deletes expired refresh tokens from {@code users_token}.
+ * <p>
+ * Rows are removed oldest first in chunks of {@code api.auth.refreshtoken.purge.batchsize}, each chunk in its own
+ * short transaction, with a pause between chunks so a large backlog does not hold locks or saturate the database.
+ * A run stops after {@code maxbatchesperrun} chunks and the remainder is picked up by the next run.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Component
+@Slf4j
+public class RefreshTokenReaper {
+    private static final String METRIC_NAME = "recipebook.auth.refreshtoken.purge";
+
+    private final UserTokenRepository tokenRepository;
+    private final RefreshTokenStore tokenStore;
+    private final Counter purgedRows;
+    private final Timer purgeTimer;
+
+    @Value("${api.auth.refreshtoken.purge.batchsize:1000}")
+    private int batchSize = 1000;
+
+    @Value("${api.auth.refreshtoken.purge.maxbatchesperrun:100}")
+    private int maxBatchesPerRun = 100;
+
+    @Value("${api.auth.refreshtoken.purge.pauseinms:50}")
+    private long pauseInMs = 50;
+
+    public RefreshTokenReaper(final UserTokenRepository tokenRepository, final RefreshTokenStore tokenStore, final MeterRegistry meterRegistry) {
+        this.tokenRepository = tokenRepository;
+        this.tokenStore = tokenStore;
+        this.purgedRows = Counter.builder(METRIC_NAME + ".rows")
+                .description("Expired refresh tokens deleted from users_token")
+                .register(meterRegistry);
+        this.purgeTimer = Timer.builder(METRIC_NAME + ".duration")
+                .description("Time spent per refresh token purge run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${api.auth.refreshtoken.purge.intervalinms:300000}",
+            initialDelayString = "${api.auth.refreshtoken.purge.intervalinms:300000}")
+    public void purgeExpiredTokens() {
+        final Instant cutoff = Instant.now();
+        tokenStore.evictExpired(cutoff);
+        final long purged = purgeTimer.record(() -> purgeExpiredTokens(cutoff));
+        if (purged > 0) {
+            log.info("Purged {} expired refresh tokens.", purged);
+        }
+    }
+
+    /**
+     * @return number of rows deleted by this run
+     */
+    long purgeExpiredTokens(@NonNull final Instant cutoff) {
+        long purged = 0;
+        for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+            final int deleted = tokenRepository.deleteExpiredBatch(cutoff, batchSize);
+            purged += deleted;
+            purgedRows.increment(deleted);
+            if (deleted < batchSize || !pause()) {
+                return purged;
+            }
+        }
+        log.debug("Refresh token purge stopped after {} batches, the remaining rows are left for the next run.", maxBatchesPerRun);
+        return purged;
+    }
+
+    private boolean pause() {
+        if (pauseInMs <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseInMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
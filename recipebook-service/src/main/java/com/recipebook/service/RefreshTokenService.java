@@ -1,61 +1,59 @@
 package com.recipebook.service;
 
-import com.recipebook.domain.entities.UserToken;
 import com.recipebook.domain.exceptions.ResourceNotFoundException;
 import com.recipebook.domain.exceptions.TokenRefreshException;
+import com.recipebook.domain.values.RefreshTokenEntry;
 import com.recipebook.domain.values.TokenRefreshRequest;
 import com.recipebook.domain.values.UserPrincipal;
 import com.recipebook.repository.UserRepository;
-import com.recipebook.repository.UserTokenRepository;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Instant;
 import java.util.UUID;
 
 @Service
-@Transactional
 @Slf4j
 public class RefreshTokenService {
-	private final UserTokenRepository tokenRepository;
+	private final RefreshTokenStore tokenStore;
 	private final UserRepository userRepository;
 
 	@Value("${api.auth.jwt.refreshtokendurationinsec}")
 	private Long refreshTokenDurationSec = 3600L;
 
-	public RefreshTokenService(final UserTokenRepository tokenRepository, final UserRepository userRepository) {
-		this.tokenRepository = tokenRepository;
+	public RefreshTokenService(final RefreshTokenStore tokenStore, final UserRepository userRepository) {
+		this.tokenStore = tokenStore;
 		this.userRepository = userRepository;
 	}
 
 	public String createRefreshToken(@NonNull final Long userId) {
 		return userRepository.findById(userId)
-				.map(user -> {
-					UserToken refreshToken = new UserToken();
-					refreshToken.setUser(user);
-					refreshToken.setExpiryDate(Instant.now().plusSeconds(refreshTokenDurationSec));
-					refreshToken.setToken(UUID.randomUUID().toString());
-					refreshToken = tokenRepository.save(refreshToken);
-					return refreshToken.getToken();
-				})
+				.map(user -> createRefreshToken(new UserPrincipal(user.getId(), user.getGuid(), user.getFirstName(), user.getLastName(), null)))
 				.orElseThrow(() -> new ResourceNotFoundException("User", "ID", userId));
 	}
-	
+
+	/**
+	 * Issues a refresh token for an already authenticated user, without loading the user again.
+	 */
+	public String createRefreshToken(@NonNull final UserPrincipal userPrincipal) {
+		RefreshTokenEntry refreshToken = new RefreshTokenEntry(UUID.randomUUID().toString(), userPrincipal.getId(), userPrincipal.getUsername(),
+				userPrincipal.getFirstName(), userPrincipal.getLastName(), Instant.now().plusSeconds(refreshTokenDurationSec));
+		return tokenStore.save(refreshToken).getToken();
+	}
+
 	public UserPrincipal refreshToken(@NonNull final TokenRefreshRequest token) {
 		final String requestRefreshToken = token.getRefreshToken();
-		return tokenRepository.findByToken(requestRefreshToken)
+		return tokenStore.find(requestRefreshToken)
 					.map(this::verifyExpiration)
-					.map(UserToken::getUser)
-					.map(user -> new UserPrincipal(user.getId(), user.getGuid(), user.getFirstName(), user.getLastName(), null))
+					.map(entry -> new UserPrincipal(entry.getUserId(), entry.getUserGuid(), entry.getFirstName(), entry.getLastName(), null))
 					.orElseThrow(() -> new TokenRefreshException(requestRefreshToken, "Refresh token is not valid!"));
 	}
 
-	UserToken verifyExpiration(final UserToken token) {
-		if (token.getExpiryDate().compareTo(Instant.now()) < 0) {
-			tokenRepository.delete(token);
+	RefreshTokenEntry verifyExpiration(final RefreshTokenEntry token) {
+		if (token.isExpired(Instant.now())) {
+			tokenStore.remove(token.getToken());
 			throw new TokenRefreshException(token.getToken(), "Refresh token was expired. Please make a new signin request");
 		}
 		return token;
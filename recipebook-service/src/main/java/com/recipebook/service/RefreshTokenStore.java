@@ -0,0 +1,26 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.values.RefreshTokenEntry;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Storage for issued refresh tokens. The implementation is selected with {@code api.auth.refreshtoken.store}
+ * ({@code memory} by default, {@code jpa} to read and write {@code users_token} on every call).
+ *
+ * @author - AvanishKishorPandey
+ */
+public interface RefreshTokenStore {
+    RefreshTokenEntry save(RefreshTokenEntry entry);
+
+    Optional<RefreshTokenEntry> find(String token);
+
+    void remove(String token);
+
+    /**
+     * Drops tokens that expired before {@code now} from any state the store keeps besides {@code users_token}.
+     */
+    default void evictExpired(Instant now) {
+    }
+}
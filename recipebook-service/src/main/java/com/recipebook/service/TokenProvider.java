@@ -1,5 +1,6 @@
 package com.recipebook.service;
 
+import com.recipebook.domain.values.TokenClaims;
 import com.recipebook.domain.values.UserPrincipal;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.io.Decoders;
@@ -14,7 +15,7 @@ import org.springframework.stereotype.Component;
 import javax.annotation.PostConstruct;
 import java.security.Key;
 import java.time.Instant;
-import java.util.Date;
+import java.util.Optional;
 
 /**
  * @author - AvanishKishorPandey
@@ -22,44 +23,49 @@ import java.util.Date;
 @Component
 @Slf4j
 public class TokenProvider {
-    private static final String ID_KEY = "ID";
-
     @Value("${api.auth.jwt.secret}")
     private String secret;
 
     @Value("${api.auth.jwt.tokenvalidityinseconds: 120}")
     private long tokenValidityInSeconds;
 
-    private Key secretKey;
+    private JwtCodec jwtCodec;
 
     @PostConstruct
     public void init() {
         final byte[] keyBytes = Decoders.BASE64.decode(secret);
-        this.secretKey = Keys.hmacShaKeyFor(keyBytes);
+        final Key secretKey = Keys.hmacShaKeyFor(keyBytes);
+        SignatureAlgorithm.HS512.assertValidSigningKey(secretKey);
+        this.jwtCodec = new JwtCodec(secretKey);
     }
 
     public String createToken(@NonNull final UserPrincipal userPrincipal) {
-        return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
-                .claim(ID_KEY, String.valueOf(userPrincipal.getId()))
-                .signWith(secretKey, SignatureAlgorithm.HS512)
-                .setExpiration(Date.from(Instant.now().plusSeconds(this.tokenValidityInSeconds)))
-                .setIssuedAt(Date.from(Instant.now()))
-                .compact();
+        final Instant issuedAt = Instant.now();
+        return jwtCodec.encode(userPrincipal.getUsername(), userPrincipal.getId(), issuedAt, issuedAt.plusSeconds(this.tokenValidityInSeconds));
     }
 
     public Authentication getAuthentication(final String authToken) {
-        Claims claims = Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(authToken).getBody();
-        return new UsernamePasswordAuthenticationToken(new UserPrincipal(Long.valueOf(claims.get(ID_KEY).toString()),
+        return getAuthentication(jwtCodec.decode(authToken, Instant.now()), authToken);
+    }
+
+    public Authentication getAuthentication(@NonNull final TokenClaims claims, final String authToken) {
+        return new UsernamePasswordAuthenticationToken(new UserPrincipal(claims.getUserId(),
                 claims.getSubject(), "", "",  null)
                 , authToken, null);
     }
 
     public boolean validateToken(final String authToken) {
-        boolean isValidToken = false;
+        return parseClaims(authToken).isPresent();
+    }
+
+    /**
+     * Verifies the token signature and expiry in a single pass.
+     * @param authToken - compact JWT as received in the Authorization header.
+     * @return - the verified claims, or empty if the token is not valid.
+     */
+    public Optional<TokenClaims> parseClaims(final String authToken) {
         try {
-            Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(authToken);
-            isValidToken = true;
+            return Optional.of(jwtCodec.decode(authToken, Instant.now()));
         } catch (io.jsonwebtoken.security.SecurityException signatureException) {
             log.info("Invalid JWT signature.");
             log.trace("Invalid JWT signature trace.", signatureException);
@@ -76,6 +82,6 @@ public class TokenProvider {
             log.info("Invalid JWT token.");
             log.trace("Invalid JWT token trace.", malformedJwtException);
         }
-        return isValidToken;
+        return Optional.empty();
     }
 }
@@ -0,0 +1,116 @@
+package com.recipebook.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded cache of access tokens whose signature has already been verified.
+ * Entries are keyed by a SHA-256 digest of the token and are dropped once the token's {@code exp} passes,
+ * so a cached entry never outlives the token it was created from.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Slf4j
+public class VerifiedTokenCache implements MeterBinder {
+    private static final String METRIC_NAME = "recipebook.auth.token.cache";
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(VerifiedTokenCache::newDigest);
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final int maxEntries;
+
+    public VerifiedTokenCache(final int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    public Optional<Authentication> get(@NonNull final String authToken) {
+        final String key = digest(authToken);
+        final Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt.isAfter(Instant.now())) {
+            hits.increment();
+            return Optional.of(entry.authentication);
+        }
+        if (entry != null) {
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        return Optional.empty();
+    }
+
+    public void put(@NonNull final String authToken, @NonNull final Authentication authentication, @NonNull final Instant expiresAt) {
+        if (entries.size() >= maxEntries) {
+            evictExpired();
+            if (entries.size() >= maxEntries) {
+                log.debug("Verified token cache is full with {} entries, token will not be cached.", entries.size());
+                return;
+            }
+        }
+        entries.put(digest(authToken), new Entry(authentication, expiresAt));
+    }
+
+    @Scheduled(fixedDelayString = "${api.auth.jwt.verifiedtokencache.evictionintervalinms:60000}")
+    public void evictExpired() {
+        final Instant now = Instant.now();
+        entries.values().removeIf(entry -> !entry.expiresAt.isAfter(now));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(@NonNull final MeterRegistry registry) {
+        FunctionCounter.builder(METRIC_NAME + ".requests", hits, LongAdder::sum)
+                .tag("result", "hit")
+                .description("Access token lookups answered without signature verification")
+                .register(registry);
+        FunctionCounter.builder(METRIC_NAME + ".requests", misses, LongAdder::sum)
+                .tag("result", "miss")
+                .description("Access token lookups that required signature verification")
+                .register(registry);
+        Gauge.builder(METRIC_NAME + ".size", entries, Map::size)
+                .description("Number of verified access tokens currently cached")
+                .register(registry);
+    }
+
+    private static String digest(final String authToken) {
+        final MessageDigest messageDigest = SHA_256.get();
+        messageDigest.reset();
+        return Base64.getEncoder().encodeToString(messageDigest.digest(authToken.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not supported by this JVM", e);
+        }
+    }
+
+    private static final class Entry {
+        private final Authentication authentication;
+        private final Instant expiresAt;
+
+        private Entry(final Authentication authentication, final Instant expiresAt) {
+            this.authentication = authentication;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
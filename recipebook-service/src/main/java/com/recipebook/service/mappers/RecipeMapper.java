@@ -7,13 +7,13 @@ import com.recipebook.domain.exceptions.ResourceNotFoundException;
 import com.recipebook.domain.values.RecipeRequest;
 import com.recipebook.domain.values.RecipeResponse;
 import com.recipebook.repository.UserRepository;
+import com.recipebook.service.IngredientDictionary;
 import com.recipebook.util.SecurityUtils;
 import lombok.NonNull;
 import org.mapstruct.*;
 import org.mapstruct.factory.Mappers;
 import org.springframework.util.CollectionUtils;
 
-import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -33,11 +33,11 @@ public interface RecipeMapper {
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "createdOn", ignore = true)
     @Mapping(target = "recipeIngredient", source = "ingredients", qualifiedByName = "listToRecipeIngredient")
-    Recipe toEntity(RecipeRequest recipeRequest, @Context UserRepository userRepository);
+    Recipe toEntity(RecipeRequest recipeRequest, @Context UserRepository userRepository, @Context IngredientDictionary ingredientDictionary);
 
     @Mapping(target = "uuid", source = "guid")
     @Mapping(target = "isVegetarian", source = "vegetarian")
-    @Mapping(target = "createdAt", source = "createdOn", dateFormat = "dd‐MM‐yyyy HH:mm")
+    @Mapping(target = "createdAt", source = "createdOn", dateFormat = RecipeResponse.CREATED_AT_FORMAT)
     @Mapping(target = "ingredients", source = "recipeIngredient", qualifiedByName = "recipeIngredientToList")
     RecipeResponse toResponse(final Recipe recipe);
 
@@ -46,30 +46,59 @@ public interface RecipeMapper {
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "createdOn", ignore = true)
-    @Mapping(target = "recipeIngredient", source = "ingredients", qualifiedByName = "listToRecipeIngredient")
-    void updateEntity(final RecipeRequest recipeRequest, @MappingTarget Recipe recipeEntity);
+    @Mapping(target = "recipeIngredient", ignore = true)
+    void updateScalars(final RecipeRequest recipeRequest, @MappingTarget Recipe recipeEntity);
+
+    default void updateEntity(final RecipeRequest recipeRequest, final Recipe recipeEntity, final IngredientDictionary ingredientDictionary) {
+        updateScalars(recipeRequest, recipeEntity);
+        mergeIngredients(recipeRequest.getIngredients(), recipeEntity, ingredientDictionary);
+    }
+
+    /**
+     * Changes the loaded ingredient set in place rather than replacing it, so Hibernate writes one
+     * {@code recipe_ingredient} row per added or removed ingredient instead of recreating the whole collection.
+     * Ingredients are equal by normalized name.
+     */
+    default void mergeIngredients(final Set<String> ingredients, final Recipe recipeEntity, final IngredientDictionary ingredientDictionary) {
+        if (ingredients == null) {
+            return;
+        }
+        final Set<Ingredient> requested = ingredientDictionary.resolve(ingredients);
+        final RecipeIngredient recipeIngredient = recipeEntity.getRecipeIngredient();
+        if (recipeIngredient == null || recipeIngredient.getIngredients() == null) {
+            recipeEntity.setRecipeIngredient(new RecipeIngredient(requested));
+            return;
+        }
+        recipeIngredient.getIngredients().retainAll(requested);
+        recipeIngredient.getIngredients().addAll(requested);
+    }
 
+    /**
+     * Attaches the current user as a reference built from the id in the access token, without loading the user.
+     */
     @AfterMapping
     default void mapUser(@MappingTarget Recipe recipeEntity, @Context UserRepository userRepository) {
-        Optional.ofNullable(SecurityUtils.getCurrentUserLogin())
-                .flatMap(userRepository::findOneByGuid)
+        Optional.ofNullable(SecurityUtils.getCurrentUserId())
+                .map(userRepository::getById)
                 .ifPresentOrElse(recipeEntity::setUser, () -> {
                     throw new ResourceNotFoundException("User not found in context");
                 });
     }
 
+    /**
+     * Replaces the names by their dictionary entries, so only ingredient ids are written for the recipe.
+     */
     @Named("listToRecipeIngredient")
-    default RecipeIngredient mapSetToRecipeIngredient(@NonNull final Set<String> ingredients) {
+    default RecipeIngredient mapSetToRecipeIngredient(@NonNull final Set<String> ingredients, @Context IngredientDictionary ingredientDictionary) {
         RecipeIngredient recipeIngredient = null;
         if(!CollectionUtils.isEmpty(ingredients)) {
-            List<Ingredient> ingredientList = ingredients.stream().map(Ingredient::new).collect(Collectors.toList());
-            recipeIngredient = new RecipeIngredient(ingredientList);
+            recipeIngredient = new RecipeIngredient(ingredientDictionary.resolve(ingredients));
         }
         return recipeIngredient;
     }
 
     @Named("recipeIngredientToList")
     default Set<String> mapRecipeIngredientToSet(@NonNull final RecipeIngredient recipeIngredient) {
-        return recipeIngredient.getIngredients().stream().map(Ingredient::getName).collect(Collectors.toSet());
+        return recipeIngredient.getIngredients().stream().map(Ingredient::getDisplayName).collect(Collectors.toSet());
     }
 }
@@ -5,7 +5,6 @@ import com.recipebook.domain.values.SignupRequest;
 import com.recipebook.domain.values.UserResponse;
 import org.mapstruct.*;
 import org.mapstruct.factory.Mappers;
-import org.springframework.security.crypto.password.PasswordEncoder;
 
 /**
  * @author - AvanishKishorPandey
@@ -17,19 +16,13 @@ public interface UserMapper {
 
     @Mapping(target = "version", ignore = true)
     @Mapping(target = "recipes", ignore = true)
-    @Mapping(target = "passwordHash", ignore = true)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "guid", ignore = true)
     @Mapping(target = "deleted", ignore = true)
     @Mapping(target = "createdOn", ignore = true)
-    @Mapping(target = "emailAddress", source = "email")
-    User toEntity(SignupRequest signupRequest, @Context PasswordEncoder passwordEncoder);
+    @Mapping(target = "emailAddress", expression = "java(signupRequest.getEmail() != null ? signupRequest.getEmail().toLowerCase(java.util.Locale.ROOT) : null)")
+    User toEntity(SignupRequest signupRequest);
 
     @Mapping(target = "id", source = "guid")
     UserResponse toResponse(final User user);
-
-    @AfterMapping
-    default void mapPassword(@MappingTarget User userEntity, SignupRequest signupRequest, @Context PasswordEncoder passwordEncoder) {
-        userEntity.setPasswordHash(passwordEncoder.encode(signupRequest.getPassword()));
-    }
 }
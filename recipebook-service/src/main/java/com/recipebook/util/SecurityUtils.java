@@ -1,5 +1,7 @@
 package com.recipebook.util;
 
+import com.recipebook.domain.values.UserPrincipal;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -19,4 +21,16 @@ public final class SecurityUtils {
         SecurityContext securityContext = SecurityContextHolder.getContext();
         return ((UserDetails)securityContext.getAuthentication().getPrincipal()).getUsername();
     }
+
+    /**
+     * Get the database id of the current user, as carried by the access token.
+     * @return the id of the current user, or {@code null} if the principal does not carry one
+     */
+    public static Long getCurrentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof UserPrincipal)) {
+            return null;
+        }
+        return ((UserPrincipal) authentication.getPrincipal()).getId();
+    }
 }
@@ -1,5 +1,6 @@
 package com.recipebook.web;
 
+import com.recipebook.domain.exceptions.TooManyRequestsException;
 import com.recipebook.domain.values.APIError;
 import com.recipebook.domain.values.APIValidationError;
 import lombok.extern.slf4j.Slf4j;
@@ -25,6 +26,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+import org.springframework.web.multipart.MaxUploadSizeExceededException;
 import org.springframework.web.servlet.NoHandlerFoundException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
@@ -109,12 +111,31 @@ public class APIExceptionHandler extends ResponseEntityExceptionHandler {
 
 	@ExceptionHandler({AuthenticationException.class})
 	protected ResponseEntity<Object> handleAuthenticationException(AuthenticationException ex, WebRequest request) {
+		if (ex.getCause() instanceof TooManyRequestsException) {
+			return handleTooManyRequests((TooManyRequestsException) ex.getCause());
+		}
 		APIError apiError = new APIError(HttpStatus.FORBIDDEN);
 		apiError.setMessage(ex.getMessage());
 		apiError.setDebugMessage(ex.getMessage());
 		return buildResponseEntity(apiError);
 	}
 
+	@ExceptionHandler(TooManyRequestsException.class)
+	protected ResponseEntity<Object> handleTooManyRequests(TooManyRequestsException ex) {
+		APIError apiError = new APIError(HttpStatus.TOO_MANY_REQUESTS, ex);
+		apiError.setMessage(ex.getMessage());
+		HttpHeaders headers = new HttpHeaders();
+		headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()));
+		return new ResponseEntity<>(apiError, headers, apiError.getStatus());
+	}
+
+	@ExceptionHandler(MaxUploadSizeExceededException.class)
+	protected ResponseEntity<Object> handleMaxUploadSizeExceeded(MaxUploadSizeExceededException ex) {
+		APIError apiError = new APIError(HttpStatus.PAYLOAD_TOO_LARGE, ex);
+		apiError.setMessage("The upload is larger than the limit of " + ex.getMaxUploadSize() + " bytes.");
+		return buildResponseEntity(apiError);
+	}
+
 	@ExceptionHandler(Exception.class)
 	protected ResponseEntity<Object> handleException(Exception ex) {
 		log.error("An error occurred while performing operation", ex);
@@ -1,6 +1,7 @@
 package com.recipebook.web.filter;
 
 import com.recipebook.service.TokenProvider;
+import com.recipebook.service.VerifiedTokenCache;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpHeaders;
 import org.springframework.security.core.Authentication;
@@ -13,6 +14,7 @@ import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import java.io.IOException;
+import java.util.Optional;
 
 /**
  * @author - AvanishKishorPandey
@@ -21,9 +23,11 @@ import java.io.IOException;
 public class TokenAuthenticationFilter extends OncePerRequestFilter {
     private static final String AUTHENTICATION_SCHEME_BEARER = "Bearer ";
     private final TokenProvider tokenProvider;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public TokenAuthenticationFilter(final TokenProvider tokenProvider) {
+    public TokenAuthenticationFilter(final TokenProvider tokenProvider, final VerifiedTokenCache verifiedTokenCache) {
         this.tokenProvider = tokenProvider;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     /**
@@ -42,9 +46,8 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
         try {
             String jwt = resolveToken(request);
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                Authentication authentication = tokenProvider.getAuthentication(jwt);
-                SecurityContextHolder.getContext().setAuthentication(authentication);
+            if (StringUtils.hasText(jwt)) {
+                resolveAuthentication(jwt).ifPresent(authentication -> SecurityContextHolder.getContext().setAuthentication(authentication));
             }
         } catch (Exception ex) {
             log.error("Could not set user authentication in security context", ex);
@@ -53,6 +56,24 @@ public class TokenAuthenticationFilter extends OncePerRequestFilter {
         filterChain.doFilter(request, response);
     }
 
+    /**
+     * Resolve the authentication from the verified token cache, falling back to a single
+     * signature verification pass whose result is cached until the token expires.
+     * @param jwt - Bearer token
+     * @return - authentication for a valid token, empty otherwise
+     */
+    private Optional<Authentication> resolveAuthentication(final String jwt) {
+        Optional<Authentication> cachedAuthentication = verifiedTokenCache.get(jwt);
+        if (cachedAuthentication.isPresent()) {
+            return cachedAuthentication;
+        }
+        return tokenProvider.parseClaims(jwt).map(claims -> {
+            Authentication authentication = tokenProvider.getAuthentication(claims, jwt);
+            verifiedTokenCache.put(jwt, authentication, claims.getExpiresAt());
+            return authentication;
+        });
+    }
+
     /**
      * Get Bearer token from request header.
      * @param httpServletRequest - Defines an object to provide client request information to a servlet.
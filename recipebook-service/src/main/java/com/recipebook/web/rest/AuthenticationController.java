@@ -1,6 +1,7 @@
 package com.recipebook.web.rest;
 
 import com.recipebook.domain.values.*;
+import com.recipebook.service.LoginRateLimiter;
 import com.recipebook.service.RecipeUserDetailsService;
 import com.recipebook.service.RefreshTokenService;
 import com.recipebook.service.TokenProvider;
@@ -21,6 +22,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 
 /**
@@ -44,20 +46,25 @@ public class AuthenticationController {
     @Autowired
     private RecipeUserDetailsService userDetailsService;
 
+    @Autowired
+    private LoginRateLimiter loginRateLimiter;
+
     @ApiOperation(value = "The signin API is used to authenticate a user in application. The issuer of the One Time Password will dictate if a JWT or a Refresh Token may be issued in the API response.")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The authentication was successful. The response will contain the User object that was authenticated along with accessToken & refreshToken.", response = AuthResponse.class),
             @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
             @ApiResponse(code = 400, message = "The request was invalid and/or malformed. The response will contain an Errors JSON Object with the specific errors.", response = APIValidationError.class),
-            @ApiResponse(code = 404, message = "The user was not found or the password was incorrect. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
+            @ApiResponse(code = 404, message = "The user was not found or the password was incorrect. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 429, message = "Too many signin attempts for the user or from the client. The Retry-After header tells when to try again.", response = APIError.class)
     })
     @PostMapping(value = "/signin", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<AuthResponse> authenticate(@Valid @RequestBody final AuthRequest loginRequest) {
+    public ResponseEntity<AuthResponse> authenticate(@Valid @RequestBody final AuthRequest loginRequest, final HttpServletRequest request) {
         log.debug("Request POST/login' calling authenticate() with payload {}", loginRequest);
+        loginRateLimiter.acquire(loginRequest.getUsername(), request.getRemoteAddr());
         Authentication authentication = authenticationManager.authenticate(new UsernamePasswordAuthenticationToken(loginRequest.getUsername(), loginRequest.getPassword()));
         UserPrincipal userPrincipal = (UserPrincipal) authentication.getPrincipal();
         final String accessToken = tokenProvider.createToken(userPrincipal);
-        final String refreshToken = refreshTokenService.createRefreshToken(userPrincipal.getId());
+        final String refreshToken = refreshTokenService.createRefreshToken(userPrincipal);
         return ResponseEntity.ok(AuthResponse.builder()
                         .withAccessToken(accessToken)
                         .withRefreshToken(refreshToken)
@@ -1,18 +1,28 @@
 package com.recipebook.web.rest;
 
+import com.recipebook.domain.exceptions.PreconditionFailedException;
 import com.recipebook.domain.values.*;
+import com.recipebook.service.RecipeExportFormat;
 import com.recipebook.service.RecipeService;
 import io.swagger.annotations.*;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 /**
  * @author - AvanishKishorPandey
@@ -23,24 +33,122 @@ import java.net.URISyntaxException;
 @Api(tags = "Recipes", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
 @Slf4j
 public class RecipeController {
+    /** Lets the client keep a copy but revalidate it with {@code If-None-Match} on every use. */
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private RecipeService recipeService;
 
     @ApiOperation(value = "The API is used to get all the recipes for user.")
     @ApiImplicitParams({
             @ApiImplicitParam(paramType = "query", name = "page", dataType = "Integer", value = "Current page number", defaultValue = "0"),
-            @ApiImplicitParam(paramType = "query", name = "size", dataType = "Integer", value = "Number of records per page", defaultValue = "10")
+            @ApiImplicitParam(paramType = "query", name = "size", dataType = "Integer", value = "Number of records per page", defaultValue = "10"),
+            @ApiImplicitParam(paramType = "query", name = "cursor", dataType = "String", value = "Continuation token from the nextCursor of the previous page. When present, even empty, page is ignored and the totals are not computed. Only supported for the default sort without filters."),
+            @ApiImplicitParam(paramType = "query", name = "sort", dataType = "String", value = "createdOn, name or suitableFor, optionally followed by ,asc or ,desc. Name is sorted case insensitively", defaultValue = "createdOn,asc"),
+            @ApiImplicitParam(paramType = "query", name = "vegetarian", dataType = "Boolean", value = "Only vegetarian, or only non vegetarian recipes"),
+            @ApiImplicitParam(paramType = "query", name = "minServes", dataType = "Integer", value = "Minimum number of persons the recipe is suitable for, only when sorting by suitableFor")
     })
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The response for this API contains all of the user recipes with page details.", response = PageResponse.class),
+            @ApiResponse(code = 304, message = "None of the user recipes changed since the ETag sent in If-None-Match."),
+            @ApiResponse(code = 400, message = "The cursor was not issued by this API, or the sort and filters are not supported together. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
             @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
             @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
     })
     @GetMapping
-    public ResponseEntity<PageResponse<RecipeResponse>> getAllRecipe(@RequestParam(defaultValue = "0", required = false) int page, @RequestParam(defaultValue = "10", required = false) int size) {
-        log.debug("REST request to GET_ALL recipe with page : {} & size : {}", page, size);
-        PageResponse<RecipeResponse> responseData = recipeService.findAll(page, size);
-        return ResponseEntity.ok().body(responseData);
+    public ResponseEntity<PageResponse<RecipeResponse>> getAllRecipe(@RequestParam(defaultValue = "0", required = false) int page, @RequestParam(defaultValue = "10", required = false) int size,
+                                                                     @RequestParam(required = false) String cursor, @RequestParam(required = false) String sort,
+                                                                     @RequestParam(required = false) Boolean vegetarian, @RequestParam(required = false) Integer minServes,
+                                                                     WebRequest webRequest) {
+        log.debug("REST request to GET_ALL recipe with page : {}, size : {}, cursor : {}, sort : {}, vegetarian : {} & minServes : {}", page, size, cursor, sort, vegetarian, minServes);
+        // taken before the page, so a write in between can only cause one extra full response, never a stale 304
+        String fingerprint = recipeService.listFingerprint();
+        if (webRequest.checkNotModified(fingerprint)) {
+            return null;
+        }
+        RecipeListCriteria criteria = RecipeListCriteria.builder().sort(sort).vegetarian(vegetarian).minServes(minServes).build();
+        PageResponse<RecipeResponse> responseData = cursor != null ? recipeService.findAllAfter(cursor, criteria, size) : recipeService.findAll(criteria, page, size);
+        return ResponseEntity.ok().eTag(fingerprint).cacheControl(REVALIDATE).body(responseData);
+    }
+
+    @ApiOperation(value = "The API is used to search the recipes of the user by name and cooking instruction, best match first.")
+    @ApiImplicitParams({
+            @ApiImplicitParam(paramType = "query", name = "q", dataType = "String", required = true, value = "Words to search for. Quoted phrases, or and -word are supported on Postgres"),
+            @ApiImplicitParam(paramType = "query", name = "cursor", dataType = "String", value = "Continuation token from the nextCursor of the previous page"),
+            @ApiImplicitParam(paramType = "query", name = "size", dataType = "Integer", value = "Number of records per page", defaultValue = "10")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The response for this API contains the matching recipes and the cursor of the next page. Totals are not computed.", response = PageResponse.class),
+            @ApiResponse(code = 400, message = "The query is blank or too long, or the cursor was not issued by this API. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
+    })
+    @GetMapping("/search")
+    public ResponseEntity<PageResponse<RecipeResponse>> searchRecipe(@RequestParam String q, @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(defaultValue = "10", required = false) int size) {
+        log.debug("REST request to SEARCH recipe with q : {}, size : {} & cursor : {}", q, size, cursor);
+        return ResponseEntity.ok().body(recipeService.search(q, cursor, size));
+    }
+
+    @ApiOperation(value = "The API is used to complete recipe and ingredient names of the user while typing.")
+    @ApiImplicitParams({
+            @ApiImplicitParam(paramType = "query", name = "prefix", dataType = "String", required = true, value = "Start of the name, case insensitive"),
+            @ApiImplicitParam(paramType = "query", name = "limit", dataType = "Integer", value = "Maximum number of recipe names and of ingredient names", defaultValue = "10")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The response for this API contains the matching recipe names and ingredient names.", response = RecipeSuggestions.class),
+            @ApiResponse(code = 400, message = "The prefix is blank or too long, or the limit is out of range. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
+    })
+    @GetMapping("/suggest")
+    public ResponseEntity<RecipeSuggestions> suggestRecipe(@RequestParam String prefix, @RequestParam(defaultValue = "10", required = false) int limit) {
+        log.debug("REST request to SUGGEST recipe with prefix : {} & limit : {}", prefix, limit);
+        return ResponseEntity.ok().body(recipeService.suggest(prefix, limit));
+    }
+
+    @ApiOperation(value = "The API is used to filter the recipes of the user by ingredients, vegetarian and number of persons.")
+    @ApiImplicitParams({
+            @ApiImplicitParam(paramType = "query", name = "include", dataType = "String", allowMultiple = true, value = "Ingredients the recipe must all contain"),
+            @ApiImplicitParam(paramType = "query", name = "exclude", dataType = "String", allowMultiple = true, value = "Ingredients the recipe must not contain"),
+            @ApiImplicitParam(paramType = "query", name = "vegetarian", dataType = "Boolean", value = "Only vegetarian, or only non vegetarian recipes"),
+            @ApiImplicitParam(paramType = "query", name = "minServes", dataType = "Integer", value = "Minimum number of persons the recipe is suitable for"),
+            @ApiImplicitParam(paramType = "query", name = "page", dataType = "Integer", value = "Current page number", defaultValue = "0"),
+            @ApiImplicitParam(paramType = "query", name = "size", dataType = "Integer", value = "Number of records per page", defaultValue = "10")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The response for this API contains the matching recipes with page details.", response = PageResponse.class),
+            @ApiResponse(code = 400, message = "The criteria are invalid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
+    })
+    @GetMapping("/filter")
+    public ResponseEntity<PageResponse<RecipeResponse>> filterRecipe(@RequestParam(required = false) Set<String> include, @RequestParam(required = false) Set<String> exclude,
+                                                                     @RequestParam(required = false) Boolean vegetarian, @RequestParam(required = false) Integer minServes,
+                                                                     @RequestParam(defaultValue = "0", required = false) int page, @RequestParam(defaultValue = "10", required = false) int size) {
+        log.debug("REST request to FILTER recipe with include : {}, exclude : {}, vegetarian : {}, minServes : {}", include, exclude, vegetarian, minServes);
+        RecipeFilter filter = RecipeFilter.builder().include(include).exclude(exclude).vegetarian(vegetarian).minServes(minServes).build();
+        return ResponseEntity.ok().body(recipeService.filter(filter, page, size));
+    }
+
+    @ApiOperation(value = "The API is used to export all recipes of the user in one response, as NDJSON or CSV.")
+    @ApiImplicitParams({
+            @ApiImplicitParam(paramType = "query", name = "format", dataType = "String", defaultValue = "ndjson", value = "ndjson or csv")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The response will stream every recipe of the user, oldest first, as an attachment."),
+            @ApiResponse(code = 400, message = "The format is not supported. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
+    })
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportRecipes(@RequestParam(defaultValue = "ndjson", required = false) String format) {
+        log.debug("REST request to EXPORT recipes as : {}", format);
+        final RecipeExportFormat exportFormat = RecipeExportFormat.of(format);
+        return ResponseEntity.ok()
+                .contentType(exportFormat.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename("recipes." + exportFormat.getExtension()).build().toString())
+                .body(recipeService.exportRecipes(exportFormat));
     }
 
     @ApiOperation(value = "The API is used to create recipe.")
@@ -59,19 +167,39 @@ public class RecipeController {
                 .body(responseData);
     }
 
+    @ApiOperation(value = "The API is used to create many recipes at once, at most 100.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 201, message = "The response will contain the Recipe objects that were created, in request order.", response = RecipeResponse.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "The request was invalid and/or malformed, or held no or more than 100 recipes. The response will contain an Errors JSON Object with the specific errors.", response = APIValidationError.class),
+            @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
+    })
+    @PostMapping(path = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<RecipeResponse>> createRecipes(@RequestBody @Valid RecipeBatchRequest batchRequest) {
+        log.debug("REST request to CREATE {} recipes", batchRequest.getRecipes().size());
+        return ResponseEntity.status(HttpStatus.CREATED).body(recipeService.createRecipes(batchRequest.getRecipes()));
+    }
+
     @ApiOperation(value = "The API is used to get existing recipe.")
     @ApiResponses(value = {
             @ApiResponse(code = 200, message = "The response will contain the Recipe object that was updated.", response = RecipeResponse.class),
+            @ApiResponse(code = 304, message = "The recipe did not change since the ETag sent in If-None-Match."),
             @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
             @ApiResponse(code = 403, message = "The user is authorized to perform update action on this record.", response = APIError.class),
             @ApiResponse(code = 404, message = "The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
             @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
     })
     @GetMapping("/{recipeUUID}")
-    public ResponseEntity<RecipeResponse> getRecipe(@PathVariable String recipeUUID) {
+    public ResponseEntity<RecipeResponse> getRecipe(@PathVariable String recipeUUID, WebRequest webRequest) {
         log.debug("REST request to GET recipe by GUID {}", recipeUUID);
+        if (webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null) {
+            Optional<Integer> version = recipeService.findVersion(recipeUUID);
+            if (version.isPresent() && webRequest.checkNotModified(eTag(recipeUUID, version.get()))) {
+                return null;
+            }
+        }
         RecipeResponse responseData = recipeService.findByGuid(recipeUUID);
-        return ResponseEntity.ok().body(responseData);
+        return ResponseEntity.ok().eTag(eTag(responseData.getUuid(), responseData.getVersion())).cacheControl(REVALIDATE).body(responseData);
     }
 
     @ApiOperation(value = "The API is used to update existing recipe.")
@@ -81,14 +209,18 @@ public class RecipeController {
             @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
             @ApiResponse(code = 403, message = "The user is authorized to perform update action on this record.", response = APIError.class),
             @ApiResponse(code = 404, message = "The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 412, message = "The recipe is no longer at the version sent in If-Match. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
             @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
     })
     @PutMapping(value = "/{recipeUUID}", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
-    public ResponseEntity<RecipeResponse> updateRecipe(@PathVariable String recipeUUID, @RequestBody @Valid RecipeRequest recipeRequest) {
-        log.debug("REST request to UPDATE recipe by GUID {} with payload : {}", recipeUUID, recipeRequest);
+    public ResponseEntity<RecipeResponse> updateRecipe(@PathVariable String recipeUUID, @RequestBody @Valid RecipeRequest recipeRequest,
+                                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        log.debug("REST request to UPDATE recipe by GUID {} with payload : {} & If-Match : {}", recipeUUID, recipeRequest, ifMatch);
         recipeRequest.setGuid(recipeUUID);
-        RecipeResponse responseData = recipeService.updateRecipe(recipeRequest);
-        return ResponseEntity.ok().body(responseData);
+        RecipeResponse responseData = ifMatch == null || ifMatch.strip().equals("*")
+                ? recipeService.updateRecipe(recipeRequest)
+                : recipeService.updateRecipe(recipeRequest, ifMatchVersion(recipeUUID, ifMatch));
+        return ResponseEntity.ok().eTag(eTag(responseData.getUuid(), responseData.getVersion())).body(responseData);
     }
 
     @ApiOperation(value = "The API is used to delete existing recipe.")
@@ -106,4 +238,47 @@ public class RecipeController {
         this.recipeService.deleteRecipe(recipeUUID);
         return ResponseEntity.status(HttpStatus.NO_CONTENT).build();
     }
+
+    @ApiOperation(value = "The API is used to delete many existing recipes at once.")
+    @ApiImplicitParams({
+            @ApiImplicitParam(paramType = "query", name = "ids", dataType = "String", allowMultiple = true, required = true, value = "Ids of the recipes to delete, at most 100")
+    })
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The response will contain the outcome for every distinct id: DELETED, NOT_FOUND or FORBIDDEN.", response = RecipeDeleteResult.class, responseContainer = "List"),
+            @ApiResponse(code = 400, message = "No id, or more than 100 ids, were given. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
+    })
+    @DeleteMapping
+    public ResponseEntity<List<RecipeDeleteResult>> deleteRecipes(@RequestParam List<String> ids) {
+        log.debug("REST request to DELETE recipes with GUIDs : {}", ids);
+        return ResponseEntity.ok().body(recipeService.deleteRecipes(ids));
+    }
+
+    /**
+     * Strong entity tag of a recipe: the version changes with every committed update.
+     */
+    private static String eTag(final String guid, final int version) {
+        return guid + "-" + version;
+    }
+
+    /**
+     * Reads the version from {@code If-Match}, either the strong ETag of the recipe or the bare version.
+     *
+     * @throws PreconditionFailedException - if the header can not match any version of the recipe.
+     */
+    private static int ifMatchVersion(final String guid, final String ifMatch) {
+        String tag = ifMatch.strip();
+        if (tag.length() > 1 && tag.startsWith("\"") && tag.endsWith("\"")) {
+            tag = tag.substring(1, tag.length() - 1);
+        }
+        if (tag.startsWith(guid + "-")) {
+            tag = tag.substring(guid.length() + 1);
+        }
+        try {
+            return Integer.parseInt(tag);
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match '" + ifMatch + "' does not match recipe '" + guid + "'.");
+        }
+    }
 }
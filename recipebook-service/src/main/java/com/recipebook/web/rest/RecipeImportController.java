@@ -0,0 +1,113 @@
+package com.recipebook.web.rest;
+
+import com.recipebook.domain.values.APIError;
+import com.recipebook.domain.values.RecipeImportJobResponse;
+import com.recipebook.service.RecipeImportService;
+import io.swagger.annotations.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+
+@RestController
+@RequestMapping(value = "/recipes/import")
+@Api(tags = "Recipe imports", produces = MediaType.APPLICATION_JSON_VALUE)
+@Slf4j
+public class RecipeImportController {
+    static final String NDJSON_VALUE = "application/x-ndjson";
+
+    @Autowired
+    private RecipeImportService recipeImportService;
+
+    @ApiOperation(value = "The API is used to import recipes from an NDJSON dump, one recipe request per line. The import runs in the background, poll the returned job for its progress.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "The response will contain the queued import job, its URL is in the Location header.", response = RecipeImportJobResponse.class),
+            @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 413, message = "The dump is larger than the configured import limit. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 429, message = "Too many imports are queued. The job was created failed, resume it after the Retry-After header.", response = APIError.class),
+            @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
+    })
+    @PostMapping(consumes = NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RecipeImportJobResponse> importRecipes(HttpServletRequest request) throws IOException {
+        log.debug("REST request to IMPORT recipes from the request body");
+        return accepted(recipeImportService.startImport(request.getInputStream()));
+    }
+
+    @ApiOperation(value = "The API is used to import recipes from an uploaded NDJSON dump, one recipe request per line. The import runs in the background, poll the returned job for its progress.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "The response will contain the queued import job, its URL is in the Location header.", response = RecipeImportJobResponse.class),
+            @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 413, message = "The dump is larger than the configured import limit. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 429, message = "Too many imports are queued. The job was created failed, resume it after the Retry-After header.", response = APIError.class),
+            @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
+    })
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RecipeImportJobResponse> importRecipes(@RequestPart("file") MultipartFile file) throws IOException {
+        log.debug("REST request to IMPORT recipes from file : {}", file.getOriginalFilename());
+        try (InputStream dump = file.getInputStream()) {
+            return accepted(recipeImportService.startImport(dump));
+        }
+    }
+
+    @ApiOperation(value = "The API is used to get the progress of an import job.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 200, message = "The response will contain the import job with its counts, throughput and first rejected records.", response = RecipeImportJobResponse.class),
+            @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 404, message = "The user has no such import job. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
+    })
+    @GetMapping(path = "/{jobUUID}", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RecipeImportJobResponse> getImport(@PathVariable String jobUUID) {
+        log.debug("REST request to GET import by GUID {}", jobUUID);
+        return ResponseEntity.ok(recipeImportService.findJob(jobUUID));
+    }
+
+    @ApiOperation(value = "The API is used to resume a failed import job with the same NDJSON dump. The records the job already committed are skipped.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "The response will contain the queued import job.", response = RecipeImportJobResponse.class),
+            @ApiResponse(code = 400, message = "The import job has not failed. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 413, message = "The dump is larger than the configured import limit. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 404, message = "The user has no such import job. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 429, message = "Too many imports are queued, resume it after the Retry-After header.", response = APIError.class),
+            @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
+    })
+    @PostMapping(path = "/{jobUUID}/resume", consumes = NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RecipeImportJobResponse> resumeImport(@PathVariable String jobUUID, HttpServletRequest request) throws IOException {
+        log.debug("REST request to RESUME import {} from the request body", jobUUID);
+        return accepted(recipeImportService.resumeImport(jobUUID, request.getInputStream()));
+    }
+
+    @ApiOperation(value = "The API is used to resume a failed import job with the same uploaded NDJSON dump. The records the job already committed are skipped.")
+    @ApiResponses(value = {
+            @ApiResponse(code = 202, message = "The response will contain the queued import job.", response = RecipeImportJobResponse.class),
+            @ApiResponse(code = 400, message = "The import job has not failed. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 401, message = "You did not supply a valid Authorization header. The header was omitted or your API key was not valid. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 413, message = "The dump is larger than the configured import limit. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 404, message = "The user has no such import job. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class),
+            @ApiResponse(code = 429, message = "Too many imports are queued, resume it after the Retry-After header.", response = APIError.class),
+            @ApiResponse(code = 500, message = "There was an internal error. The response will contain an Errors JSON Object with the specific errors.", response = APIError.class)
+    })
+    @PostMapping(path = "/{jobUUID}/resume", consumes = MediaType.MULTIPART_FORM_DATA_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<RecipeImportJobResponse> resumeImport(@PathVariable String jobUUID, @RequestPart("file") MultipartFile file) throws IOException {
+        log.debug("REST request to RESUME import {} from file : {}", jobUUID, file.getOriginalFilename());
+        try (InputStream dump = file.getInputStream()) {
+            return accepted(recipeImportService.resumeImport(jobUUID, dump));
+        }
+    }
+
+    private static ResponseEntity<RecipeImportJobResponse> accepted(final RecipeImportJobResponse job) {
+        return ResponseEntity.accepted().location(URI.create(String.format("/recipes/import/%s", job.getUuid()))).body(job);
+    }
+}
@@ -0,0 +1,4 @@
+-- H2 counterpart of the partial index of V3__USERS_EMAIL_LOWER_INDEX.sql, which Hibernate DDL cannot express. The
+-- computed column is null for soft deleted users, and a unique index admits any number of nulls.
+ALTER TABLE recipe_user ADD COLUMN email_address_live VARCHAR(255) AS CASE WHEN deleted THEN NULL ELSE LOWER(email_address) END;
+CREATE UNIQUE INDEX idx_users_emailaddress_lower ON recipe_user(email_address_live);
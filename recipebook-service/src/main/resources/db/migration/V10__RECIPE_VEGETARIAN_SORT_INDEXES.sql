@@ -0,0 +1,7 @@
+-- Per-user listing filtered on vegetarian, one per sort key. The flag sits between the user and the sort key, so an
+-- equality on it leaves the rows of either value in key order, and the index of the key alone keeps serving the
+-- unfiltered listing.
+CREATE INDEX IF NOT EXISTS idx_recipe_user_vegetarian_createdon_id ON recipe(user_fk, vegetarian, created_on, id) WHERE deleted = false;
+CREATE INDEX IF NOT EXISTS idx_recipe_user_vegetarian_lower_name_id ON recipe(user_fk, vegetarian, lower(name), id) WHERE deleted = false;
+-- Also serves the minimum servings filter as a range after the flag.
+CREATE INDEX IF NOT EXISTS idx_recipe_user_vegetarian_suitablefor_id ON recipe(user_fk, vegetarian, suitable_for, id) WHERE deleted = false;
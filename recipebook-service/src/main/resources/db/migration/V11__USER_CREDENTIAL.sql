@@ -0,0 +1,13 @@
+-- Users are in the second-level cache, which every node of the Hazelcast cluster holds, so their password hashes
+-- move to a table of their own that is never cached.
+CREATE TABLE user_credential (
+          user_id INT8 NOT NULL,
+          password_hash VARCHAR(255) NOT NULL,
+          PRIMARY KEY (user_id),
+          CONSTRAINT fk_user_credential_user FOREIGN KEY (user_id) REFERENCES recipe_user
+);
+
+INSERT INTO user_credential (user_id, password_hash)
+SELECT id, password_hash FROM recipe_user WHERE password_hash IS NOT NULL;
+
+ALTER TABLE recipe_user DROP COLUMN password_hash;
@@ -0,0 +1 @@
+CREATE INDEX IF NOT EXISTS idx_usertoken_expirydate ON users_token(expiry_date);
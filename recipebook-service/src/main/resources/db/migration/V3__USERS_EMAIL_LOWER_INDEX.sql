@@ -0,0 +1,11 @@
+DROP INDEX IF EXISTS idx_users_emailaddress;
+
+-- Accounts whose emails differ only in letter case cannot both stay live under the index below. The oldest account
+-- keeps the address, the later ones are soft deleted like any other removed user.
+UPDATE recipe_user u SET deleted = true, version = version + 1
+WHERE u.deleted = false
+  AND EXISTS (SELECT 1 FROM recipe_user o
+              WHERE o.deleted = false AND lower(o.email_address) = lower(u.email_address) AND o.id < u.id);
+
+-- Only live accounts reserve an email, so a soft deleted user does not block signing up again with the same address.
+CREATE UNIQUE INDEX IF NOT EXISTS idx_users_emailaddress_lower ON recipe_user(lower(email_address)) WHERE deleted = false;
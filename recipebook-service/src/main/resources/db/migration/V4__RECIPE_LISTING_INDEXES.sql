@@ -0,0 +1,4 @@
+-- Per-user listing: filters on user_fk and the soft-delete flag, orders by (created_on, id).
+CREATE INDEX IF NOT EXISTS idx_recipe_user_createdon_id ON recipe(user_fk, created_on, id) WHERE deleted = false;
+-- Ingredient fetch for a page of recipes.
+CREATE INDEX IF NOT EXISTS idx_recipe_ingredient_recipe_id ON recipe_ingredient(recipe_id);
@@ -0,0 +1,37 @@
+-- Ingredient names move to a dictionary table; recipe_ingredient keeps (recipe_id, ingredient_id) pairs.
+-- Names are normalized the same way as IngredientDictionary.normalize: trimmed, inner whitespace collapsed, lowercased.
+-- btrim only strips spaces, so every whitespace run is collapsed to one space before trimming.
+-- display_name keeps the case of the spelling the recipes used most, ties going to the first in sort order.
+CREATE SEQUENCE IF NOT EXISTS ingredient_sequence START 1 INCREMENT 1;
+
+CREATE TABLE ingredient (
+          id INT4 NOT NULL DEFAULT nextval('ingredient_sequence'),
+          NAME VARCHAR(255) NOT NULL,
+          display_name VARCHAR(255) NOT NULL,
+          PRIMARY KEY (id),
+          CONSTRAINT uk_ingredient_name UNIQUE (name)
+);
+
+INSERT INTO ingredient (name, display_name)
+SELECT DISTINCT ON (lower(spelling)) lower(spelling), spelling
+FROM (SELECT btrim(regexp_replace(name, '\s+', ' ', 'g')) AS spelling, count(*) AS uses FROM recipe_ingredient
+      WHERE btrim(regexp_replace(name, '\s+', ' ', 'g')) <> '' GROUP BY 1) spellings
+ORDER BY lower(spelling), uses DESC, spelling;
+
+ALTER TABLE recipe_ingredient ADD COLUMN ingredient_id INT4;
+
+UPDATE recipe_ingredient ri SET ingredient_id = i.id FROM ingredient i
+WHERE i.name = lower(btrim(regexp_replace(ri.name, '\s+', ' ', 'g')));
+
+-- Blank names, and names of one recipe that only differed by case or spacing.
+DELETE FROM recipe_ingredient WHERE ingredient_id IS NULL;
+DELETE FROM recipe_ingredient a USING recipe_ingredient b
+WHERE a.recipe_id = b.recipe_id AND a.ingredient_id = b.ingredient_id AND a.ctid > b.ctid;
+
+ALTER TABLE recipe_ingredient DROP COLUMN name;
+ALTER TABLE recipe_ingredient ALTER COLUMN ingredient_id SET NOT NULL;
+ALTER TABLE recipe_ingredient ADD PRIMARY KEY (recipe_id, ingredient_id);
+ALTER TABLE recipe_ingredient ADD CONSTRAINT fk_recipe_ingredient_ingredient FOREIGN KEY (ingredient_id) REFERENCES ingredient;
+
+-- The primary key leads with recipe_id and serves the ingredient fetch of a page.
+DROP INDEX IF EXISTS idx_recipe_ingredient_recipe_id;
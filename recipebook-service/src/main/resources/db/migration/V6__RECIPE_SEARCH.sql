@@ -0,0 +1,8 @@
+-- Full-text search for GET /recipes/search: the name weighs more than the instruction.
+-- Adding a stored generated column rewrites the table once, under an exclusive lock.
+ALTER TABLE recipe ADD COLUMN search_vector tsvector GENERATED ALWAYS AS (
+    setweight(to_tsvector('english', coalesce(name, '')), 'A') || setweight(to_tsvector('english', coalesce(instruction, '')), 'B')
+) STORED;
+-- btree_gin lets the GIN index lead with user_fk, so a search only visits the hits of one user.
+CREATE EXTENSION IF NOT EXISTS btree_gin;
+CREATE INDEX IF NOT EXISTS idx_recipe_user_search_vector ON recipe USING GIN (user_fk, search_vector) WHERE deleted = false;
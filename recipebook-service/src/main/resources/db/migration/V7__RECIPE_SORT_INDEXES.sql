@@ -0,0 +1,4 @@
+-- Per-user listing sorted by name, case-insensitively. Queries must order by lower(name), id to use it.
+CREATE INDEX IF NOT EXISTS idx_recipe_user_lower_name_id ON recipe(user_fk, lower(name), id) WHERE deleted = false;
+-- Per-user listing sorted by suitable_for, also serves the minimum servings filter as a range of the index.
+CREATE INDEX IF NOT EXISTS idx_recipe_user_suitablefor_id ON recipe(user_fk, suitable_for, id) WHERE deleted = false;
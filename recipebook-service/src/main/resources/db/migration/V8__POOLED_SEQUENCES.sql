@@ -0,0 +1,6 @@
+-- Hibernate takes ids in blocks of 50 with the pooled-lo optimizer (AbstractBaseEntity.ID_ALLOCATION_SIZE), one
+-- nextval per block instead of one per row. The value returned by nextval is the first id of the block, so the
+-- ids already handed out stay below it.
+ALTER SEQUENCE recipe_sequence INCREMENT BY 50;
+ALTER SEQUENCE user_sequence INCREMENT BY 50;
+ALTER SEQUENCE ingredient_sequence INCREMENT BY 50;
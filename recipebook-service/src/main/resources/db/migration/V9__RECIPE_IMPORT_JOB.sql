@@ -0,0 +1,35 @@
+-- Progress of the recipe import jobs, written in the same transaction as every chunk of imported recipes.
+CREATE SEQUENCE IF NOT EXISTS recipe_import_job_sequence START 1 INCREMENT 50;
+
+CREATE TABLE recipe_import_job (
+          id INT8 NOT NULL,
+          created_on TIMESTAMP NOT NULL,
+          deleted BOOLEAN NOT NULL,
+          guid    VARCHAR(36) NOT NULL,
+          version INT4 NOT NULL,
+          status  VARCHAR(16) NOT NULL,
+          committed_offset INT8 NOT NULL,
+          imported_count INT8 NOT NULL,
+          rejected_count INT8 NOT NULL,
+          elapsed_millis INT8 NOT NULL,
+          failure VARCHAR(1000),
+          finished_on TIMESTAMP,
+          node_id VARCHAR(36),
+          heartbeat_on TIMESTAMP,
+          user_fk INT8 NOT NULL,
+          PRIMARY KEY (id),
+          CONSTRAINT uk_recipe_import_job_guid UNIQUE (guid),
+          CONSTRAINT fk_recipe_import_job_user FOREIGN KEY (user_fk) REFERENCES recipe_user
+);
+
+-- Only the queued and running jobs hold a lease, see RecipeImportService#failExpiredJobs.
+CREATE INDEX IF NOT EXISTS idx_recipe_import_job_active_heartbeat ON recipe_import_job(heartbeat_on) WHERE status IN ('QUEUED', 'RUNNING');
+
+CREATE TABLE recipe_import_error (
+          job_id INT8 NOT NULL,
+          error_index INT4 NOT NULL,
+          record INT8 NOT NULL,
+          message VARCHAR(1000) NOT NULL,
+          PRIMARY KEY (job_id, error_index),
+          CONSTRAINT fk_recipe_import_error_job FOREIGN KEY (job_id) REFERENCES recipe_import_job
+);
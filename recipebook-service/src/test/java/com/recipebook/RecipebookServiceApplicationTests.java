@@ -3,6 +3,7 @@ package com.recipebook;
 import com.recipebook.domain.values.AuthResponse;
 import com.recipebook.domain.values.PageResponse;
 import com.recipebook.domain.values.RecipeResponse;
+import com.recipebook.repository.UserTokenRepository;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +17,7 @@ import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.test.web.reactive.server.WebTestClient;
 
 import java.time.Duration;
+import java.time.Instant;
 import java.util.LinkedHashMap;
 import java.util.Objects;
 
@@ -29,6 +31,9 @@ class RecipebookServiceApplicationTests {
 	@Autowired
 	private WebTestClient webClient;
 
+	@Autowired
+	private UserTokenRepository tokenRepository;
+
 	@BeforeEach
 	public void setUp() {
 		webClient = webClient
@@ -212,4 +217,23 @@ class RecipebookServiceApplicationTests {
 				.expectStatus()
 				.isUnauthorized();
 	}
+
+	@Test
+	@Order(13)
+	void givenNoExpiredTokens_whenPurgeExpiredTokens_thenNothingDeleted() {
+		Assertions.assertThat(tokenRepository.deleteExpiredBatch(Instant.now(), 100)).isZero();
+	}
+
+	@Test
+	@Order(14)
+	void givenSignupRequestWithExistingEmailInOtherCase_whenSignup_thenGet409Error() {
+		webClient.post().uri("/signup")
+				.contentType(MediaType.APPLICATION_JSON)
+				.bodyValue("{\"firstName\":\"Avanish\",\"lastName\":\"Pandey\",\"email\":\"Avanish.K.Pandey@gmail.com\",\"password\":\"Test@123\"}")
+				.exchange()
+				.expectStatus()
+				.isEqualTo(HttpStatus.CONFLICT)
+				.expectBody()
+				.jsonPath("$.message").isEqualTo("User already exists by email 'Avanish.K.Pandey@gmail.com'.");
+	}
 }
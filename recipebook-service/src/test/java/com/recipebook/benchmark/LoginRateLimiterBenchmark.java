@@ -0,0 +1,67 @@
+package com.recipebook.benchmark;
+
+import com.recipebook.domain.exceptions.TooManyRequestsException;
+import com.recipebook.service.LoginRateLimiter;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost {@link LoginRateLimiter#acquire(String, String)} adds to a signin, with {@code keys} distinct
+ * emails and client IPs already tracked. Runs with 4 threads to include CAS contention on the shared map.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.recipebook.benchmark.LoginRateLimiterBenchmark}
+ * or from the IDE.
+ *
+ * @author - AvanishKishorPandey
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class LoginRateLimiterBenchmark {
+    @Param({"1000", "300000"})
+    private int keys;
+
+    private LoginRateLimiter rateLimiter;
+    private String[] emails;
+    private String[] clientIps;
+
+    @Setup
+    public void setUp() {
+        // Generous limits, so the benchmark measures the check rather than the rejection path.
+        rateLimiter = new LoginRateLimiter(Integer.MAX_VALUE / 2, 1, Integer.MAX_VALUE / 2, 1);
+        emails = new String[keys];
+        clientIps = new String[keys];
+        for (int i = 0; i < keys; i++) {
+            emails[i] = "user" + i + "@recipebook.com";
+            clientIps[i] = "10." + (i >>> 16 & 0xFF) + "." + (i >>> 8 & 0xFF) + "." + (i & 0xFF);
+            rateLimiter.acquire(emails[i], clientIps[i]);
+        }
+    }
+
+    @Benchmark
+    public boolean acquire() {
+        final int i = ThreadLocalRandom.current().nextInt(keys);
+        try {
+            rateLimiter.acquire(emails[i], clientIps[i]);
+            return true;
+        } catch (TooManyRequestsException e) {
+            return false;
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(LoginRateLimiterBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
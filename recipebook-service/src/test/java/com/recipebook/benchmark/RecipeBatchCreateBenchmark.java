@@ -0,0 +1,106 @@
+package com.recipebook.benchmark;
+
+import com.recipebook.RecipebookServiceApplication;
+import com.recipebook.domain.entities.User;
+import com.recipebook.domain.values.RecipeRequest;
+import com.recipebook.domain.values.RecipeResponse;
+import com.recipebook.domain.values.UserPrincipal;
+import com.recipebook.repository.UserRepository;
+import com.recipebook.service.RecipeService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares creating a batch of recipes with one {@link RecipeService#createRecipe} call, and transaction, per recipe
+ * against one {@link RecipeService#createRecipes} call. Runs against an in-memory H2 database, where a statement
+ * costs no network round trip, so the gap is wider on PostgreSQL, where the batches are also rewritten into
+ * multi-row inserts.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.recipebook.benchmark.RecipeBatchCreateBenchmark}
+ * or from the IDE.
+ *
+ * @author - AvanishKishorPandey
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeBatchCreateBenchmark {
+    @Param({"100"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private RecipeService recipeService;
+    private List<RecipeRequest> recipeRequests;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RecipebookServiceApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN", "spring.datasource.url=jdbc:h2:mem:recipe-batch-benchmark",
+                        "spring.jpa.show-sql=false",
+                        // the application scan also picks up the test configurations next to the controller tests
+                        "spring.main.allow-bean-definition-overriding=true")
+                .run();
+        recipeService = context.getBean(RecipeService.class);
+        // the benchmark methods may run on another thread than the setup
+        SecurityContextHolder.setStrategyName(SecurityContextHolder.MODE_GLOBAL);
+
+        User user = new User();
+        user.setFirstName("Benchmark");
+        user.setLastName("User");
+        user.setEmailAddress("benchmark@recipebook.com");
+        user = context.getBean(UserRepository.class).save(user);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(user.getId(), user.getGuid(), user.getFirstName(), user.getLastName(), null), null, null));
+        recipeRequests = IntStream.range(0, batchSize).mapToObj(RecipeBatchCreateBenchmark::recipeRequest).collect(Collectors.toList());
+        // creates the dictionary entries, so both benchmarks only insert recipes
+        recipeService.createRecipes(recipeRequests);
+    }
+
+    @TearDown
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+        context.close();
+    }
+
+    @Benchmark
+    public List<RecipeResponse> createOneByOne() {
+        return recipeRequests.stream().map(recipeService::createRecipe).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<RecipeResponse> createBatch() {
+        return recipeService.createRecipes(recipeRequests);
+    }
+
+    private static RecipeRequest recipeRequest(final int i) {
+        RecipeRequest recipeRequest = new RecipeRequest();
+        recipeRequest.setName("Recipe " + i);
+        recipeRequest.setVegetarian(i % 2 == 0);
+        recipeRequest.setSuitableFor(i % 6 + 1);
+        recipeRequest.setIngredients(Set.of("Salt", "Pepper", "Olive oil", "Garlic", "Ingredient " + i));
+        recipeRequest.setCookingInstruction("Cooking instruction for recipe " + i);
+        return recipeRequest;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RecipeBatchCreateBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,93 @@
+package com.recipebook.benchmark;
+
+import com.recipebook.domain.values.RecipeFacets;
+import com.recipebook.repository.RecipeReadRepository;
+import com.recipebook.service.RecipeFilterIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures {@link RecipeFilterIndex#filter} over 1M recipes spread across {@code users} users, each recipe with
+ * {@value #INGREDIENTS_PER_RECIPE} of {@value #INGREDIENTS} ingredients picked with a skew towards common ones.
+ * {@code users = 1} is the worst case, where every criterion runs over the whole table.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.recipebook.benchmark.RecipeFilterIndexBenchmark}
+ * or from the IDE.
+ *
+ * @author - AvanishKishorPandey
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RecipeFilterIndexBenchmark {
+    private static final int RECIPES = 1_000_000;
+    private static final int INGREDIENTS = 2000;
+    private static final int INGREDIENTS_PER_RECIPE = 8;
+
+    @Param({"1", "1000"})
+    private int users;
+
+    private RecipeFilterIndex recipeFilterIndex;
+    private final Pageable pageable = PageRequest.of(0, 20);
+
+    @Setup
+    public void setUp() {
+        recipeFilterIndex = new RecipeFilterIndex(new RecipeReadRepository(null) {
+            @Override
+            public void forEachFacets(final Consumer<RecipeFacets> consumer) {
+                final Random random = new Random(42);
+                for (int id = 1; id <= RECIPES; id++) {
+                    final Set<Integer> ingredientIds = new HashSet<>();
+                    while (ingredientIds.size() < INGREDIENTS_PER_RECIPE) {
+                        // squaring skews towards low ids, so a few ingredients are in most recipes
+                        final double skewed = random.nextDouble();
+                        ingredientIds.add(1 + (int) (skewed * skewed * INGREDIENTS));
+                    }
+                    consumer.accept(new RecipeFacets(id, 0, 1 + id % users, "Recipe " + id, random.nextInt(3) == 0, 1 + random.nextInt(16), ingredientIds, Set.of()));
+                }
+            }
+        }, true, Integer.MAX_VALUE);
+        recipeFilterIndex.afterSingletonsInstantiated();
+    }
+
+    @Benchmark
+    public Object includeCommon() {
+        return recipeFilterIndex.filter(user(), List.of(1, 2), List.of(), null, null, pageable);
+    }
+
+    @Benchmark
+    public Object includeExcludeVegetarianServes() {
+        return recipeFilterIndex.filter(user(), List.of(1, 5), List.of(3, 40), true, 4, pageable);
+    }
+
+    @Benchmark
+    public Object excludeOnly() {
+        return recipeFilterIndex.filter(user(), List.of(), List.of(1, 2, 3), false, null, pageable);
+    }
+
+    private long user() {
+        return 1 + ThreadLocalRandom.current().nextInt(users);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RecipeFilterIndexBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
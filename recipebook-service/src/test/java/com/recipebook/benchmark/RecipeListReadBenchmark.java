@@ -0,0 +1,137 @@
+package com.recipebook.benchmark;
+
+import com.recipebook.RecipebookServiceApplication;
+import com.recipebook.domain.entities.Recipe;
+import com.recipebook.domain.entities.User;
+import com.recipebook.domain.values.RecipeCursor;
+import com.recipebook.domain.values.RecipeRequest;
+import com.recipebook.domain.values.RecipeResponse;
+import com.recipebook.domain.values.UserPrincipal;
+import com.recipebook.repository.RecipeReadRepository;
+import com.recipebook.repository.RecipeRepository;
+import com.recipebook.repository.UserRepository;
+import com.recipebook.service.RecipeService;
+import com.recipebook.service.mappers.RecipeMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares the two ways of loading one 100 recipe page in a read-only transaction: hydrating managed
+ * {@link Recipe} entities and copying them through {@link RecipeMapper}, which is what {@code RecipeService.findAll}
+ * used to do, against {@link RecipeReadRepository} mapping rows straight into {@link RecipeResponse}.
+ * Both run the same single join statement against an in-memory H2 database, so the difference is the work
+ * done above JDBC. The GC profiler is enabled, compare {@code gc.alloc.rate.norm} for the bytes allocated per page.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.recipebook.benchmark.RecipeListReadBenchmark}
+ * or from the IDE.
+ *
+ * @author - AvanishKishorPandey
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecipeListReadBenchmark {
+    private static final String FIND_ALL_WITH_INGREDIENTS = "select distinct r from Recipe r left join fetch r.recipeIngredient.ingredients where r.id in :ids";
+
+    @Param({"100"})
+    private int pageSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate readOnlyTransaction;
+    private EntityManager entityManager;
+    private RecipeReadRepository recipeReadRepository;
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(RecipebookServiceApplication.class)
+                .properties("server.port=0", "logging.level.root=WARN", "spring.datasource.url=jdbc:h2:mem:recipe-benchmark",
+                        // the application scan also picks up the test configurations next to the controller tests
+                        "spring.main.allow-bean-definition-overriding=true")
+                .run();
+        readOnlyTransaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnlyTransaction.setReadOnly(true);
+        entityManager = context.getBean(EntityManager.class);
+        recipeReadRepository = context.getBean(RecipeReadRepository.class);
+
+        User user = new User();
+        user.setFirstName("Benchmark");
+        user.setLastName("User");
+        user.setEmailAddress("benchmark@recipebook.com");
+        user = context.getBean(UserRepository.class).save(user);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(user.getId(), user.getGuid(), user.getFirstName(), user.getLastName(), null), null, null));
+        RecipeService recipeService = context.getBean(RecipeService.class);
+        IntStream.range(0, pageSize).forEach(i -> recipeService.createRecipe(recipeRequest(i)));
+        ids = context.getBean(RecipeRepository.class)
+                .findPositionsByUserId(user.getId(), PageRequest.of(0, pageSize, Sort.by("createdOn", "id")))
+                .map(RecipeCursor::getId)
+                .getContent();
+        SecurityContextHolder.clearContext();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<RecipeResponse> entityPage() {
+        return readOnlyTransaction.execute(status -> {
+            Map<Long, Recipe> recipesById = entityManager.createQuery(FIND_ALL_WITH_INGREDIENTS, Recipe.class)
+                    .setParameter("ids", ids)
+                    .getResultStream()
+                    .collect(Collectors.toMap(Recipe::getId, Function.identity()));
+            return ids.stream().map(recipesById::get).filter(Objects::nonNull)
+                    .map(RecipeMapper.INSTANCE::toResponse)
+                    .collect(Collectors.toList());
+        });
+    }
+
+    @Benchmark
+    public List<RecipeResponse> projectionPage() {
+        return readOnlyTransaction.execute(status -> recipeReadRepository.findAllByIdIn(ids));
+    }
+
+    private static RecipeRequest recipeRequest(final int i) {
+        RecipeRequest recipeRequest = new RecipeRequest();
+        recipeRequest.setName("Recipe " + i);
+        recipeRequest.setVegetarian(i % 2 == 0);
+        recipeRequest.setSuitableFor(i % 6 + 1);
+        recipeRequest.setIngredients(Set.of("Salt", "Pepper", "Olive oil", "Garlic", "Ingredient " + i));
+        recipeRequest.setCookingInstruction("Cooking instruction for recipe " + i);
+        return recipeRequest;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RecipeListReadBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
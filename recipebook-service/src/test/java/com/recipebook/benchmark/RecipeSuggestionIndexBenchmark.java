@@ -0,0 +1,88 @@
+package com.recipebook.benchmark;
+
+import com.recipebook.domain.values.RecipeFacets;
+import com.recipebook.domain.values.RecipeSuggestions;
+import com.recipebook.repository.RecipeReadRepository;
+import com.recipebook.service.RecipeSuggestionIndex;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures the latency distribution of {@link RecipeSuggestionIndex#suggest} for {@code users} loaded users with
+ * {@value #RECIPES_PER_USER} recipes each, typed prefixes of one to three letters, from 8 threads.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.recipebook.benchmark.RecipeSuggestionIndexBenchmark}
+ * or from the IDE. The GC profiler is enabled, {@code gc.alloc.rate.norm} is the garbage left by one lookup.
+ *
+ * @author - AvanishKishorPandey
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class RecipeSuggestionIndexBenchmark {
+    private static final int RECIPES_PER_USER = 200;
+    private static final int INGREDIENTS_PER_RECIPE = 8;
+    private static final String[] WORDS = {"apple", "basil", "bean", "beef", "bread", "butter", "carrot", "cheese", "chicken",
+            "chili", "corn", "cream", "curry", "egg", "fennel", "garlic", "ginger", "honey", "kale", "leek", "lemon", "lentil",
+            "mint", "mushroom", "noodle", "oat", "olive", "onion", "pasta", "pea", "pepper", "pork", "potato", "rice", "sage",
+            "salmon", "soup", "spinach", "squash", "stew", "tart", "thyme", "tofu", "tomato", "tuna", "walnut", "yogurt"};
+
+    @Param({"1000", "10000"})
+    private int users;
+
+    private RecipeSuggestionIndex recipeSuggestionIndex;
+
+    @Setup
+    public void setUp() {
+        recipeSuggestionIndex = new RecipeSuggestionIndex(new RecipeReadRepository(null) {
+            @Override
+            public void forEachFacets(final long userId, final Consumer<RecipeFacets> consumer) {
+                final Random random = new Random(userId);
+                for (int id = 1; id <= RECIPES_PER_USER; id++) {
+                    final Set<String> ingredientNames = new HashSet<>();
+                    while (ingredientNames.size() < INGREDIENTS_PER_RECIPE) {
+                        ingredientNames.add(word(random) + " " + random.nextInt(40));
+                    }
+                    consumer.accept(new RecipeFacets(userId * RECIPES_PER_USER + id, 0, userId, word(random) + " " + word(random) + " " + id,
+                            false, 2, Set.of(), ingredientNames));
+                }
+            }
+        }, users, TimeUnit.HOURS.toMillis(1), 100000);
+        for (long userId = 1; userId <= users; userId++) {
+            recipeSuggestionIndex.suggest(userId, "a", 10);
+        }
+    }
+
+    @Benchmark
+    public RecipeSuggestions suggest() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final String word = WORDS[random.nextInt(WORDS.length)];
+        return recipeSuggestionIndex.suggest(1 + random.nextInt(users), word.substring(0, 1 + random.nextInt(3)), 10);
+    }
+
+    private static String word(final Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RecipeSuggestionIndexBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
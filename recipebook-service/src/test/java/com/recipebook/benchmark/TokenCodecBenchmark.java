@@ -0,0 +1,94 @@
+package com.recipebook.benchmark;
+
+import com.recipebook.domain.values.TokenClaims;
+import com.recipebook.service.JwtCodec;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.security.Key;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the jjwt builder/parser path that {@code TokenProvider} used to take with {@link JwtCodec}.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.recipebook.benchmark.TokenCodecBenchmark}
+ * or from the IDE; add {@code -prof gc} to the options to compare allocation rates.
+ *
+ * @author - AvanishKishorPandey
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenCodecBenchmark {
+    private static final String SECRET = "JDJ5JDEwJEdCSVFhZjZnRWVVOWltOFJUS2hJZ09aNXE1aGFEQS5BNUd6b2NTcjVDUi5zVThPVXNDVXdxasTARSIHNXDkDLWPSKAGXFSYBC";
+
+    private final String subject = UUID.randomUUID().toString();
+    private final long userId = 42L;
+
+    private Key secretKey;
+    private JwtParser jwtParser;
+    private JwtCodec jwtCodec;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        jwtParser = Jwts.parserBuilder().setSigningKey(secretKey).build();
+        jwtCodec = new JwtCodec(secretKey);
+        token = jjwtCreate();
+    }
+
+    @Benchmark
+    public String jjwtCreate() {
+        final Instant now = Instant.now();
+        return Jwts.builder()
+                .setSubject(subject)
+                .claim("ID", String.valueOf(userId))
+                .signWith(secretKey, SignatureAlgorithm.HS512)
+                .setExpiration(Date.from(now.plusSeconds(600)))
+                .setIssuedAt(Date.from(now))
+                .compact();
+    }
+
+    @Benchmark
+    public String codecCreate() {
+        final Instant now = Instant.now();
+        return jwtCodec.encode(subject, userId, now, now.plusSeconds(600));
+    }
+
+    @Benchmark
+    public Claims jjwtVerify() {
+        return Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Claims jjwtVerifySharedParser() {
+        return jwtParser.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public TokenClaims codecVerify() {
+        return jwtCodec.decode(token, Instant.now());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(TokenCodecBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
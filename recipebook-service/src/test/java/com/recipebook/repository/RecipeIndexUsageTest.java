@@ -0,0 +1,148 @@
+package com.recipebook.repository;
+
+import org.assertj.core.api.Assertions;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Checks, with EXPLAIN on the Postgres version we deploy, that the statements behind the recipe list use the
+ * indexes from the Flyway migrations. The statements mirror the SQL Hibernate generates for {@link RecipeRepository}.
+ * Skipped when Docker is not available.
+ *
+ * @author - AvanishKishorPandey
+ */
+@Testcontainers(disabledWithoutDocker = true)
+class RecipeIndexUsageTest {
+    private static final int USERS = 100;
+    private static final int RECIPES = 20000;
+    private static final int INGREDIENTS = 500;
+    /** Recipes of one extra user, enough that scanning all of them costs more than the search index. */
+    private static final int HEAVY_USER_RECIPES = 40000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:13.1-alpine");
+
+    @BeforeAll
+    static void setup() throws SQLException {
+        Flyway.configure()
+                .dataSource(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword())
+                .load()
+                .migrate();
+        try (Connection connection = connection(); Statement statement = connection.createStatement()) {
+            statement.execute("INSERT INTO recipe_user (id, created_on, deleted, guid, version, email_address, first_name, last_name) "
+                    + "SELECT u, now(), false, md5('u' || u), 0, 'user' || u || '@recipebook.com', 'First', 'Last' FROM generate_series(1, " + USERS + ") u");
+            statement.execute("INSERT INTO recipe (id, created_on, deleted, guid, version, instruction, name, suitable_for, vegetarian, user_fk) "
+                    + "SELECT r, now() - r * interval '1 minute', r % 50 = 0, md5('r' || r), 0, 'Instruction', 'Recipe ' || r, r % 6, r % 3 = 0, r % " + USERS + " + 1 "
+                    + "FROM generate_series(1, " + RECIPES + ") r");
+            statement.execute("INSERT INTO recipe (id, created_on, deleted, guid, version, instruction, name, suitable_for, vegetarian, user_fk) "
+                    + "SELECT r, now() - r * interval '1 minute', false, md5('r' || r), 0, 'Bake the ' || (array['potatoes', 'chicken', 'lentils'])[r % 3 + 1], "
+                    + "'Recipe ' || r, r % 6, r % 3 = 0, " + USERS + " FROM generate_series(" + (RECIPES + 1) + ", " + (RECIPES + HEAVY_USER_RECIPES) + ") r");
+            statement.execute("INSERT INTO ingredient (id, name, display_name) SELECT i, 'ingredient ' || i, 'Ingredient ' || i FROM generate_series(1, " + INGREDIENTS + ") i");
+            statement.execute("INSERT INTO recipe_ingredient (recipe_id, ingredient_id) "
+                    + "SELECT r, (r + k * 97) % " + INGREDIENTS + " + 1 FROM generate_series(1, " + RECIPES + ") r, generate_series(1, 3) k");
+            statement.execute("ANALYZE");
+        }
+    }
+
+    @Test
+    void testListPageUsesPartialIndex() throws SQLException {
+        String plan = explain("select r.id from recipe r where (r.deleted = false) and r.user_fk = 42 "
+                + "order by r.created_on asc, r.id asc limit 10 offset 50");
+
+        Assertions.assertThat(plan).contains("idx_recipe_user_createdon_id").doesNotContain("Seq Scan").doesNotContain("Sort");
+    }
+
+    @Test
+    void testCursorPageUsesPartialIndex() throws SQLException {
+        String plan = explain("select r.id from recipe r where (r.deleted = false) and r.user_fk = 42 "
+                + "and (r.created_on, r.id) > (now() - interval '10 days', 5000) order by r.created_on asc, r.id asc limit 11");
+
+        Assertions.assertThat(plan).contains("idx_recipe_user_createdon_id").doesNotContain("Seq Scan").doesNotContain("Sort");
+    }
+
+    @Test
+    void testCountUsesPartialIndex() throws SQLException {
+        String plan = explain("select count(r.id) from recipe r where (r.deleted = false) and r.user_fk = 42");
+
+        // any of the per-user partial indexes serves the count, the planner takes the smallest
+        Assertions.assertThat(plan).containsPattern("Index Only Scan using idx_recipe_user_(vegetarian_)?(createdon|suitablefor)_id").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void testIngredientFetchUsesRecipeIngredientPrimaryKey() throws SQLException {
+        String plan = explain("select r.id, r.name, i.name from recipe r left outer join recipe_ingredient ri on r.id = ri.recipe_id "
+                + "left outer join ingredient i on i.id = ri.ingredient_id "
+                + "where (r.deleted = false) and r.id in (142, 242, 342, 442, 542, 642, 742, 842, 942, 1042)");
+
+        Assertions.assertThat(plan).contains("recipe_ingredient_pkey").contains("ingredient_pkey").doesNotContain("Seq Scan");
+    }
+
+    @Test
+    void testSearchUsesSearchVectorIndex() throws SQLException {
+        String plan = explain("select id, rank from (select r.id, ts_rank(r.search_vector, query) as rank "
+                + "from recipe r, websearch_to_tsquery('english', 'recipe " + (RECIPES + 4242) + " chicken') query "
+                + "where r.user_fk = " + USERS + " and r.deleted = false and r.search_vector @@ query) hits "
+                + "order by rank desc, id desc limit 11");
+
+        Assertions.assertThat(plan).contains("idx_recipe_user_search_vector").doesNotContain("Seq Scan");
+    }
+
+    /**
+     * Every sort and filter combination accepted by {@link com.recipebook.service.RecipeListing}, on the user with
+     * the most recipes, must read its index in order: no sort node and no sequential scan.
+     */
+    @ParameterizedTest
+    @MethodSource("listings")
+    void testSortedListPageUsesSortKeyIndex(final String orderBy, final String filter, final String index) throws SQLException {
+        for (String direction : List.of("asc", "desc")) {
+            String plan = explain("select r.id from recipe r where (r.deleted = false) and r.user_fk = " + USERS + filter
+                    + " order by " + orderBy + " " + direction + ", r.id " + direction + " limit 10 offset 50");
+
+            Assertions.assertThat(plan).contains(index).doesNotContain("Seq Scan").doesNotContain("Sort");
+        }
+    }
+
+    static Stream<Arguments> listings() {
+        return Stream.of(
+                Arguments.of("r.created_on", "", "idx_recipe_user_createdon_id"),
+                Arguments.of("r.created_on", " and r.vegetarian = true", "idx_recipe_user_vegetarian_createdon_id"),
+                Arguments.of("r.created_on", " and r.vegetarian = false", "idx_recipe_user_vegetarian_createdon_id"),
+                Arguments.of("lower(r.name)", "", "idx_recipe_user_lower_name_id"),
+                Arguments.of("lower(r.name)", " and r.vegetarian = true", "idx_recipe_user_vegetarian_lower_name_id"),
+                Arguments.of("lower(r.name)", " and r.vegetarian = false", "idx_recipe_user_vegetarian_lower_name_id"),
+                Arguments.of("r.suitable_for", "", "idx_recipe_user_suitablefor_id"),
+                Arguments.of("r.suitable_for", " and r.vegetarian = true", "idx_recipe_user_vegetarian_suitablefor_id"),
+                Arguments.of("r.suitable_for", " and r.suitable_for >= 3", "idx_recipe_user_suitablefor_id"),
+                Arguments.of("r.suitable_for", " and r.vegetarian = false and r.suitable_for >= 3", "idx_recipe_user_vegetarian_suitablefor_id"));
+    }
+
+    private static String explain(final String sql) throws SQLException {
+        StringBuilder plan = new StringBuilder();
+        try (Connection connection = connection(); Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+            while (resultSet.next()) {
+                plan.append(resultSet.getString(1)).append('\n');
+            }
+        }
+        return plan.toString();
+    }
+
+    private static Connection connection() throws SQLException {
+        return DriverManager.getConnection(POSTGRES.getJdbcUrl(), POSTGRES.getUsername(), POSTGRES.getPassword());
+    }
+}
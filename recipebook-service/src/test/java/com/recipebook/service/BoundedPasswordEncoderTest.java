@@ -0,0 +1,91 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.exceptions.TooManyRequestsException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+class BoundedPasswordEncoderTest {
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @AfterEach
+    public void tearDown() {
+        passwordEncoder.shutdown();
+    }
+
+    @Test
+    void testEncodeAndMatchesRunOnDelegate() {
+        passwordEncoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), 1, 1, 1);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder.bindTo(meterRegistry);
+
+        String passwordHash = passwordEncoder.encode("Test@123");
+
+        Assertions.assertThat(passwordEncoder.matches("Test@123", passwordHash)).isTrue();
+        Assertions.assertThat(passwordEncoder.matches("Test@1234", passwordHash)).isFalse();
+        Assertions.assertThat(meterRegistry.get("recipebook.auth.password.hash").tag("operation", "encode").functionTimer().count()).isEqualTo(1);
+        Assertions.assertThat(meterRegistry.get("recipebook.auth.password.hash").tag("operation", "matches").functionTimer().count()).isEqualTo(2);
+        Assertions.assertThat(meterRegistry.get("recipebook.auth.password.wait").functionTimer().count()).isEqualTo(3);
+    }
+
+    @Test
+    void testRejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        passwordEncoder = new BoundedPasswordEncoder(new BlockingPasswordEncoder(started, release), 1, 1, 5);
+
+        CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("first"));
+        Assertions.assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> passwordEncoder.encode("second"));
+        while (passwordEncoder.queueDepth() == 0) {
+            Thread.onSpinWait();
+        }
+
+        assertThatThrownBy(() -> passwordEncoder.encode("third"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(5L);
+
+        release.countDown();
+        Assertions.assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        Assertions.assertThat(queued.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+    }
+
+    private static final class BlockingPasswordEncoder implements PasswordEncoder {
+        private final CountDownLatch started;
+        private final CountDownLatch release;
+
+        private BlockingPasswordEncoder(final CountDownLatch started, final CountDownLatch release) {
+            this.started = started;
+            this.release = release;
+        }
+
+        @Override
+        public String encode(final CharSequence rawPassword) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return rawPassword.toString();
+        }
+
+        @Override
+        public boolean matches(final CharSequence rawPassword, final String encodedPassword) {
+            return rawPassword.toString().equals(encodedPassword);
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.values.RefreshTokenEntry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+@ExtendWith(MockitoExtension.class)
+class InMemoryRefreshTokenStoreTest {
+    @Mock
+    private JpaRefreshTokenStore persistentStore;
+
+    private InMemoryRefreshTokenStore tokenStore;
+
+    @BeforeEach
+    public void setup() {
+        tokenStore = new InMemoryRefreshTokenStore(persistentStore);
+    }
+
+    @Test
+    void testLoadIndexesPersistedTokens() {
+        RefreshTokenEntry persistedEntry = mockEntry();
+        Mockito.when(persistentStore.findAllValid(Mockito.any(Instant.class))).thenReturn(List.of(persistedEntry));
+
+        tokenStore.load();
+
+        Assertions.assertThat(tokenStore.find(persistedEntry.getToken())).containsSame(persistedEntry);
+        Mockito.verify(persistentStore, Mockito.never()).find(Mockito.anyString());
+    }
+
+    @Test
+    void testSaveIsWrittenThroughAndServedFromMemory() {
+        RefreshTokenEntry entry = mockEntry();
+        Mockito.when(persistentStore.save(entry)).thenReturn(entry);
+
+        tokenStore.save(entry);
+
+        Mockito.verify(persistentStore).save(entry);
+        Assertions.assertThat(tokenStore.find(entry.getToken())).containsSame(entry);
+        Mockito.verifyNoMoreInteractions(persistentStore);
+    }
+
+    @Test
+    void testFailedSaveIsNotIndexed() {
+        RefreshTokenEntry entry = mockEntry();
+        Mockito.when(persistentStore.save(entry)).thenThrow(new IllegalStateException("insert failed"));
+
+        Assertions.assertThatThrownBy(() -> tokenStore.save(entry)).isInstanceOf(IllegalStateException.class);
+
+        Mockito.when(persistentStore.find(entry.getToken())).thenReturn(Optional.empty());
+        Assertions.assertThat(tokenStore.find(entry.getToken())).isEmpty();
+    }
+
+    @Test
+    void testMissFallsThroughToPersistentStore() {
+        RefreshTokenEntry persistedEntry = mockEntry();
+        Mockito.when(persistentStore.find(persistedEntry.getToken())).thenReturn(Optional.of(persistedEntry));
+
+        Assertions.assertThat(tokenStore.find(persistedEntry.getToken())).containsSame(persistedEntry);
+        Assertions.assertThat(tokenStore.find(persistedEntry.getToken())).containsSame(persistedEntry);
+        Mockito.verify(persistentStore, Mockito.times(1)).find(persistedEntry.getToken());
+    }
+
+    @Test
+    void testRemovedTokenIsNotResolvedBeforeFlush() {
+        RefreshTokenEntry entry = mockEntry();
+        Mockito.when(persistentStore.save(entry)).thenReturn(entry);
+        tokenStore.save(entry);
+
+        tokenStore.remove(entry.getToken());
+
+        Assertions.assertThat(tokenStore.find(entry.getToken())).isEmpty();
+        Assertions.assertThat(tokenStore.pendingDeleteCount()).isEqualTo(1);
+        tokenStore.flush();
+        Mockito.verify(persistentStore).removeAll(List.of(entry.getToken()));
+        Assertions.assertThat(tokenStore.pendingDeleteCount()).isZero();
+    }
+
+    @Test
+    void testFailedDeleteBatchIsRetried() {
+        String token = UUID.randomUUID().toString();
+        tokenStore.remove(token);
+        Mockito.doThrow(new IllegalStateException("batch failed")).doNothing().when(persistentStore).removeAll(Mockito.any());
+
+        tokenStore.flush();
+        Assertions.assertThat(tokenStore.pendingDeleteCount()).isEqualTo(1);
+        tokenStore.flush();
+
+        Mockito.verify(persistentStore, Mockito.times(2)).removeAll(List.of(token));
+        Assertions.assertThat(tokenStore.pendingDeleteCount()).isZero();
+    }
+
+    @Test
+    void testEvictExpired() {
+        RefreshTokenEntry expiredEntry = new RefreshTokenEntry(UUID.randomUUID().toString(), 20L, UUID.randomUUID().toString(),
+                "Junit", "Test", Instant.now().minusSeconds(10));
+        Mockito.when(persistentStore.save(expiredEntry)).thenReturn(expiredEntry);
+        tokenStore.save(expiredEntry);
+
+        tokenStore.evictExpired(Instant.now());
+
+        Mockito.when(persistentStore.find(expiredEntry.getToken())).thenReturn(Optional.empty());
+        Assertions.assertThat(tokenStore.find(expiredEntry.getToken())).isEmpty();
+    }
+
+    private RefreshTokenEntry mockEntry() {
+        return new RefreshTokenEntry(UUID.randomUUID().toString(), 20L, UUID.randomUUID().toString(),
+                "Junit", "Test", Instant.now().plusSeconds(3600));
+    }
+}
@@ -0,0 +1,80 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.entities.Ingredient;
+import com.recipebook.repository.IngredientRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+
+@ExtendWith(MockitoExtension.class)
+class IngredientDictionaryTest {
+    @Mock
+    private IngredientRepository ingredientRepository;
+
+    private IngredientDictionary ingredientDictionary;
+
+    @BeforeEach
+    public void setup() {
+        ingredientDictionary = new IngredientDictionary(ingredientRepository, 100);
+    }
+
+    @Test
+    void testNormalize() {
+        Assertions.assertThat(IngredientDictionary.normalize("  Olive \t Oil ")).isEqualTo("olive oil");
+        Assertions.assertThat(IngredientDictionary.normalize("SALT")).isEqualTo("salt");
+    }
+
+    @Test
+    void testResolveCreatesMissingEntriesOnceAndCachesIds() {
+        Mockito.when(ingredientRepository.findAllByNameIn(Set.of("salt", "pepper"))).thenReturn(List.of(new Ingredient(1, "salt", "Sea Salt")));
+        Mockito.when(ingredientRepository.saveAllAndFlush(List.of(new Ingredient("pepper", "Pepper")))).thenAnswer(invocation -> {
+            Ingredient created = invocation.<List<Ingredient>>getArgument(0).get(0);
+            return List.of(new Ingredient(2, created.getName(), created.getDisplayName()));
+        });
+
+        Set<Ingredient> first = ingredientDictionary.resolve(List.of("Salt", " salt", "Pepper", " "));
+        Set<Ingredient> second = ingredientDictionary.resolve(List.of("PEPPER", "salt"));
+
+        Assertions.assertThat(first).extracting(Ingredient::getId).containsExactlyInAnyOrder(1, 2);
+        Assertions.assertThat(second).extracting(Ingredient::getId).containsExactlyInAnyOrder(1, 2);
+        // an entry keeps the spelling it was created with, trimmed and collapsed
+        Assertions.assertThat(first).extracting(Ingredient::getDisplayName).containsExactlyInAnyOrder("Sea Salt", "Pepper");
+        Assertions.assertThat(second).extracting(Ingredient::getDisplayName).containsExactlyInAnyOrder("Sea Salt", "Pepper");
+        Assertions.assertThat(ingredientDictionary.size()).isEqualTo(2);
+        Mockito.verifyNoMoreInteractions(ingredientRepository);
+    }
+
+    @Test
+    void testResolveLooksUpEntryInsertedConcurrently() {
+        Mockito.when(ingredientRepository.findAllByNameIn(Set.of("salt"))).thenReturn(List.of());
+        Mockito.when(ingredientRepository.saveAllAndFlush(List.of(new Ingredient("salt", "salt")))).thenThrow(new DataIntegrityViolationException("uk_ingredient_name"));
+        Mockito.when(ingredientRepository.findAllByNameIn(List.of("salt"))).thenReturn(List.of(new Ingredient(7, "salt", "Salt")));
+
+        Set<Ingredient> ingredients = ingredientDictionary.resolve(List.of("salt"));
+
+        Assertions.assertThat(ingredients).extracting(Ingredient::getId).containsExactly(7);
+    }
+
+    @Test
+    void testCacheStopsGrowingAtMaxEntries() {
+        ingredientDictionary = new IngredientDictionary(ingredientRepository, 1);
+        Mockito.when(ingredientRepository.findAllByNameIn(Mockito.anyCollection()))
+                .thenReturn(List.of(new Ingredient(1, "salt", "Salt"), new Ingredient(2, "pepper", "Pepper")));
+
+        ingredientDictionary.resolve(List.of("salt", "pepper"));
+
+        Assertions.assertThat(ingredientDictionary.size()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,122 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.values.TokenClaims;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SignatureException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import java.security.Key;
+import java.time.Instant;
+import java.util.Date;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+class JwtCodecTest {
+    private static final String SECRET = "JDJ5JDEwJEdCSVFhZjZnRWVVOWltOFJUS2hJZ09aNXE1aGFEQS5BNUd6b2NTcjVDUi5zVThPVXNDVXdxasTARSIHNXDkDLWPSKAGXFSYBC";
+
+    private final Key secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+    private final JwtCodec jwtCodec = new JwtCodec(secretKey);
+
+    @Test
+    void testEncodeMatchesJjwtOutput() {
+        final String subject = UUID.randomUUID().toString();
+        final Instant issuedAt = Instant.ofEpochSecond(Instant.now().getEpochSecond());
+        final Instant expiresAt = issuedAt.plusSeconds(600);
+
+        String jjwtToken = Jwts.builder()
+                .setSubject(subject)
+                .claim("ID", String.valueOf(20L))
+                .signWith(secretKey, SignatureAlgorithm.HS512)
+                .setExpiration(Date.from(expiresAt))
+                .setIssuedAt(Date.from(issuedAt))
+                .compact();
+
+        Assertions.assertThat(jwtCodec.encode(subject, 20L, issuedAt, expiresAt)).isEqualTo(jjwtToken);
+    }
+
+    @Test
+    void testEncodedTokenIsAcceptedByJjwt() {
+        final String subject = UUID.randomUUID().toString();
+        final Instant issuedAt = Instant.now();
+        String token = jwtCodec.encode(subject, 20L, issuedAt, issuedAt.plusSeconds(600));
+
+        Claims claims = Jwts.parserBuilder().setSigningKey(secretKey).build().parseClaimsJws(token).getBody();
+        Assertions.assertThat(claims.getSubject()).isEqualTo(subject);
+        Assertions.assertThat(claims.get("ID")).isEqualTo("20");
+        Assertions.assertThat(claims.getExpiration().toInstant().getEpochSecond()).isEqualTo(issuedAt.plusSeconds(600).getEpochSecond());
+    }
+
+    @Test
+    void testDecodeJjwtToken() {
+        final String subject = UUID.randomUUID().toString();
+        final Instant issuedAt = Instant.now();
+        String token = Jwts.builder()
+                .setSubject(subject)
+                .claim("ID", "20")
+                .claim("scope", new String[] {"recipes", "profile"})
+                .signWith(secretKey, SignatureAlgorithm.HS512)
+                .setExpiration(Date.from(issuedAt.plusSeconds(600)))
+                .setIssuedAt(Date.from(issuedAt))
+                .compact();
+
+        TokenClaims claims = jwtCodec.decode(token, Instant.now());
+        Assertions.assertThat(claims.getSubject()).isEqualTo(subject);
+        Assertions.assertThat(claims.getUserId()).isEqualTo(20L);
+        Assertions.assertThat(claims.getIssuedAt().getEpochSecond()).isEqualTo(issuedAt.getEpochSecond());
+        Assertions.assertThat(claims.getExpiresAt().getEpochSecond()).isEqualTo(issuedAt.plusSeconds(600).getEpochSecond());
+    }
+
+    @Test
+    void testDecodeRejectsTamperedToken() {
+        final Instant issuedAt = Instant.now();
+        String token = jwtCodec.encode(UUID.randomUUID().toString(), 20L, issuedAt, issuedAt.plusSeconds(600));
+        String forgedPayload = jwtCodec.encode(UUID.randomUUID().toString(), 21L, issuedAt, issuedAt.plusSeconds(600)).split("\\.")[1];
+        String[] parts = token.split("\\.");
+
+        assertThatThrownBy(() -> jwtCodec.decode(parts[0] + "." + forgedPayload + "." + parts[2], Instant.now()))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void testDecodeRejectsTokenSignedWithOtherKey() {
+        final Instant issuedAt = Instant.now();
+        JwtCodec otherCodec = new JwtCodec(Keys.secretKeyFor(SignatureAlgorithm.HS512));
+        String token = otherCodec.encode(UUID.randomUUID().toString(), 20L, issuedAt, issuedAt.plusSeconds(600));
+
+        assertThatThrownBy(() -> jwtCodec.decode(token, Instant.now()))
+                .isInstanceOf(SignatureException.class);
+    }
+
+    @Test
+    void testDecodeRejectsExpiredToken() {
+        final Instant issuedAt = Instant.now().minusSeconds(600);
+        String token = jwtCodec.encode(UUID.randomUUID().toString(), 20L, issuedAt, issuedAt.plusSeconds(60));
+
+        assertThatThrownBy(() -> jwtCodec.decode(token, Instant.now()))
+                .isInstanceOf(ExpiredJwtException.class);
+    }
+
+    @Test
+    void testDecodeRejectsUnsupportedAndMalformedTokens() {
+        String unsignedToken = Jwts.builder().setSubject("subject").claim("ID", "20").compact();
+
+        assertThatThrownBy(() -> jwtCodec.decode(unsignedToken, Instant.now()))
+                .isInstanceOf(UnsupportedJwtException.class);
+        assertThatThrownBy(() -> jwtCodec.decode("not-a-token", Instant.now()))
+                .isInstanceOf(MalformedJwtException.class);
+        assertThatThrownBy(() -> jwtCodec.decode("", Instant.now()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
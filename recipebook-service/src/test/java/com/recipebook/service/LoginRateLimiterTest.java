@@ -0,0 +1,54 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.exceptions.TooManyRequestsException;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+class LoginRateLimiterTest {
+
+    @Test
+    void testEmailBucketIsCaseInsensitive() {
+        LoginRateLimiter rateLimiter = new LoginRateLimiter(2, 60000, 100, 60000);
+
+        rateLimiter.acquire("junit@test.com", "10.0.0.1");
+        rateLimiter.acquire("JUnit@Test.com", "10.0.0.2");
+
+        assertThatThrownBy(() -> rateLimiter.acquire("JUNIT@TEST.COM", "10.0.0.3"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(60L);
+        rateLimiter.acquire("other@test.com", "10.0.0.3");
+    }
+
+    @Test
+    void testIpBucketLimitsAcrossAccounts() {
+        LoginRateLimiter rateLimiter = new LoginRateLimiter(100, 60000, 2, 30000);
+
+        rateLimiter.acquire("first@test.com", "10.0.0.1");
+        rateLimiter.acquire("second@test.com", "10.0.0.1");
+
+        assertThatThrownBy(() -> rateLimiter.acquire("third@test.com", "10.0.0.1"))
+                .isInstanceOf(TooManyRequestsException.class)
+                .extracting("retryAfterSeconds").isEqualTo(30L);
+        rateLimiter.acquire("third@test.com", "10.0.0.2");
+    }
+
+    @Test
+    void testBucketRefillsAndIdleBucketsAreEvicted() throws InterruptedException {
+        LoginRateLimiter rateLimiter = new LoginRateLimiter(1, 20, 1, 20);
+
+        rateLimiter.acquire("junit@test.com", "10.0.0.1");
+        assertThatThrownBy(() -> rateLimiter.acquire("junit@test.com", "10.0.0.1")).isInstanceOf(TooManyRequestsException.class);
+        Assertions.assertThat(rateLimiter.size()).isEqualTo(2);
+
+        Thread.sleep(50);
+        rateLimiter.evictIdle();
+
+        Assertions.assertThat(rateLimiter.size()).isZero();
+        rateLimiter.acquire("junit@test.com", "10.0.0.1");
+    }
+}
@@ -0,0 +1,108 @@
+package com.recipebook.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipebook.domain.values.RecipeResponse;
+import com.recipebook.repository.RecipeReadRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+
+@ExtendWith(MockitoExtension.class)
+class RecipeExporterTest {
+    private static final long USER_ID = 42L;
+
+    @Mock
+    private RecipeReadRepository recipeReadRepository;
+
+    @Test
+    void testFlushesWhileStreaming() throws IOException {
+        final int recipes = RecipeExporter.FLUSH_INTERVAL * 2 + 1;
+        streamRecipes(recipes);
+        final FlushRecordingOutputStream out = new FlushRecordingOutputStream();
+
+        new RecipeExporter(recipeReadRepository, new ObjectMapper()).export(USER_ID, RecipeExportFormat.NDJSON, out);
+
+        final String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertThat(lines).hasSize(recipes);
+        Assertions.assertThat(lines[0]).startsWith("{\"uuid\":\"recipe-0\",").endsWith("\"ingredients\":[\"pepper\",\"salt\"],\"cookingInstruction\":\"Cook\",\"vegetarian\":true}");
+        // after the first and second interval, then when the generator is closed
+        Assertions.assertThat(out.linesAtFlush).startsWith(RecipeExporter.FLUSH_INTERVAL, RecipeExporter.FLUSH_INTERVAL * 2).endsWith(recipes);
+        Assertions.assertThat(out.closed).isFalse();
+    }
+
+    @Test
+    void testWritesCsvWithHeader() throws IOException {
+        streamRecipes(2);
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        new RecipeExporter(recipeReadRepository, new ObjectMapper()).export(USER_ID, RecipeExportFormat.CSV, out);
+
+        Assertions.assertThat(out.toString(StandardCharsets.UTF_8).split("\n")).containsExactly(
+                "uuid,createdAt,name,vegetarian,suitableFor,ingredients,cookingInstruction",
+                "recipe-0,\"01‐01‐2021 10:00\",\"Recipe 0\",true,2,pepper;salt,Cook",
+                "recipe-1,\"01‐01‐2021 10:00\",\"Recipe 1\",false,3,pepper;salt,Cook");
+    }
+
+    @Test
+    void testRejectsUnknownFormat() {
+        Assertions.assertThat(RecipeExportFormat.of("CSV")).isEqualTo(RecipeExportFormat.CSV);
+        assertThatThrownBy(() -> RecipeExportFormat.of("xml"))
+                .isInstanceOf(javax.validation.ValidationException.class)
+                .hasMessage("Export format 'xml' is not supported, use one of ndjson, csv.");
+    }
+
+    @SuppressWarnings("unchecked")
+    private void streamRecipes(final int count) {
+        Mockito.doAnswer(invocation -> {
+            final Consumer<RecipeResponse> consumer = invocation.getArgument(1);
+            for (int i = 0; i < count; i++) {
+                consumer.accept(RecipeResponse.builder()
+                        .uuid("recipe-" + i)
+                        .createdAt("01‐01‐2021 10:00")
+                        .name("Recipe " + i)
+                        .isVegetarian(i % 2 == 0)
+                        .suitableFor(i % 6 + 2)
+                        .ingredients(new TreeSet<>(List.of("salt", "pepper")))
+                        .cookingInstruction("Cook")
+                        .build());
+            }
+            return null;
+        }).when(recipeReadRepository).forEachRecipe(Mockito.eq(USER_ID), Mockito.any(Consumer.class));
+    }
+
+    private static final class FlushRecordingOutputStream extends ByteArrayOutputStream {
+        private final List<Integer> linesAtFlush = new ArrayList<>();
+        private boolean closed;
+
+        @Override
+        public void flush() {
+            final int lines = (int) toString(StandardCharsets.UTF_8).chars().filter(c -> c == '\n').count();
+            if (linesAtFlush.isEmpty() || linesAtFlush.get(linesAtFlush.size() - 1) != lines) {
+                linesAtFlush.add(lines);
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+}
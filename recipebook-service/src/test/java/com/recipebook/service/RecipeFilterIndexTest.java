@@ -0,0 +1,154 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.values.RecipeChangedEvent;
+import com.recipebook.domain.values.RecipeFacets;
+import com.recipebook.repository.RecipeReadRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+
+class RecipeFilterIndexTest {
+    private static final long USER = 1L;
+    private static final int SALT = 1;
+    private static final int PEPPER = 2;
+    private static final int CHICKEN = 3;
+
+    private RecipeReadRepository recipeReadRepository;
+    private RecipeFilterIndex recipeFilterIndex;
+
+    @BeforeEach
+    public void setup() {
+        recipeReadRepository = Mockito.mock(RecipeReadRepository.class);
+        recipeFilterIndex = new RecipeFilterIndex(recipeReadRepository, true, 100);
+        recipeFilterIndex.afterSingletonsInstantiated();
+        create(new RecipeFacets(10, 0, USER, "Recipe 10", true, 2, Set.of(SALT, PEPPER), Set.of()));
+        create(new RecipeFacets(11, 0, USER, "Recipe 11", false, 4, Set.of(SALT, CHICKEN), Set.of()));
+        create(new RecipeFacets(12, 0, USER, "Recipe 12", true, 6, Set.of(SALT), Set.of()));
+        create(new RecipeFacets(13, 0, USER, "Recipe 13", true, 20, Set.of(PEPPER), Set.of()));
+        create(new RecipeFacets(14, 0, 2L, "Recipe 14", true, 4, Set.of(SALT, PEPPER), Set.of()));
+    }
+
+    @Test
+    void testFilterCombinesCriteria() {
+        Assertions.assertThat(filter(List.of(SALT), List.of(), null, null)).containsExactly(10L, 11L, 12L);
+        Assertions.assertThat(filter(List.of(SALT, PEPPER), List.of(), null, null)).containsExactly(10L);
+        Assertions.assertThat(filter(List.of(SALT), List.of(CHICKEN), null, null)).containsExactly(10L, 12L);
+        Assertions.assertThat(filter(List.of(), List.of(), true, 4)).containsExactly(12L, 13L);
+        Assertions.assertThat(filter(List.of(), List.of(), false, null)).containsExactly(11L);
+        Assertions.assertThat(filter(List.of(), List.of(), null, 15)).containsExactly(13L);
+        Assertions.assertThat(filter(List.of(), List.of(), null, 25)).isEmpty();
+        Assertions.assertThat(filter(List.of(99), List.of(), null, null)).isEmpty();
+    }
+
+    @Test
+    void testFilterIsScopedToUser() {
+        Assertions.assertThat(recipeFilterIndex.filter(2L, List.of(SALT, PEPPER), List.of(), null, null, PageRequest.of(0, 10)).getContent())
+                .containsExactly(14L);
+        Assertions.assertThat(recipeFilterIndex.filter(3L, List.of(), List.of(), null, null, PageRequest.of(0, 10)).getContent())
+                .isEmpty();
+    }
+
+    @Test
+    void testFilterPages() {
+        Page<Long> page = recipeFilterIndex.filter(USER, List.of(), List.of(), null, null, PageRequest.of(1, 3));
+
+        Assertions.assertThat(page.getContent()).containsExactly(13L);
+        Assertions.assertThat(page.getTotalElements()).isEqualTo(4);
+        Assertions.assertThat(recipeFilterIndex.filter(USER, List.of(), List.of(), null, null, PageRequest.of(2, 3)).getContent()).isEmpty();
+    }
+
+    @Test
+    void testUpdateAndDeleteReplaceIndexedFacets() {
+        recipeFilterIndex.onRecipeChanged(new RecipeChangedEvent(new RecipeFacets(10, 0, USER, "Recipe 10", true, 2, Set.of(SALT, PEPPER), Set.of()),
+                new RecipeFacets(10, 1, USER, "Recipe 10", false, 8, Set.of(CHICKEN), Set.of())));
+        recipeFilterIndex.onRecipeChanged(new RecipeChangedEvent(new RecipeFacets(12, 0, USER, "Recipe 12", true, 6, Set.of(SALT), Set.of()), null));
+
+        Assertions.assertThat(filter(List.of(SALT), List.of(), null, null)).containsExactly(11L);
+        Assertions.assertThat(filter(List.of(CHICKEN), List.of(), false, 8)).containsExactly(10L);
+        Assertions.assertThat(filter(List.of(), List.of(), true, null)).containsExactly(13L);
+        Assertions.assertThat(recipeFilterIndex.size()).isEqualTo(4);
+    }
+
+    @Test
+    void testOlderChangesArrivingLateAreDropped() {
+        final RecipeFacets chicken = new RecipeFacets(10, 1, USER, "Recipe 10", false, 8, Set.of(CHICKEN), Set.of());
+        // two nodes wrote recipe 10 one after the other, this node hears from the second first
+        recipeFilterIndex.onRecipeChanged(new RecipeChangedEvent(chicken, new RecipeFacets(10, 2, USER, "Recipe 10", false, 3, Set.of(PEPPER), Set.of())));
+        recipeFilterIndex.onRecipeChanged(new RecipeChangedEvent(new RecipeFacets(10, 0, USER, "Recipe 10", true, 2, Set.of(SALT, PEPPER), Set.of()), chicken));
+        // an update of recipe 12 delivered after its deletion
+        final RecipeFacets twelve = new RecipeFacets(12, 0, USER, "Recipe 12", true, 6, Set.of(SALT), Set.of());
+        recipeFilterIndex.onRecipeChanged(new RecipeChangedEvent(twelve, null));
+        recipeFilterIndex.onRecipeChanged(new RecipeChangedEvent(twelve, new RecipeFacets(12, 1, USER, "Recipe 12", true, 6, Set.of(CHICKEN), Set.of())));
+
+        Assertions.assertThat(filter(List.of(SALT), List.of(), null, null)).containsExactly(11L);
+        Assertions.assertThat(filter(List.of(CHICKEN), List.of(), null, null)).containsExactly(11L);
+        Assertions.assertThat(filter(List.of(PEPPER), List.of(), null, null)).containsExactly(10L, 13L);
+        Assertions.assertThat(filter(List.of(), List.of(), false, 3)).containsExactly(10L, 11L);
+        Assertions.assertThat(filter(List.of(), List.of(), null, 4)).containsExactly(11L, 13L);
+        Assertions.assertThat(recipeFilterIndex.size()).isEqualTo(4);
+    }
+
+    @Test
+    void testFilterScansUserRecipesWhenDisabled() {
+        Mockito.clearInvocations(recipeReadRepository);
+        recipeFilterIndex = new RecipeFilterIndex(recipeReadRepository, false, 100);
+        recipeFilterIndex.afterSingletonsInstantiated();
+        create(new RecipeFacets(15, 0, USER, "Recipe 15", true, 2, Set.of(SALT), Set.of()));
+        mockUserFacets(new RecipeFacets(10, 0, USER, "Recipe 10", true, 2, Set.of(SALT, PEPPER), Set.of()),
+                new RecipeFacets(11, 0, USER, "Recipe 11", false, 4, Set.of(SALT, CHICKEN), Set.of()),
+                new RecipeFacets(12, 0, USER, "Recipe 12", true, 6, Set.of(SALT), Set.of()));
+
+        Assertions.assertThat(recipeFilterIndex.isLoaded()).isFalse();
+        Assertions.assertThat(recipeFilterIndex.size()).isZero();
+        Assertions.assertThat(filter(List.of(SALT), List.of(CHICKEN), true, 3)).containsExactly(12L);
+        Assertions.assertThat(filter(List.of(SALT), List.of(), null, null)).containsExactly(10L, 11L, 12L);
+        Mockito.verify(recipeReadRepository, Mockito.never()).forEachFacets(Mockito.any());
+    }
+
+    @Test
+    void testIndexIsNotLoadedOverMaxRecipes() {
+        Mockito.doAnswer(invocation -> {
+            final Consumer<RecipeFacets> consumer = invocation.getArgument(0);
+            consumer.accept(new RecipeFacets(10, 0, USER, "Recipe 10", true, 2, Set.of(SALT), Set.of()));
+            consumer.accept(new RecipeFacets(11, 0, USER, "Recipe 11", true, 2, Set.of(SALT), Set.of()));
+            return null;
+        }).when(recipeReadRepository).forEachFacets(Mockito.any());
+        mockUserFacets(new RecipeFacets(10, 0, USER, "Recipe 10", true, 2, Set.of(SALT), Set.of()),
+                new RecipeFacets(11, 0, USER, "Recipe 11", true, 2, Set.of(SALT), Set.of()));
+        recipeFilterIndex = new RecipeFilterIndex(recipeReadRepository, true, 1);
+
+        recipeFilterIndex.afterSingletonsInstantiated();
+
+        Assertions.assertThat(recipeFilterIndex.isLoaded()).isFalse();
+        Assertions.assertThat(recipeFilterIndex.size()).isZero();
+        Assertions.assertThat(filter(List.of(SALT), List.of(), null, null)).containsExactly(10L, 11L);
+    }
+
+    private void mockUserFacets(final RecipeFacets... facets) {
+        Mockito.doAnswer(invocation -> {
+            final Consumer<RecipeFacets> consumer = invocation.getArgument(1);
+            Arrays.stream(facets).forEach(consumer);
+            return null;
+        }).when(recipeReadRepository).forEachFacets(Mockito.eq(USER), Mockito.any());
+    }
+
+    private void create(final RecipeFacets facets) {
+        recipeFilterIndex.onRecipeChanged(new RecipeChangedEvent(null, facets));
+    }
+
+    private List<Long> filter(final List<Integer> include, final List<Integer> exclude, final Boolean vegetarian, final Integer minServes) {
+        return recipeFilterIndex.filter(USER, include, exclude, vegetarian, minServes, PageRequest.of(0, 10)).getContent();
+    }
+}
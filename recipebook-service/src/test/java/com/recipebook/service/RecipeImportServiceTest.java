@@ -0,0 +1,249 @@
+package com.recipebook.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipebook.domain.entities.RecipeImportJob;
+import com.recipebook.domain.entities.User;
+import com.recipebook.domain.exceptions.PayloadTooLargeException;
+import com.recipebook.domain.exceptions.ResourceNotFoundException;
+import com.recipebook.domain.values.RecipeImportJobResponse;
+import com.recipebook.domain.values.RecipeListCriteria;
+import com.recipebook.domain.values.RecipeRequest;
+import com.recipebook.domain.values.UserPrincipal;
+import com.recipebook.repository.RecipeImportJobRepository;
+import com.recipebook.repository.UserRepository;
+import com.recipebook.util.SecurityUtils;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.validation.ValidationException;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs import jobs end to end against H2 and polls them to the end.
+ *
+ * @author - AvanishKishorPandey
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipe-import",
+        "api.recipe.import.maxsize=" + RecipeImportServiceTest.MAX_DUMP_BYTES + "B"
+})
+class RecipeImportServiceTest {
+    static final int MAX_DUMP_BYTES = 64 * 1024;
+    private static final int RECORDS = 250;
+
+    @Autowired
+    private RecipeImportService recipeImportService;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private RecipeImportJobRepository jobRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    public void setup() {
+        SecurityContextHolder.getContext().setAuthentication(newUser());
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testImportRejectsInvalidRecordsAndImportsTheRest() throws Exception {
+        final StringBuilder dump = new StringBuilder();
+        for (int record = 1; record <= RECORDS; record++) {
+            if (record == 7) {
+                dump.append("{\"name\":\" \",\"suitableFor\":0,\"ingredients\":[\"Salt\"],\"cookingInstruction\":\"Stir\"}\n");
+            } else if (record == 200) {
+                dump.append("{\"name\":\"Soup\",\"suitableFor\":\"many\",\"ingredients\":[\"Salt\"],\"cookingInstruction\":\"Stir\"}\n");
+            } else {
+                dump.append(record(record)).append('\n');
+            }
+        }
+
+        final RecipeImportJobResponse queued = recipeImportService.startImport(stream(dump.toString()));
+        final RecipeImportJobResponse job = awaitEnd(queued.getUuid());
+
+        Assertions.assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        Assertions.assertThat(job.getCommittedOffset()).isEqualTo(RECORDS);
+        Assertions.assertThat(job.getImportedCount()).isEqualTo(RECORDS - 2);
+        Assertions.assertThat(job.getRejectedCount()).isEqualTo(2);
+        Assertions.assertThat(job.getFinishedAt()).isNotNull();
+        Assertions.assertThat(job.getErrors()).extracting(RecipeImportJobResponse.RecordError::getRecord).containsExactly(7L, 200L);
+        Assertions.assertThat(job.getErrors().get(0).getMessage())
+                .isEqualTo("Recipe name is required, Recipe should be suitable for minimum 1 person");
+        Assertions.assertThat(job.getErrors().get(1).getMessage()).contains("many");
+        Assertions.assertThat(countRecipes()).isEqualTo(RECORDS - 2);
+    }
+
+    @Test
+    void testImportRejectsValuesLongerThanTheirColumns() throws Exception {
+        final String tooLong = "x".repeat(RecipeRequest.MAX_NAME_LENGTH + 1);
+        final RecipeRequest longName = objectMapper.readValue(record(2), RecipeRequest.class);
+        longName.setName(tooLong);
+        final RecipeRequest longIngredient = objectMapper.readValue(record(3), RecipeRequest.class);
+        longIngredient.setIngredients(Set.of("Salt", tooLong));
+        final String dump = record(1) + '\n' + objectMapper.writeValueAsString(longName) + '\n'
+                + objectMapper.writeValueAsString(longIngredient) + '\n' + record(4) + '\n';
+
+        final RecipeImportJobResponse job = awaitEnd(recipeImportService.startImport(stream(dump)).getUuid());
+
+        Assertions.assertThat(job.getStatus()).isEqualTo("COMPLETED");
+        Assertions.assertThat(job.getImportedCount()).isEqualTo(2);
+        Assertions.assertThat(job.getErrors()).extracting(RecipeImportJobResponse.RecordError::getMessage).containsExactly(
+                "Recipe name must be at most 255 characters", "Ingredient name must be at most 255 characters");
+        Assertions.assertThat(countRecipes()).isEqualTo(2);
+    }
+
+    @Test
+    void testResumeSkipsCommittedRecords() throws Exception {
+        final StringBuilder valid = new StringBuilder();
+        final StringBuilder broken = new StringBuilder();
+        for (int record = 1; record <= RECORDS; record++) {
+            valid.append(record(record)).append('\n');
+            broken.append(record == 230 ? "{\"name\":\"Cut off\"," : record(record)).append('\n');
+        }
+
+        final String jobId = recipeImportService.startImport(stream(broken.toString())).getUuid();
+        final RecipeImportJobResponse failed = awaitEnd(jobId);
+
+        // the first two chunks are committed, the chunk holding the broken record is rolled back
+        Assertions.assertThat(failed.getStatus()).isEqualTo("FAILED");
+        Assertions.assertThat(failed.getCommittedOffset()).isEqualTo(2L * RecipeImportService.CHUNK_SIZE);
+        Assertions.assertThat(failed.getImportedCount()).isEqualTo(2L * RecipeImportService.CHUNK_SIZE);
+        Assertions.assertThat(failed.getFailure()).startsWith("The dump is not valid NDJSON at line 231");
+        Assertions.assertThat(countRecipes()).isEqualTo(2L * RecipeImportService.CHUNK_SIZE);
+
+        recipeImportService.resumeImport(jobId, stream(valid.toString()));
+        final RecipeImportJobResponse completed = awaitEnd(jobId);
+
+        Assertions.assertThat(completed.getStatus()).isEqualTo("COMPLETED");
+        Assertions.assertThat(completed.getFailure()).isNull();
+        Assertions.assertThat(completed.getCommittedOffset()).isEqualTo(RECORDS);
+        Assertions.assertThat(completed.getImportedCount()).isEqualTo(RECORDS);
+        Assertions.assertThat(countRecipes()).isEqualTo(RECORDS);
+    }
+
+    @Test
+    void testResumeRequiresFailedJob() throws Exception {
+        final String jobId = recipeImportService.startImport(stream(record(1))).getUuid();
+        Assertions.assertThat(awaitEnd(jobId).getStatus()).isEqualTo("COMPLETED");
+
+        assertThatThrownBy(() -> recipeImportService.resumeImport(jobId, stream(record(1))))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Only a failed import can be resumed, import '" + jobId + "' is COMPLETED.");
+    }
+
+    @Test
+    void testImportRejectsDumpOverMaxSize() {
+        final String dump = " ".repeat(MAX_DUMP_BYTES + 1);
+
+        assertThatThrownBy(() -> recipeImportService.startImport(stream(dump)))
+                .isInstanceOf(PayloadTooLargeException.class)
+                .hasMessage("The dump is larger than the import limit of " + MAX_DUMP_BYTES + " bytes.");
+    }
+
+    @Test
+    void testResumeRejectsDumpOverMaxSize() throws Exception {
+        final String jobId = recipeImportService.startImport(stream("{\"name\":\"Cut off\",")).getUuid();
+        Assertions.assertThat(awaitEnd(jobId).getStatus()).isEqualTo("FAILED");
+
+        assertThatThrownBy(() -> recipeImportService.resumeImport(jobId, stream(" ".repeat(MAX_DUMP_BYTES + 1))))
+                .isInstanceOf(PayloadTooLargeException.class);
+        Assertions.assertThat(recipeImportService.findJob(jobId).getStatus()).isEqualTo("FAILED");
+    }
+
+    @Test
+    void testOnlyJobsWithExpiredLeaseAreFailed() {
+        final RecipeImportJob stopped = otherNodeJob(LocalDateTime.now().minusHours(1));
+        final RecipeImportJob running = otherNodeJob(LocalDateTime.now());
+
+        recipeImportService.failExpiredJobs();
+
+        final RecipeImportJobResponse failed = recipeImportService.findJob(stopped.getGuid());
+        Assertions.assertThat(failed.getStatus()).isEqualTo("FAILED");
+        Assertions.assertThat(failed.getFailure()).isEqualTo("The import was interrupted, resume it to continue.");
+        Assertions.assertThat(jobRepository.findOneByGuid(stopped.getGuid()).orElseThrow().getNodeId()).isNull();
+        Assertions.assertThat(recipeImportService.findJob(running.getGuid()).getStatus()).isEqualTo("RUNNING");
+    }
+
+    @Test
+    void testJobIsOnlyVisibleToItsOwner() throws Exception {
+        final String jobId = recipeImportService.startImport(stream(record(1))).getUuid();
+        awaitEnd(jobId);
+
+        SecurityContextHolder.getContext().setAuthentication(newUser());
+
+        assertThatThrownBy(() -> recipeImportService.findJob(jobId)).isInstanceOf(ResourceNotFoundException.class);
+        assertThatThrownBy(() -> recipeImportService.resumeImport(jobId, stream(record(1)))).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private RecipeImportJobResponse awaitEnd(final String jobId) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 30_000;
+        RecipeImportJobResponse job = recipeImportService.findJob(jobId);
+        while (!job.getStatus().equals("COMPLETED") && !job.getStatus().equals("FAILED")) {
+            Assertions.assertThat(System.currentTimeMillis()).as("import %s did not end", jobId).isLessThan(deadline);
+            Thread.sleep(50);
+            job = recipeImportService.findJob(jobId);
+        }
+        return job;
+    }
+
+    private RecipeImportJob otherNodeJob(final LocalDateTime heartbeatOn) {
+        final RecipeImportJob job = new RecipeImportJob();
+        job.setUser(userRepository.getById(SecurityUtils.getCurrentUserId()));
+        job.setStatus(RecipeImportJob.Status.RUNNING);
+        job.setNodeId(UUID.randomUUID().toString());
+        job.setHeartbeatOn(heartbeatOn);
+        return jobRepository.save(job);
+    }
+
+    private long countRecipes() {
+        return recipeService.findAll(RecipeListCriteria.builder().build(), 0, 1).getTotalItems();
+    }
+
+    private String record(final int record) throws Exception {
+        final RecipeRequest recipeRequest = new RecipeRequest();
+        recipeRequest.setName("Imported recipe " + record);
+        recipeRequest.setVegetarian(record % 2 == 0);
+        recipeRequest.setSuitableFor(2);
+        recipeRequest.setIngredients(Set.of("Import shared", "Import ingredient " + record % 10));
+        recipeRequest.setCookingInstruction("Cook recipe " + record);
+        return objectMapper.writeValueAsString(recipeRequest);
+    }
+
+    private static InputStream stream(final String dump) {
+        return new ByteArrayInputStream(dump.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private UsernamePasswordAuthenticationToken newUser() {
+        User user = new User();
+        user.setFirstName("Junit");
+        user.setLastName("Test");
+        user.setEmailAddress(UUID.randomUUID() + "@recipebook.com");
+        user = userRepository.save(user);
+        return new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(user.getId(), user.getGuid(), user.getFirstName(), user.getLastName(), null), null, null);
+    }
+}
@@ -0,0 +1,66 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.values.RecipeListCriteria;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.data.domain.Sort;
+
+import javax.validation.ValidationException;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+
+class RecipeListingTest {
+    @ParameterizedTest
+    @CsvSource({
+            "createdOn, CREATED_ON, ASC",
+            "'name,desc', NAME, DESC",
+            "'suitableFor, Asc', SUITABLE_FOR, ASC"
+    })
+    void testParsesSort(String sort, RecipeListing.SortKey sortKey, Sort.Direction direction) {
+        RecipeListing listing = RecipeListing.of(RecipeListCriteria.builder().sort(sort).build());
+
+        Assertions.assertThat(listing.getSortKey()).isEqualTo(sortKey);
+        Assertions.assertThat(listing.getDirection()).isEqualTo(direction);
+    }
+
+    @Test
+    void testDefaultIsUnfilteredCreationOrder() {
+        Assertions.assertThat(RecipeListing.of(RecipeListCriteria.builder().build()).isDefault()).isTrue();
+        Assertions.assertThat(RecipeListing.of(RecipeListCriteria.builder().sort("createdOn,asc").build()).isDefault()).isTrue();
+        Assertions.assertThat(RecipeListing.of(RecipeListCriteria.builder().sort("createdOn,desc").build()).isDefault()).isFalse();
+        Assertions.assertThat(RecipeListing.of(RecipeListCriteria.builder().vegetarian(false).build()).isDefault()).isFalse();
+    }
+
+    @Test
+    void testRejectsUnindexedSort() {
+        assertThatThrownBy(() -> RecipeListing.of(RecipeListCriteria.builder().sort("instruction").build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Sorting by 'instruction' is not supported, use one of createdOn, name, suitableFor.");
+        assertThatThrownBy(() -> RecipeListing.of(RecipeListCriteria.builder().sort("name,up").build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Sort direction must be 'asc' or 'desc'.");
+        assertThatThrownBy(() -> RecipeListing.of(RecipeListCriteria.builder().sort("name,asc,id").build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Sort must be 'field' or 'field,asc|desc'.");
+    }
+
+    @Test
+    void testRejectsMinServesOutsideSuitableForIndex() {
+        assertThatThrownBy(() -> RecipeListing.of(RecipeListCriteria.builder().sort("name").minServes(2).build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Filtering on minServes is only supported when sorting by suitableFor.");
+        assertThatThrownBy(() -> RecipeListing.of(RecipeListCriteria.builder().minServes(2).build()))
+                .isInstanceOf(ValidationException.class);
+        assertThatThrownBy(() -> RecipeListing.of(RecipeListCriteria.builder().sort("suitableFor").minServes(0).build()))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("minServes must be at least 1.");
+        Assertions.assertThat(RecipeListing.of(RecipeListCriteria.builder().sort("suitableFor,desc").minServes(2).vegetarian(true).build()).getMinServes())
+                .isEqualTo(2);
+    }
+}
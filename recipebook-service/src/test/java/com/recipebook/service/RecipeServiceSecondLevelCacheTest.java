@@ -0,0 +1,269 @@
+package com.recipebook.service;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.topic.ITopic;
+import com.recipebook.domain.entities.Recipe;
+import com.recipebook.domain.entities.User;
+import com.recipebook.domain.entities.UserCredential;
+import com.recipebook.domain.exceptions.ResourceNotFoundException;
+import com.recipebook.domain.values.RecipeChangedEvent;
+import com.recipebook.domain.values.RecipeFacets;
+import com.recipebook.domain.values.RecipeRequest;
+import com.recipebook.domain.values.RecipeResponse;
+import com.recipebook.domain.values.SignupRequest;
+import com.recipebook.domain.values.UserPrincipal;
+import com.recipebook.repository.UserRepository;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Runs the recipe calls with the Hazelcast second-level cache of the prod profile, on H2. A second member, standing
+ * in for another node, joins the cluster of the application's member and exchanges invalidations and recipe changes
+ * with it.
+ *
+ * @author - AvanishKishorPandey
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipe-cache",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.cache.use_second_level_cache=true",
+        "spring.jpa.properties.hibernate.cache.use_query_cache=true",
+        "spring.jpa.properties.hibernate.cache.region.factory_class=com.hazelcast.hibernate.HazelcastLocalCacheRegionFactory",
+        "spring.jpa.properties.hibernate.cache.hazelcast.instance_name=recipebook-cache-test",
+        "api.cache.hazelcast.clustername=" + RecipeServiceSecondLevelCacheTest.CLUSTER_NAME,
+        "api.cache.hazelcast.members=127.0.0.1"
+})
+class RecipeServiceSecondLevelCacheTest {
+    static final String CLUSTER_NAME = "recipebook-cache-test";
+
+    private static HazelcastInstance otherNode;
+
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private RecipeFilterIndex recipeFilterIndex;
+
+    @Autowired
+    private RecipeUserDetailsService userDetailsService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private Statistics statistics;
+
+    @BeforeAll
+    static void startOtherNode() {
+        final Config config = new Config().setClusterName(CLUSTER_NAME).setProperty("hazelcast.phone.home.enabled", "false");
+        config.getNetworkConfig().getJoin().getMulticastConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getAutoDetectionConfig().setEnabled(false);
+        config.getNetworkConfig().getJoin().getTcpIpConfig().setEnabled(true).addMember("127.0.0.1");
+        config.getNetworkConfig().getInterfaces().setEnabled(true).addInterface("127.0.0.1");
+        otherNode = Hazelcast.newHazelcastInstance(config);
+    }
+
+    @AfterAll
+    static void stopOtherNode() {
+        otherNode.shutdown();
+    }
+
+    @BeforeEach
+    public void setup() {
+        User user = new User();
+        user.setFirstName("Junit");
+        user.setLastName("Test");
+        user.setEmailAddress(UUID.randomUUID() + "@recipebook.com");
+        user = userRepository.save(user);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(user.getId(), user.getGuid(), user.getFirstName(), user.getLastName(), null), null, null));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testRepeatFindByGuidHitsCache() {
+        final String recipeGuid = recipeService.createRecipe(mockRecipeRequest()).getUuid();
+        recipeService.findByGuid(recipeGuid);
+        statistics.clear();
+
+        final RecipeResponse recipeResponse = recipeService.findByGuid(recipeGuid);
+
+        Assertions.assertThat(recipeResponse.getIngredients()).containsExactlyInAnyOrder("Test Ingredient1", "Test Ingredient2", "Test Ingredient3");
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+        Assertions.assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getDomainDataRegionStatistics(Recipe.class.getName()).getHitCount()).isEqualTo(1);
+        // the recipe_ingredient collection, then each of its three ingredients
+        Assertions.assertThat(statistics.getSecondLevelCacheHitCount()).isEqualTo(5);
+        Assertions.assertThat(statistics.getSecondLevelCacheMissCount()).isZero();
+    }
+
+    @Test
+    void testUserIsCached() {
+        final Long userId = currentUserId();
+        userRepository.findById(userId);
+        statistics.clear();
+
+        Assertions.assertThat(userRepository.findById(userId)).isPresent();
+
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+        Assertions.assertThat(statistics.getDomainDataRegionStatistics(User.class.getName()).getHitCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testUpdateIsVisibleThroughCache() {
+        final RecipeRequest request = mockRecipeRequest();
+        request.setGuid(recipeService.createRecipe(request).getUuid());
+        recipeService.findByGuid(request.getGuid());
+
+        request.setName("Updated");
+        request.setIngredients(Set.of("Test Ingredient1", "Test Ingredient4"));
+        recipeService.updateRecipe(request);
+
+        final RecipeResponse recipeResponse = recipeService.findByGuid(request.getGuid());
+        Assertions.assertThat(recipeResponse.getName()).isEqualTo("Updated");
+        Assertions.assertThat(recipeResponse.getIngredients()).containsExactlyInAnyOrder("Test Ingredient1", "Test Ingredient4");
+    }
+
+    @Test
+    void testConditionalUpdateEvictsRecipe() {
+        final RecipeRequest request = mockRecipeRequest();
+        final RecipeResponse created = recipeService.createRecipe(request);
+        request.setGuid(created.getUuid());
+        recipeService.findByGuid(request.getGuid());
+        userRepository.findById(currentUserId());
+
+        request.setName("Updated");
+        request.setIngredients(Set.of("Test Ingredient1", "Test Ingredient4"));
+        recipeService.updateRecipe(request, created.getVersion());
+
+        // the native recipe_ingredient writes only evict the collections, the cached users stay
+        statistics.clear();
+        userRepository.findById(currentUserId());
+        Assertions.assertThat(statistics.getDomainDataRegionStatistics(User.class.getName()).getHitCount()).isEqualTo(1);
+
+        final RecipeResponse recipeResponse = recipeService.findByGuid(request.getGuid());
+        Assertions.assertThat(recipeResponse.getName()).isEqualTo("Updated");
+        Assertions.assertThat(recipeResponse.getVersion()).isEqualTo(created.getVersion() + 1);
+        Assertions.assertThat(recipeResponse.getIngredients()).containsExactlyInAnyOrder("Test Ingredient1", "Test Ingredient4");
+    }
+
+    @Test
+    void testSoftDeleteEvictsRecipeOnEveryNode() throws InterruptedException {
+        final String recipeGuid = recipeService.createRecipe(mockRecipeRequest()).getUuid();
+        recipeService.findByGuid(recipeGuid);
+        Assertions.assertThat(otherNode.getCluster().getMembers()).hasSize(2);
+        final CountDownLatch invalidated = new CountDownLatch(1);
+        otherNode.getTopic(Recipe.class.getName()).addMessageListener(message -> invalidated.countDown());
+
+        recipeService.deleteRecipe(recipeGuid);
+
+        Assertions.assertThat(invalidated.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThatThrownBy(() -> recipeService.findByGuid(recipeGuid)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void testRecipeChangesArePublishedToOtherNodes() throws InterruptedException {
+        final BlockingQueue<RecipeChangedEvent> changes = new LinkedBlockingQueue<>();
+        final ITopic<RecipeChangedEvent> topic = otherNode.getTopic(RecipeChangeBroadcaster.TOPIC_NAME);
+        final UUID registration = topic.addMessageListener(message -> changes.add(message.getMessageObject()));
+        try {
+            recipeService.createRecipe(mockRecipeRequest());
+
+            final RecipeChangedEvent change = changes.poll(10, TimeUnit.SECONDS);
+            Assertions.assertThat(change).isNotNull();
+            Assertions.assertThat(change.getBefore()).isNull();
+            Assertions.assertThat(change.getAfter().getUserId()).isEqualTo(currentUserId());
+            Assertions.assertThat(change.getAfter().getIngredientNames()).containsExactlyInAnyOrder("Test Ingredient1", "Test Ingredient2", "Test Ingredient3");
+        } finally {
+            topic.removeMessageListener(registration);
+        }
+    }
+
+    @Test
+    void testRecipeChangesOfOtherNodesUpdateFilterIndex() throws InterruptedException {
+        final long userId = currentUserId();
+        final RecipeFacets facets = new RecipeFacets(Integer.MAX_VALUE - 1L, 0, userId, "Remote", true, 3, Set.of(), Set.of());
+
+        otherNode.<RecipeChangedEvent>getTopic(RecipeChangeBroadcaster.TOPIC_NAME).publish(new RecipeChangedEvent(null, facets));
+
+        final long deadline = System.currentTimeMillis() + 10_000;
+        while (recipeFilterIndex.filter(userId, List.of(), List.of(), null, null, PageRequest.of(0, 10)).isEmpty()) {
+            Assertions.assertThat(System.currentTimeMillis()).as("remote change was not applied").isLessThan(deadline);
+            Thread.sleep(50);
+        }
+        Assertions.assertThat(recipeFilterIndex.filter(userId, List.of(), List.of(), null, null, PageRequest.of(0, 10)).getContent())
+                .containsExactly(facets.getRecipeId());
+    }
+
+    @Test
+    void testCachedUserHoldsNoPasswordHash() {
+        final SignupRequest signupRequest = new SignupRequest();
+        signupRequest.setFirstName("Cached");
+        signupRequest.setLastName("User");
+        signupRequest.setEmail(UUID.randomUUID() + "@recipebook.com");
+        signupRequest.setPassword("AbcD@123");
+        userDetailsService.registerUser(signupRequest);
+
+        final UserDetails userDetails = userDetailsService.loadUserByUsername(signupRequest.getEmail());
+
+        Assertions.assertThat(passwordEncoder.matches("AbcD@123", userDetails.getPassword())).isTrue();
+        final SessionFactoryImplementor sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        final EntityPersister users = sessionFactory.getMetamodel().entityPersister(User.class);
+        // the cached entry of a user is the state of these properties
+        Assertions.assertThat(users.canWriteToCache()).isTrue();
+        Assertions.assertThat(users.getPropertyNames()).doesNotContain("passwordHash");
+        Assertions.assertThat(sessionFactory.getMetamodel().entityPersister(UserCredential.class).canWriteToCache()).isFalse();
+    }
+
+    private static Long currentUserId() {
+        return ((UserPrincipal) SecurityContextHolder.getContext().getAuthentication().getPrincipal()).getId();
+    }
+
+    private RecipeRequest mockRecipeRequest() {
+        RecipeRequest recipeRequest = new RecipeRequest();
+        recipeRequest.setName("Test");
+        recipeRequest.setVegetarian(true);
+        recipeRequest.setSuitableFor(2);
+        recipeRequest.setIngredients(Set.of("Test Ingredient1", "Test Ingredient2", "Test Ingredient3"));
+        recipeRequest.setCookingInstruction("Test Cooking Instruction");
+        return recipeRequest;
+    }
+}
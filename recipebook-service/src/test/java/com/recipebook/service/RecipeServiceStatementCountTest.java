@@ -0,0 +1,549 @@
+package com.recipebook.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipebook.domain.entities.User;
+import com.recipebook.domain.exceptions.PreconditionFailedException;
+import com.recipebook.domain.exceptions.ResourceNotFoundException;
+import com.recipebook.domain.values.PageResponse;
+import com.recipebook.domain.values.RecipeDeleteResult;
+import com.recipebook.domain.values.RecipeFilter;
+import com.recipebook.domain.values.RecipeListCriteria;
+import com.recipebook.domain.values.RecipeRequest;
+import com.recipebook.domain.values.RecipeResponse;
+import com.recipebook.domain.values.RecipeSuggestions;
+import com.recipebook.domain.values.UserPrincipal;
+import com.recipebook.repository.IngredientRepository;
+import com.recipebook.repository.UserRepository;
+import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import javax.persistence.EntityManagerFactory;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Counts the JDBC statements each recipe call issues, using Hibernate statistics.
+ *
+ * @author - AvanishKishorPandey
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:recipe-statements",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class RecipeServiceStatementCountTest {
+    @Autowired
+    private RecipeService recipeService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private IngredientRepository ingredientRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setup() {
+        User user = new User();
+        user.setFirstName("Junit");
+        user.setLastName("Test");
+        user.setEmailAddress(UUID.randomUUID() + "@recipebook.com");
+        user = userRepository.save(user);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(user.getId(), user.getGuid(), user.getFirstName(), user.getLastName(), null), null, null));
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void testCreateRecipeDoesNotLoadUser() {
+        // warms the ingredient dictionary
+        recipeService.createRecipe(mockRecipeRequest());
+        statistics.clear();
+
+        recipeService.createRecipe(mockRecipeRequest());
+
+        Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+        Assertions.assertThat(statistics.getQueryExecutionCount()).isZero();
+        // recipe insert and one batched insert for the ingredients, plus the recipe sequence once per block of ids
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isBetween(2L, 3L);
+    }
+
+    @Test
+    void testCreateRecipesBatchesInserts() {
+        final List<RecipeRequest> createRequests = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            final RecipeRequest recipeRequest = mockRecipeRequest();
+            recipeRequest.setName("Batch recipe " + i);
+            recipeRequest.setIngredients(Set.of("Batch shared", "Batch ingredient " + i));
+            createRequests.add(recipeRequest);
+        }
+        statistics.clear();
+
+        final List<RecipeResponse> created = recipeService.createRecipes(createRequests);
+
+        Assertions.assertThat(created).extracting(RecipeResponse::getName)
+                .containsExactlyElementsOf(createRequests.stream().map(RecipeRequest::getName).collect(Collectors.toList()));
+        // 41 ingredients and 40 recipes
+        Assertions.assertThat(statistics.getEntityInsertCount()).isEqualTo(81);
+        Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+        // one dictionary lookup, then one batch each for the ingredient, recipe and recipe_ingredient rows,
+        // plus at most one call of each sequence for the 41 ingredient and 40 recipe ids
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isBetween(4L, 6L);
+        Assertions.assertThat(recipeService.findByGuid(created.get(39).getUuid()).getIngredients())
+                .containsExactlyInAnyOrder("Batch shared", "Batch ingredient 39");
+    }
+
+    @Test
+    void testRecipesShareNormalizedIngredients() {
+        final RecipeRequest first = mockRecipeRequest();
+        first.setIngredients(Set.of("Shared Salt", "Only In First"));
+        final RecipeRequest second = mockRecipeRequest();
+        second.setIngredients(Set.of("  shared   SALT ", "Only In Second"));
+
+        RecipeResponse firstResponse = recipeService.createRecipe(first);
+        RecipeResponse secondResponse = recipeService.createRecipe(second);
+
+        Assertions.assertThat(firstResponse.getIngredients()).containsExactlyInAnyOrder("Shared Salt", "Only In First");
+        // the shared entry keeps the spelling of the recipe that created it
+        Assertions.assertThat(secondResponse.getIngredients()).containsExactlyInAnyOrder("Shared Salt", "Only In Second");
+        Assertions.assertThat(ingredientRepository.findAllByNameIn(List.of("shared salt", "only in first", "only in second"))).hasSize(3);
+    }
+
+    @Test
+    void testFindByGuidRunsOneStatement() {
+        final String recipeGuid = recipeService.createRecipe(mockRecipeRequest()).getUuid();
+        statistics.clear();
+
+        RecipeResponse recipeResponse = recipeService.findByGuid(recipeGuid);
+
+        Assertions.assertThat(recipeResponse.getIngredients()).hasSize(3);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testFindVersionReadsOnlyTheVersion() {
+        final RecipeRequest request = mockRecipeRequest();
+        request.setGuid(recipeService.createRecipe(request).getUuid());
+        Assertions.assertThat(recipeService.findByGuid(request.getGuid()).getVersion()).isZero();
+        request.setName("Updated");
+        recipeService.updateRecipe(request);
+        statistics.clear();
+
+        Assertions.assertThat(recipeService.findVersion(request.getGuid())).contains(1);
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+        Assertions.assertThat(recipeService.findByGuid(request.getGuid()).getVersion()).isEqualTo(1);
+        Assertions.assertThat(recipeService.findVersion(UUID.randomUUID().toString())).isEmpty();
+    }
+
+    @Test
+    void testListFingerprintChangesWithEveryWrite() {
+        final RecipeRequest request = mockRecipeRequest();
+        final List<String> fingerprints = new ArrayList<>();
+        fingerprints.add(recipeService.listFingerprint());
+        final String deletedGuid = recipeService.createRecipe(request).getUuid();
+        fingerprints.add(recipeService.listFingerprint());
+        request.setGuid(recipeService.createRecipe(request).getUuid());
+        fingerprints.add(recipeService.listFingerprint());
+        request.setName("Updated");
+        recipeService.updateRecipe(request);
+        fingerprints.add(recipeService.listFingerprint());
+        recipeService.deleteRecipe(deletedGuid);
+        statistics.clear();
+        fingerprints.add(recipeService.listFingerprint());
+
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Assertions.assertThat(fingerprints).doesNotHaveDuplicates();
+        Assertions.assertThat(recipeService.listFingerprint()).isEqualTo(fingerprints.get(fingerprints.size() - 1));
+    }
+
+    @Test
+    void testUpdateRecipeLooksUpRecipeOnce() {
+        final String recipeGuid = recipeService.createRecipe(mockRecipeRequest()).getUuid();
+        final RecipeRequest updateRequest = mockRecipeRequest();
+        updateRequest.setGuid(recipeGuid);
+        updateRequest.setName("Updated");
+        statistics.clear();
+
+        recipeService.updateRecipe(updateRequest);
+
+        Assertions.assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+        // the recipe and its three ingredients, from the same statement
+        Assertions.assertThat(statistics.getEntityLoadCount()).isEqualTo(4);
+        Assertions.assertThat(statistics.getCollectionFetchCount()).isZero();
+    }
+
+    @Test
+    void testUpdateRecipeWritesOnlyChangedIngredients() {
+        final RecipeRequest request = mockRecipeRequest();
+        request.setGuid(recipeService.createRecipe(request).getUuid());
+        statistics.clear();
+
+        recipeService.updateRecipe(request);
+
+        // the recipe with its ingredients; nothing changed, so nothing is written and the version stays
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getEntityUpdateCount()).isZero();
+        Assertions.assertThat(statistics.getCollectionRecreateCount()).isZero();
+
+        final RecipeRequest other = mockRecipeRequest();
+        other.setIngredients(Set.of("Test Ingredient4"));
+        // puts the new ingredient in the dictionary
+        recipeService.createRecipe(other);
+        request.setIngredients(Set.of("Test Ingredient1", "Test Ingredient2", "Test Ingredient3", "Test Ingredient4"));
+        statistics.clear();
+
+        recipeService.updateRecipe(request);
+
+        // the recipe, the version bump and one row insert
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        Assertions.assertThat(statistics.getCollectionRecreateCount()).isZero();
+
+        request.setIngredients(Set.of("Test Ingredient1", "Test Ingredient2", "Test Ingredient4"));
+        statistics.clear();
+
+        RecipeResponse recipeResponse = recipeService.updateRecipe(request);
+
+        // the recipe, the version bump and one row delete
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        Assertions.assertThat(statistics.getCollectionRecreateCount()).isZero();
+        Assertions.assertThat(statistics.getCollectionRemoveCount()).isZero();
+        Assertions.assertThat(recipeResponse.getVersion()).isEqualTo(2);
+        Assertions.assertThat(recipeService.findByGuid(request.getGuid()).getIngredients())
+                .containsExactlyInAnyOrder("Test Ingredient1", "Test Ingredient2", "Test Ingredient4");
+    }
+
+    @Test
+    void testConditionalUpdateWritesOnlyWhatChanged() {
+        final RecipeRequest request = mockRecipeRequest();
+        request.setGuid(recipeService.createRecipe(request).getUuid());
+        request.setName("Conditional");
+        statistics.clear();
+
+        RecipeResponse renamed = recipeService.updateRecipe(request, 0);
+
+        Assertions.assertThat(renamed.getName()).isEqualTo("Conditional");
+        Assertions.assertThat(renamed.getVersion()).isEqualTo(1);
+        // the versioned update alone; the recipe is read back over JDBC and the ingredients are unchanged
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+
+        final RecipeRequest other = mockRecipeRequest();
+        other.setIngredients(Set.of("Conditional Ingredient"));
+        // puts the new ingredient in the dictionary
+        recipeService.createRecipe(other);
+        request.setIngredients(Set.of("Test Ingredient1", "Test Ingredient2", "Conditional Ingredient"));
+        statistics.clear();
+
+        RecipeResponse reworked = recipeService.updateRecipe(request, 1);
+
+        Assertions.assertThat(reworked.getIngredients()).containsExactlyInAnyOrder("Test Ingredient1", "Test Ingredient2", "Conditional Ingredient");
+        Assertions.assertThat(reworked.getVersion()).isEqualTo(2);
+        // the versioned update, then one delete and one insert for the changed ingredient
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        Assertions.assertThat(recipeService.findByGuid(request.getGuid())).isEqualTo(reworked);
+        Assertions.assertThatThrownBy(() -> recipeService.updateRecipe(request, 1)).isInstanceOf(PreconditionFailedException.class);
+    }
+
+    @Test
+    void testDeleteRecipeRunsFacetsReadAndOneUpdate() {
+        final String recipeGuid = recipeService.createRecipe(mockRecipeRequest()).getUuid();
+        statistics.clear();
+
+        recipeService.deleteRecipe(recipeGuid);
+
+        // the soft delete; the facets for the indexes are read over JDBC beforehand, a second statement that
+        // Hibernate does not count
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+        Assertions.assertThat(statistics.getCollectionLoadCount()).isZero();
+        Assertions.assertThatThrownBy(() -> recipeService.findByGuid(recipeGuid)).isInstanceOf(ResourceNotFoundException.class);
+        Assertions.assertThatThrownBy(() -> recipeService.deleteRecipe(recipeGuid)).isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    @Test
+    void testDeleteRecipesRunsOneUpdateForAllIds() {
+        final List<String> guids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            guids.add(recipeService.createRecipe(mockRecipeRequest()).getUuid());
+        }
+        final String kept = recipeService.createRecipe(mockRecipeRequest()).getUuid();
+        statistics.clear();
+
+        List<RecipeDeleteResult> results = recipeService.deleteRecipes(guids);
+
+        Assertions.assertThat(results).extracting(RecipeDeleteResult::getStatus).containsOnly(RecipeDeleteResult.Status.DELETED).hasSize(5);
+        // one UPDATE for all ids, after one JDBC read of their facets
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Assertions.assertThat(recipeService.findAll(0, 10).getContents()).extracting(RecipeResponse::getUuid).containsExactly(kept);
+
+        final String missing = UUID.randomUUID().toString();
+        statistics.clear();
+
+        results = recipeService.deleteRecipes(List.of(guids.get(0), missing, kept));
+
+        Assertions.assertThat(results).containsExactly(new RecipeDeleteResult(guids.get(0), RecipeDeleteResult.Status.NOT_FOUND),
+                new RecipeDeleteResult(missing, RecipeDeleteResult.Status.NOT_FOUND), new RecipeDeleteResult(kept, RecipeDeleteResult.Status.DELETED));
+        // the soft delete, then the lookup of the ids that were not the user's
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {1, 4, 6})
+    void testFindAllRunsConstantStatementCount(int size) {
+        for (int i = 0; i < 12; i++) {
+            recipeService.createRecipe(mockRecipeRequest());
+        }
+        statistics.clear();
+
+        PageResponse<RecipeResponse> pageResponse = recipeService.findAll(1, size);
+
+        Assertions.assertThat(pageResponse.getContents()).hasSize(size);
+        Assertions.assertThat(pageResponse.getTotalItems()).isEqualTo(12);
+        Assertions.assertThat(pageResponse.getContents()).allSatisfy(recipe -> Assertions.assertThat(recipe.getIngredients()).hasSize(3));
+        // page positions and page count; the recipes with their ingredients are read over JDBC
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+        Assertions.assertThat(statistics.getCollectionLoadCount()).isZero();
+    }
+
+    @Test
+    void testFindAllBuildsSameResponsesAsEntityPath() {
+        for (int i = 0; i < 3; i++) {
+            recipeService.createRecipe(mockRecipeRequest());
+        }
+
+        PageResponse<RecipeResponse> pageResponse = recipeService.findAll(0, 10);
+
+        Assertions.assertThat(pageResponse.getContents()).hasSize(3)
+                .allSatisfy(recipe -> Assertions.assertThat(recipe).isEqualTo(recipeService.findByGuid(recipe.getUuid())));
+    }
+
+    @Test
+    void testFindAllKeepsCreationOrder() {
+        final String first = recipeService.createRecipe(mockRecipeRequest()).getUuid();
+        final String second = recipeService.createRecipe(mockRecipeRequest()).getUuid();
+        final String third = recipeService.createRecipe(mockRecipeRequest()).getUuid();
+
+        PageResponse<RecipeResponse> pageResponse = recipeService.findAll(0, 10);
+
+        Assertions.assertThat(pageResponse.getContents()).extracting(RecipeResponse::getUuid).containsExactly(first, second, third);
+    }
+
+    @Test
+    void testFindAllAfterWalksAllPagesWithConstantStatementCount() {
+        List<String> created = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            created.add(recipeService.createRecipe(mockRecipeRequest()).getUuid());
+        }
+
+        List<String> walked = new ArrayList<>();
+        String cursor = "";
+        do {
+            statistics.clear();
+            PageResponse<RecipeResponse> pageResponse = recipeService.findAllAfter(cursor, 3);
+            // page positions only, no count; the recipes with their ingredients are read over JDBC
+            Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+            Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+            Assertions.assertThat(pageResponse.getTotalItems()).isEqualTo(PageResponse.UNKNOWN);
+            pageResponse.getContents().forEach(recipe -> walked.add(recipe.getUuid()));
+            cursor = pageResponse.getNextCursor();
+        } while (cursor != null);
+
+        Assertions.assertThat(walked).containsExactlyElementsOf(created);
+    }
+
+    @Test
+    void testFindAllReturnsCursorForNextPage() {
+        for (int i = 0; i < 3; i++) {
+            recipeService.createRecipe(mockRecipeRequest());
+        }
+
+        PageResponse<RecipeResponse> firstPage = recipeService.findAll(0, 2);
+        PageResponse<RecipeResponse> nextPage = recipeService.findAllAfter(firstPage.getNextCursor(), 2);
+
+        Assertions.assertThat(nextPage.getContents()).containsExactlyElementsOf(recipeService.findAll(1, 2).getContents());
+        Assertions.assertThat(nextPage.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testFindAllSortsAndFiltersOnIndexedKeys() {
+        final String banana = createRecipe("banana bread", true, 4);
+        final String apple = createRecipe("Apple pie", true, 6);
+        final String cherry = createRecipe("cherry clafoutis", false, 8);
+        final String apricot = createRecipe("apricot tart", true, 2);
+        statistics.clear();
+
+        PageResponse<RecipeResponse> byName = recipeService.findAll(RecipeListCriteria.builder().sort("name").build(), 0, 10);
+
+        Assertions.assertThat(byName.getContents()).extracting(RecipeResponse::getUuid).containsExactly(apple, apricot, banana, cherry);
+        Assertions.assertThat(byName.getTotalItems()).isEqualTo(4);
+        // page ids only, the total is derived from the short page; the recipes are read over JDBC
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+
+        PageResponse<RecipeResponse> servingThree = recipeService.findAll(
+                RecipeListCriteria.builder().sort("suitableFor,desc").vegetarian(true).minServes(3).build(), 0, 1);
+
+        Assertions.assertThat(servingThree.getContents()).extracting(RecipeResponse::getUuid).containsExactly(apple);
+        Assertions.assertThat(servingThree.getTotalItems()).isEqualTo(2);
+        Assertions.assertThat(recipeService.findAll(RecipeListCriteria.builder().sort("name,DESC").vegetarian(false).build(), 0, 10).getContents())
+                .extracting(RecipeResponse::getUuid).containsExactly(cherry);
+    }
+
+    @Test
+    void testFilterFollowsCommittedChanges() {
+        final RecipeRequest kept = mockRecipeRequest();
+        kept.setIngredients(Set.of("Filter Basil", "Filter Garlic"));
+        final String keptGuid = recipeService.createRecipe(kept).getUuid();
+        final RecipeRequest updated = mockRecipeRequest();
+        updated.setIngredients(Set.of("Filter Basil", "Filter Beef"));
+        updated.setVegetarian(false);
+        updated.setGuid(recipeService.createRecipe(updated).getUuid());
+        final String deletedGuid = recipeService.createRecipe(kept).getUuid();
+        updated.setIngredients(Set.of("Filter Basil", "Filter Garlic", "Filter Beef"));
+        recipeService.updateRecipe(updated);
+        recipeService.deleteRecipe(deletedGuid);
+        final RecipeFilter filter = RecipeFilter.builder().include(Set.of("filter basil", "FILTER GARLIC")).build();
+        statistics.clear();
+
+        PageResponse<RecipeResponse> pageResponse = recipeService.filter(filter, 0, 10);
+
+        Assertions.assertThat(pageResponse.getContents()).extracting(RecipeResponse::getUuid).containsExactly(keptGuid, updated.getGuid());
+        Assertions.assertThat(pageResponse.getTotalItems()).isEqualTo(2);
+        // the recipes with their ingredients are read over JDBC, the ingredient ids are cached
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+        filter.setVegetarian(false);
+        Assertions.assertThat(recipeService.filter(filter, 0, 10).getContents()).extracting(RecipeResponse::getUuid).containsExactly(updated.getGuid());
+        filter.setExclude(Set.of("Filter Beef"));
+        Assertions.assertThat(recipeService.filter(filter, 0, 10).getContents()).isEmpty();
+    }
+
+    @Test
+    void testSearchRanksNameMatchesFirstAndWalksPages() {
+        final RecipeRequest instructionMatch = mockRecipeRequest();
+        instructionMatch.setCookingInstruction("Serve with Zucchini fritters");
+        final String instructionGuid = recipeService.createRecipe(instructionMatch).getUuid();
+        final RecipeRequest nameMatch = mockRecipeRequest();
+        nameMatch.setName("Zucchini fritters");
+        final String firstNameGuid = recipeService.createRecipe(nameMatch).getUuid();
+        final String secondNameGuid = recipeService.createRecipe(nameMatch).getUuid();
+        final RecipeRequest partialMatch = mockRecipeRequest();
+        partialMatch.setName("Zucchini soup");
+        recipeService.createRecipe(partialMatch);
+
+        List<String> walked = new ArrayList<>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            PageResponse<RecipeResponse> pageResponse = recipeService.search("zucchini FRITTERS", cursor, 2);
+            // hits and recipes are both read over JDBC
+            Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+            pageResponse.getContents().forEach(recipe -> walked.add(recipe.getUuid()));
+            cursor = pageResponse.getNextCursor();
+        } while (cursor != null);
+
+        Assertions.assertThat(walked).containsExactly(secondNameGuid, firstNameGuid, instructionGuid);
+    }
+
+    @Test
+    void testSuggestRunsNoStatementOnceLoaded() {
+        final RecipeRequest request = mockRecipeRequest();
+        request.setName("Gazpacho");
+        request.setIngredients(Set.of("Garlic", "Tomato"));
+        final String guid = recipeService.createRecipe(request).getUuid();
+        Assertions.assertThat(recipeService.suggest("ga", 10).getRecipes()).containsExactly("Gazpacho");
+        request.setGuid(guid);
+        request.setName("Garden Salad");
+        recipeService.updateRecipe(request);
+        request.setName("Galette");
+        request.setIngredients(Set.of("Gala Apple"));
+        recipeService.createRecipe(request);
+        statistics.clear();
+
+        RecipeSuggestions suggestions = recipeService.suggest("GA", 10);
+
+        Assertions.assertThat(suggestions.getRecipes()).containsExactly("Galette", "Garden Salad");
+        Assertions.assertThat(suggestions.getIngredients()).containsExactly("Gala Apple", "Garlic");
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+        Assertions.assertThat(statistics.getTransactionCount()).isZero();
+    }
+
+    @Test
+    void testExportStreamsRecipesWithoutEntities() throws IOException {
+        final String first = createRecipe("Export first", true, 2);
+        final String deleted = createRecipe("Export deleted", false, 3);
+        final String last = createRecipe("Export last", false, 4);
+        recipeService.deleteRecipe(deleted);
+        statistics.clear();
+
+        final ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        recipeService.exportRecipes(RecipeExportFormat.NDJSON).writeTo(ndjson);
+        final ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        recipeService.exportRecipes(RecipeExportFormat.CSV).writeTo(csv);
+
+        // read over JDBC, nothing goes through the persistence context
+        Assertions.assertThat(statistics.getPrepareStatementCount()).isZero();
+        Assertions.assertThat(statistics.getEntityLoadCount()).isZero();
+        final String[] lines = ndjson.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertThat(lines).hasSize(2);
+        final JsonNode firstLine = objectMapper.readTree(lines[0]);
+        Assertions.assertThat(firstLine.get("uuid").asText()).isEqualTo(first);
+        Assertions.assertThat(firstLine.get("name").asText()).isEqualTo("Export first");
+        Assertions.assertThat(firstLine.get("ingredients")).extracting(JsonNode::asText)
+                .containsExactly("Test Ingredient1", "Test Ingredient2", "Test Ingredient3");
+        Assertions.assertThat(objectMapper.readTree(lines[1]).get("uuid").asText()).isEqualTo(last);
+        Assertions.assertThat(csv.toString(StandardCharsets.UTF_8).split("\n"))
+                .hasSize(3)
+                .startsWith("uuid,createdAt,name,vegetarian,suitableFor,ingredients,cookingInstruction")
+                .anySatisfy(line -> Assertions.assertThat(line)
+                        .contains(last)
+                        .endsWith(",\"Export last\",false,4,\"Test Ingredient1;Test Ingredient2;Test Ingredient3\",\"Test Cooking Instruction\""));
+    }
+
+    private String createRecipe(final String name, final boolean vegetarian, final int suitableFor) {
+        final RecipeRequest request = mockRecipeRequest();
+        request.setName(name);
+        request.setVegetarian(vegetarian);
+        request.setSuitableFor(suitableFor);
+        return recipeService.createRecipe(request).getUuid();
+    }
+
+    private RecipeRequest mockRecipeRequest() {
+        RecipeRequest recipeRequest = new RecipeRequest();
+        recipeRequest.setName("Test");
+        recipeRequest.setVegetarian(true);
+        recipeRequest.setSuitableFor(2);
+        recipeRequest.setIngredients(Set.of("Test Ingredient1", "Test Ingredient2", "Test Ingredient3"));
+        recipeRequest.setCookingInstruction("Test Cooking Instruction");
+        return recipeRequest;
+    }
+}
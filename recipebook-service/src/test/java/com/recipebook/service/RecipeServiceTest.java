@@ -4,20 +4,34 @@ import com.recipebook.domain.entities.Ingredient;
 import com.recipebook.domain.entities.Recipe;
 import com.recipebook.domain.entities.RecipeIngredient;
 import com.recipebook.domain.entities.User;
+import com.recipebook.domain.exceptions.PreconditionFailedException;
 import com.recipebook.domain.exceptions.ResourceNotFoundException;
 import com.recipebook.domain.values.PageResponse;
+import com.recipebook.domain.values.RecipeChangedEvent;
+import com.recipebook.domain.values.RecipeCursor;
+import com.recipebook.domain.values.RecipeDeleteResult;
+import com.recipebook.domain.values.RecipeFacets;
+import com.recipebook.domain.values.RecipeFilter;
+import com.recipebook.domain.values.RecipeListCriteria;
 import com.recipebook.domain.values.RecipeRequest;
 import com.recipebook.domain.values.RecipeResponse;
+import com.recipebook.domain.values.RecipeSearchCursor;
 import com.recipebook.domain.values.UserPrincipal;
+import com.recipebook.repository.RecipeReadRepository;
 import com.recipebook.repository.RecipeRepository;
+import com.recipebook.repository.RecipeSearchRepository;
 import com.recipebook.repository.UserRepository;
+import com.recipebook.service.mappers.RecipeMapper;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
@@ -25,7 +39,9 @@ import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import javax.validation.ValidationException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -43,22 +59,46 @@ class RecipeServiceTest {
     @Mock
     private RecipeRepository recipeRepository;
 
+    @Mock
+    private RecipeReadRepository recipeReadRepository;
+
+    @Mock
+    private RecipeSearchRepository recipeSearchRepository;
+
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private IngredientDictionary ingredientDictionary;
+
+    @Mock
+    private RecipeFilterIndex recipeFilterIndex;
+
+    @Mock
+    private RecipeSuggestionIndex recipeSuggestionIndex;
+
+    @Mock
+    private RecipeExporter recipeExporter;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     private RecipeService recipeService;
 
     @BeforeEach
     public void setup() {
-        recipeService = new RecipeService(recipeRepository, userRepository);
+        recipeService = new RecipeService(recipeRepository, recipeReadRepository, recipeSearchRepository, userRepository, ingredientDictionary, recipeFilterIndex, recipeSuggestionIndex, recipeExporter, eventPublisher);
         recipeService = Mockito.spy(recipeService);
     }
 
     @Test
     void testFindAll() {
         final Recipe recipe = newRecipeEntity();
+        final RecipeResponse recipeResponse = RecipeMapper.INSTANCE.toResponse(recipe);
 
-        Mockito.when(recipeRepository.findByUserGuid(Mockito.anyString(), Mockito.any(Pageable.class))).thenReturn(new PageImpl<>(List.of(recipe)));
+        Mockito.when(recipeRepository.findPositionsByUserId(Mockito.eq(recipe.getUser().getId()), Mockito.any(Pageable.class)))
+                .thenReturn(new PageImpl<>(List.of(new RecipeCursor(recipe.getCreatedOn(), recipe.getId()))));
+        Mockito.when(recipeReadRepository.findAllByIdIn(List.of(recipe.getId()))).thenReturn(List.of(recipeResponse));
         SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
                 new UserPrincipal(recipe.getUser().getId(), recipe.getUser().getGuid(), recipe.getUser().getFirstName(), recipe.getUser().getLastName(),  null)
                 , null, null));
@@ -69,7 +109,81 @@ class RecipeServiceTest {
         Assertions.assertThat(pageResponse.getCurrentPage()).isZero();
         Assertions.assertThat(pageResponse.getTotalItems()).isEqualTo(1);
         Assertions.assertThat(pageResponse.getTotalPages()).isEqualTo(1);
-        Assertions.assertThat(pageResponse.getContents().get(0).getUuid()).isEqualTo(recipe.getGuid());
+        Assertions.assertThat(pageResponse.getContents()).containsExactly(recipeResponse);
+        Assertions.assertThat(pageResponse.getNextCursor()).isNull();
+    }
+
+    @Test
+    void testFindAllAfterRejectsInvalidCursor() {
+        assertThatThrownBy(() -> recipeService.findAllAfter("not-a-cursor", 10))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Invalid cursor 'not-a-cursor'.");
+        Mockito.verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void testFindAllAfterRejectsSortedListing() {
+        assertThatThrownBy(() -> recipeService.findAllAfter("", RecipeListCriteria.builder().sort("name").build(), 10))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Cursor paging is only supported for the default sort without filters.");
+        Mockito.verifyNoInteractions(recipeRepository);
+    }
+
+    @Test
+    void testFilterWithUnknownIngredientSkipsIndex() {
+        Mockito.when(ingredientDictionary.findIds(Set.of("Saffron", "Salt"))).thenReturn(Map.of("salt", 1));
+        RecipeFilter filter = RecipeFilter.builder().include(Set.of("Saffron")).exclude(Set.of("Salt")).build();
+
+        PageResponse<RecipeResponse> pageResponse = recipeService.filter(filter, 0, 10);
+
+        Assertions.assertThat(pageResponse.getContents()).isEmpty();
+        Assertions.assertThat(pageResponse.getTotalItems()).isZero();
+        Mockito.verifyNoInteractions(recipeFilterIndex, recipeReadRepository);
+    }
+
+    @Test
+    void testFilterRejectsMinServesBelowOne() {
+        RecipeFilter filter = RecipeFilter.builder().minServes(0).build();
+
+        assertThatThrownBy(() -> recipeService.filter(filter, 0, 10))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("minServes must be at least 1.");
+    }
+
+    @Test
+    void testSearchReturnsCursorOfLastHitOfPage() {
+        final Recipe recipe = newRecipeEntity();
+        final RecipeResponse recipeResponse = RecipeMapper.INSTANCE.toResponse(recipe);
+        final RecipeSearchCursor after = new RecipeSearchCursor(0.5f, 90L);
+        final RecipeSearchCursor lastHit = new RecipeSearchCursor(0.25f, recipe.getId());
+        Mockito.when(recipeSearchRepository.search(Mockito.eq(recipe.getUser().getId()), Mockito.eq("pasta bake"), Mockito.refEq(after), Mockito.eq(2)))
+                .thenReturn(List.of(lastHit, new RecipeSearchCursor(0.25f, 1L)));
+        Mockito.when(recipeReadRepository.findAllByIdIn(List.of(recipe.getId()))).thenReturn(List.of(recipeResponse));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(recipe.getUser().getId(), recipe.getUser().getGuid(), recipe.getUser().getFirstName(), recipe.getUser().getLastName(), null)
+                , null, null));
+
+        PageResponse<RecipeResponse> pageResponse = recipeService.search(" pasta bake ", after.encode(), 1);
+
+        Assertions.assertThat(pageResponse.getContents()).containsExactly(recipeResponse);
+        Assertions.assertThat(pageResponse.getTotalItems()).isEqualTo(PageResponse.UNKNOWN);
+        Assertions.assertThat(pageResponse.getNextCursor()).isEqualTo(lastHit.encode());
+    }
+
+    @Test
+    void testSearchRejectsBlankQuery() {
+        assertThatThrownBy(() -> recipeService.search(" ", null, 10))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Search query must not be blank.");
+        Mockito.verifyNoInteractions(recipeSearchRepository);
+    }
+
+    @Test
+    void testSuggestRejectsLimitOutOfRange() {
+        assertThatThrownBy(() -> recipeService.suggest("sal", 51))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("Limit must be between 1 and 50.");
+        Mockito.verifyNoInteractions(recipeSuggestionIndex);
     }
 
     @Test
@@ -78,7 +192,8 @@ class RecipeServiceTest {
         final Recipe recipe = newRecipeEntity();
 
         Mockito.when(recipeRepository.save(Mockito.any(Recipe.class))).thenReturn(recipe);
-        Mockito.when(userRepository.findOneByGuid(Mockito.anyString())).thenReturn(Optional.of(mockUserEntity()));
+        Mockito.when(userRepository.getById(recipe.getUser().getId())).thenReturn(mockUserEntity());
+        Mockito.when(ingredientDictionary.resolve(createRequest.getIngredients())).thenReturn(recipe.getRecipeIngredient().getIngredients());
         SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
                 new UserPrincipal(recipe.getUser().getId(), recipe.getUser().getGuid(), recipe.getUser().getFirstName(), recipe.getUser().getLastName(),  null)
                 , null, null));
@@ -87,6 +202,11 @@ class RecipeServiceTest {
 
         Assertions.assertThat(recipeResponse).isNotNull();
         Assertions.assertThat(recipeResponse.getUuid()).isNotNull().isEqualTo(recipe.getGuid());
+        ArgumentCaptor<RecipeChangedEvent> event = ArgumentCaptor.forClass(RecipeChangedEvent.class);
+        Mockito.verify(eventPublisher).publishEvent(event.capture());
+        Assertions.assertThat(event.getValue().getBefore()).isNull();
+        Assertions.assertThat(event.getValue().getAfter().getRecipeId()).isEqualTo(recipe.getId());
+        Assertions.assertThat(event.getValue().getAfter().getUserId()).isEqualTo(recipe.getUser().getId());
     }
 
     @Test
@@ -99,11 +219,12 @@ class RecipeServiceTest {
                 new UserPrincipal(recipe.getUser().getId(), recipe.getUser().getGuid(), recipe.getUser().getFirstName(), recipe.getUser().getLastName(),  null)
                 , null, null));
 
-        Mockito.when(recipeRepository.findOneByGuid(Mockito.anyString())).thenReturn(Optional.of(recipe));
-        Mockito.when(recipeRepository.save(Mockito.any(Recipe.class))).thenReturn(recipe);
+        Mockito.when(recipeRepository.findOneByGuidAndUserId(recipe.getGuid(), recipe.getUser().getId())).thenReturn(Optional.of(recipe));
+        Mockito.when(ingredientDictionary.resolve(updateRequest.getIngredients())).thenReturn(recipe.getRecipeIngredient().getIngredients());
 
         RecipeResponse recipeResponse = recipeService.updateRecipe(updateRequest);
 
+        Mockito.verify(recipeRepository).flush();
         Assertions.assertThat(recipeResponse).isNotNull();
         Assertions.assertThat(recipeResponse.getUuid()).isNotNull().isEqualTo(recipe.getGuid());
     }
@@ -113,18 +234,84 @@ class RecipeServiceTest {
         final RecipeRequest updateRequest = mockRecipeRequest();
         updateRequest.setGuid(UUID.randomUUID().toString());
 
-        Mockito.when(recipeRepository.findOneByGuid(Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(recipeRepository.findOneByGuidAndUserId(Mockito.anyString(), Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(recipeRepository.existsByGuid(Mockito.anyString())).thenReturn(false);
 
         assertThatThrownBy(() -> recipeService.updateRecipe(updateRequest))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage(String.format("Recipe not found with GUID : '%s'", updateRequest.getGuid()));
     }
 
+    @Test
+    void testUpdateRecipeIfVersionReadsFacetsBeforeUpdate() {
+        final RecipeRequest updateRequest = mockRecipeRequest();
+        updateRequest.setGuid(UUID.randomUUID().toString());
+        updateRequest.setName("Renamed");
+        updateRequest.setVegetarian(false);
+        final Ingredient salt = new Ingredient("salt", "Salt");
+        salt.setId(1);
+        final Ingredient pepper = new Ingredient("pepper", "Pepper");
+        pepper.setId(2);
+        final RecipeFacets before = new RecipeFacets(7L, 3, 1L, "Test", true, 2, Set.of(1), Set.of("salt"));
+
+        Mockito.when(recipeReadRepository.findFacetsByGuid(Mockito.eq(updateRequest.getGuid()), Mockito.anyLong())).thenReturn(Optional.of(before));
+        Mockito.when(recipeRepository.updateIfVersion(Mockito.eq(updateRequest.getGuid()), Mockito.any(), Mockito.eq(3), Mockito.eq("Renamed"),
+                Mockito.eq(false), Mockito.anyInt(), Mockito.anyString())).thenReturn(1);
+        Mockito.when(ingredientDictionary.resolve(updateRequest.getIngredients())).thenReturn(Set.of(salt, pepper));
+        Mockito.when(recipeReadRepository.findAllByIdIn(List.of(7L))).thenReturn(List.of(RecipeResponse.builder().name("Renamed").build()));
+
+        recipeService.updateRecipe(updateRequest, 3);
+
+        final InOrder inOrder = Mockito.inOrder(recipeReadRepository, recipeRepository);
+        inOrder.verify(recipeReadRepository).findFacetsByGuid(Mockito.eq(updateRequest.getGuid()), Mockito.anyLong());
+        inOrder.verify(recipeRepository).updateIfVersion(Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.any(),
+                Mockito.anyBoolean(), Mockito.anyInt(), Mockito.any());
+        Mockito.verify(recipeRepository).insertIngredients(7L, Set.of(2));
+        ArgumentCaptor<RecipeChangedEvent> event = ArgumentCaptor.forClass(RecipeChangedEvent.class);
+        Mockito.verify(eventPublisher).publishEvent(event.capture());
+        Assertions.assertThat(event.getValue().getBefore()).isSameAs(before);
+        Assertions.assertThat(event.getValue().getAfter().getVersion()).isEqualTo(4);
+        Assertions.assertThat(event.getValue().getAfter().getName()).isEqualTo("Renamed");
+        Assertions.assertThat(event.getValue().getAfter().isVegetarian()).isFalse();
+        Assertions.assertThat(event.getValue().getAfter().getIngredientIds()).containsExactlyInAnyOrder(1, 2);
+    }
+
+    @Test
+    void testUpdateRecipeIfVersionRejectsStaleVersion() {
+        final RecipeRequest updateRequest = mockRecipeRequest();
+        updateRequest.setGuid(UUID.randomUUID().toString());
+
+        Mockito.when(recipeReadRepository.findFacetsByGuid(Mockito.eq(updateRequest.getGuid()), Mockito.anyLong()))
+                .thenReturn(Optional.of(new RecipeFacets(7L, 0, 1L, "Test", true, 2, Set.of(1), Set.of("salt"))));
+        Mockito.when(recipeRepository.updateIfVersion(Mockito.eq(updateRequest.getGuid()), Mockito.any(), Mockito.eq(3), Mockito.anyString(),
+                Mockito.anyBoolean(), Mockito.anyInt(), Mockito.anyString())).thenReturn(0);
+        Mockito.when(recipeRepository.findVersionByGuidAndUserId(Mockito.eq(updateRequest.getGuid()), Mockito.any())).thenReturn(Optional.of(4));
+
+        assertThatThrownBy(() -> recipeService.updateRecipe(updateRequest, 3))
+                .isInstanceOf(PreconditionFailedException.class)
+                .hasMessage(String.format("Recipe '%s' is at version 4, not 3.", updateRequest.getGuid()));
+        Mockito.verifyNoInteractions(ingredientDictionary, eventPublisher);
+    }
+
+    @Test
+    void testUpdateRecipeIfVersionWhenResourceNotAvailable() {
+        final RecipeRequest updateRequest = mockRecipeRequest();
+        updateRequest.setGuid(UUID.randomUUID().toString());
+
+        Mockito.when(recipeRepository.existsByGuid(updateRequest.getGuid())).thenReturn(false);
+
+        assertThatThrownBy(() -> recipeService.updateRecipe(updateRequest, 0))
+                .isInstanceOf(ResourceNotFoundException.class)
+                .hasMessage(String.format("Recipe not found with GUID : '%s'", updateRequest.getGuid()));
+        Mockito.verify(recipeRepository, Mockito.never()).updateIfVersion(Mockito.any(), Mockito.any(), Mockito.anyInt(), Mockito.any(),
+                Mockito.anyBoolean(), Mockito.anyInt(), Mockito.any());
+    }
+
     @Test
     void testFindByGuid() {
         final Recipe recipe = newRecipeEntity();
 
-        Mockito.when(recipeRepository.findOneByGuid(Mockito.anyString())).thenReturn(Optional.of(recipe));
+        Mockito.when(recipeRepository.findOneByGuidAndUserId(recipe.getGuid(), recipe.getUser().getId())).thenReturn(Optional.of(recipe));
         SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
                 new UserPrincipal(recipe.getUser().getId(), recipe.getUser().getGuid(), recipe.getUser().getFirstName(), recipe.getUser().getLastName(),  null)
                 , null, null));
@@ -139,25 +326,42 @@ class RecipeServiceTest {
     void testFindByGuidWhenResourceNotPresent() {
         final String recipeGuid = UUID.randomUUID().toString();
 
-        Mockito.when(recipeRepository.findOneByGuid(Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(recipeRepository.findOneByGuidAndUserId(Mockito.anyString(), Mockito.any())).thenReturn(Optional.empty());
+        Mockito.when(recipeRepository.existsByGuid(Mockito.anyString())).thenReturn(false);
 
         assertThatThrownBy(() -> recipeService.findByGuid(recipeGuid))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage(String.format("Recipe not found with GUID : '%s'", recipeGuid));
     }
 
+    @Test
+    void testCreateRecipesRejectsTooManyRecipes() {
+        final List<RecipeRequest> createRequests = Stream.generate(this::mockRecipeRequest).limit(101).collect(Collectors.toList());
+
+        assertThatThrownBy(() -> recipeService.createRecipes(createRequests))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("At most 100 recipes can be created at once.");
+        Mockito.verifyNoInteractions(recipeRepository, ingredientDictionary);
+    }
+
     @Test
     void testDeleteRecipe() {
         final Recipe recipe  = newRecipeEntity();
+        final RecipeFacets facets = new RecipeFacets(recipe.getId(), 0, recipe.getUser().getId(), recipe.getName(), true, 2, Set.of(1), Set.of("salt"));
 
-        Mockito.when(recipeRepository.findOneByGuid(Mockito.anyString())).thenReturn(Optional.of(recipe));
+        Mockito.when(recipeReadRepository.findFacetsByGuid(recipe.getGuid(), recipe.getUser().getId())).thenReturn(Optional.of(facets));
+        Mockito.when(recipeRepository.softDeleteByIdIn(List.of(recipe.getId()), recipe.getUser().getId())).thenReturn(1);
         SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
                 new UserPrincipal(recipe.getUser().getId(), recipe.getUser().getGuid(), recipe.getUser().getFirstName(), recipe.getUser().getLastName(),  null)
                 , null, null));
 
         this.recipeService.deleteRecipe(recipe.getGuid());
 
-        Mockito.verify(this.recipeService, Mockito.times(1)).deleteRecipe(recipe.getGuid());
+        ArgumentCaptor<RecipeChangedEvent> event = ArgumentCaptor.forClass(RecipeChangedEvent.class);
+        Mockito.verify(eventPublisher).publishEvent(event.capture());
+        Assertions.assertThat(event.getValue().getBefore()).isEqualTo(facets);
+        Assertions.assertThat(event.getValue().getAfter()).isNull();
+        Mockito.verify(recipeRepository, Mockito.never()).findOneByGuidAndUserId(Mockito.anyString(), Mockito.any());
     }
 
     @Test
@@ -165,27 +369,66 @@ class RecipeServiceTest {
         final Recipe recipe  = newRecipeEntity();
         final String recipeGuid = recipe.getGuid();
 
-        Mockito.when(recipeRepository.findOneByGuid(Mockito.anyString())).thenReturn(Optional.of(recipe));
+        Mockito.when(recipeReadRepository.findFacetsByGuid(recipeGuid, 999L)).thenReturn(Optional.empty());
+        Mockito.when(recipeRepository.existsByGuid(recipeGuid)).thenReturn(true);
         SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
-                new UserPrincipal(recipe.getUser().getId(), UUID.randomUUID().toString(), recipe.getUser().getFirstName(), recipe.getUser().getLastName(),  null)
+                new UserPrincipal(999L, UUID.randomUUID().toString(), recipe.getUser().getFirstName(), recipe.getUser().getLastName(),  null)
                 , null, null));
 
         assertThatThrownBy(() -> recipeService.deleteRecipe(recipeGuid))
                 .isInstanceOf(AccessDeniedException.class)
                 .hasMessage("You don't have permission to edit/delete this record.");
+        Mockito.verify(recipeRepository, Mockito.never()).softDeleteByIdIn(Mockito.anyCollection(), Mockito.any());
     }
 
     @Test
     void testDeleteRecipeWhenResourceNotAvailable() {
         final String recipeGuid  = UUID.randomUUID().toString();
 
-        Mockito.when(recipeRepository.findOneByGuid(Mockito.anyString())).thenReturn(Optional.empty());
+        Mockito.when(recipeReadRepository.findFacetsByGuid(Mockito.anyString(), Mockito.anyLong())).thenReturn(Optional.empty());
+        Mockito.when(recipeRepository.existsByGuid(Mockito.anyString())).thenReturn(false);
 
         assertThatThrownBy(() -> recipeService.deleteRecipe(recipeGuid))
                 .isInstanceOf(ResourceNotFoundException.class)
                 .hasMessage(String.format("Recipe not found with GUID : '%s'", recipeGuid));
     }
 
+    @Test
+    void testDeleteRecipesReportsEveryId() {
+        final Recipe recipe  = newRecipeEntity();
+        final RecipeFacets facets = new RecipeFacets(recipe.getId(), 0, recipe.getUser().getId(), recipe.getName(), true, 2, Set.of(1), Set.of("salt"));
+        final String othersGuid = UUID.randomUUID().toString();
+        final String missingGuid = UUID.randomUUID().toString();
+
+        Mockito.when(recipeReadRepository.findFacetsByGuidIn(Set.of(recipe.getGuid(), othersGuid, missingGuid), recipe.getUser().getId()))
+                .thenReturn(Map.of(recipe.getGuid(), facets));
+        Mockito.when(recipeRepository.findGuidsByGuidIn(Set.of(othersGuid, missingGuid))).thenReturn(Set.of(othersGuid));
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                new UserPrincipal(recipe.getUser().getId(), recipe.getUser().getGuid(), recipe.getUser().getFirstName(), recipe.getUser().getLastName(),  null)
+                , null, null));
+
+        List<RecipeDeleteResult> results = recipeService.deleteRecipes(List.of(missingGuid, recipe.getGuid(), othersGuid, recipe.getGuid()));
+
+        Assertions.assertThat(results).containsExactly(new RecipeDeleteResult(missingGuid, RecipeDeleteResult.Status.NOT_FOUND),
+                new RecipeDeleteResult(recipe.getGuid(), RecipeDeleteResult.Status.DELETED),
+                new RecipeDeleteResult(othersGuid, RecipeDeleteResult.Status.FORBIDDEN));
+        Mockito.verify(recipeRepository).softDeleteByIdIn(List.of(recipe.getId()), recipe.getUser().getId());
+        ArgumentCaptor<RecipeChangedEvent> event = ArgumentCaptor.forClass(RecipeChangedEvent.class);
+        Mockito.verify(eventPublisher).publishEvent(event.capture());
+        Assertions.assertThat(event.getValue().getBefore()).isEqualTo(facets);
+        Assertions.assertThat(event.getValue().getAfter()).isNull();
+    }
+
+    @Test
+    void testDeleteRecipesRejectsTooManyIds() {
+        final List<String> guids = Stream.generate(() -> UUID.randomUUID().toString()).limit(101).collect(Collectors.toList());
+
+        assertThatThrownBy(() -> recipeService.deleteRecipes(guids))
+                .isInstanceOf(ValidationException.class)
+                .hasMessage("At most 100 recipes can be deleted at once.");
+        Mockito.verifyNoInteractions(recipeRepository, recipeReadRepository);
+    }
+
     private User mockUserEntity() {
         User userEntity = new User();
         userEntity.setId(123L);
@@ -201,8 +444,8 @@ class RecipeServiceTest {
         recipeEntity.setName("Test");
         recipeEntity.setVegetarian(true);
         recipeEntity.setSuitableFor(2);
-        List<Ingredient> ingredients = Stream.of("Test Ingredient1", "Test Ingredient2", "Test Ingredient3")
-                .map(Ingredient::new).collect(Collectors.toList());
+        Set<Ingredient> ingredients = Stream.of("Test Ingredient1", "Test Ingredient2", "Test Ingredient3")
+                .map(name -> new Ingredient(IngredientDictionary.normalize(name), name)).collect(Collectors.toSet());
         recipeEntity.setRecipeIngredient(new RecipeIngredient(ingredients));
         recipeEntity.setCookingInstruction("Test Cooking Instruction");
         recipeEntity.setUser(mockUserEntity());
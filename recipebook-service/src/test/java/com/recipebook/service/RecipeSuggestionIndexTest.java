@@ -0,0 +1,154 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.values.RecipeChangedEvent;
+import com.recipebook.domain.values.RecipeFacets;
+import com.recipebook.domain.values.RecipeSuggestions;
+import com.recipebook.repository.RecipeReadRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+
+@ExtendWith(MockitoExtension.class)
+class RecipeSuggestionIndexTest {
+    private static final long USER = 1L;
+
+    @Mock
+    private RecipeReadRepository recipeReadRepository;
+
+    private RecipeSuggestionIndex recipeSuggestionIndex;
+
+    @BeforeEach
+    public void setup() {
+        recipeSuggestionIndex = new RecipeSuggestionIndex(recipeReadRepository, 2, 900000, 100);
+    }
+
+    @Test
+    void testSuggestLoadsUserOnceAndMatchesPrefix() {
+        mockRecipes(USER, facets(10, "Spaghetti Carbonara", "spaghetti", "pancetta"),
+                facets(11, "spicy Soup", "pepper"),
+                facets(12, "Spaghetti Carbonara", "spaghetti", "egg"));
+
+        RecipeSuggestions suggestions = recipeSuggestionIndex.suggest(USER, "SP", 10);
+        RecipeSuggestions limited = recipeSuggestionIndex.suggest(USER, " spa ", 1);
+
+        Assertions.assertThat(suggestions.getRecipes()).containsExactly("Spaghetti Carbonara", "spicy Soup");
+        Assertions.assertThat(suggestions.getIngredients()).containsExactly("spaghetti");
+        Assertions.assertThat(limited.getRecipes()).containsExactly("Spaghetti Carbonara");
+        Assertions.assertThat(recipeSuggestionIndex.suggest(USER, "z", 10).getRecipes()).isEmpty();
+        Mockito.verify(recipeReadRepository).forEachFacets(Mockito.eq(USER), Mockito.any());
+    }
+
+    @Test
+    void testSuggestFollowsChangesOfLoadedUser() {
+        final RecipeFacets soup = facets(10, "Tomato Soup", "tomato");
+        mockRecipes(USER, soup);
+        recipeSuggestionIndex.suggest(USER, "t", 10);
+
+        recipeSuggestionIndex.onRecipeChanged(new RecipeChangedEvent(null, facets(11, "Tart", "tamarind")));
+        recipeSuggestionIndex.onRecipeChanged(new RecipeChangedEvent(soup, facets(10, 1, "Lentil Soup", "lentil")));
+        // replayed by a load that already saw it
+        recipeSuggestionIndex.onRecipeChanged(new RecipeChangedEvent(null, facets(11, "Tart", "tamarind")));
+
+        Assertions.assertThat(recipeSuggestionIndex.suggest(USER, "t", 10).getRecipes()).containsExactly("Tart");
+        Assertions.assertThat(recipeSuggestionIndex.suggest(USER, "t", 10).getIngredients()).containsExactly("tamarind");
+        Assertions.assertThat(recipeSuggestionIndex.suggest(USER, "l", 10).getRecipes()).containsExactly("Lentil Soup");
+    }
+
+    @Test
+    void testSharedTermStaysUntilItsLastRecipeIsGone() {
+        final RecipeFacets carbonara = facets(10, "Carbonara", "spaghetti");
+        final RecipeFacets bolognese = facets(11, "Bolognese", "spaghetti");
+        mockRecipes(USER, carbonara, bolognese);
+        recipeSuggestionIndex.suggest(USER, "s", 10);
+
+        recipeSuggestionIndex.onRecipeChanged(new RecipeChangedEvent(carbonara, null));
+        Assertions.assertThat(recipeSuggestionIndex.suggest(USER, "s", 10).getIngredients()).containsExactly("spaghetti");
+        Assertions.assertThat(recipeSuggestionIndex.suggest(USER, "c", 10).getRecipes()).isEmpty();
+
+        recipeSuggestionIndex.onRecipeChanged(new RecipeChangedEvent(bolognese, facets(11, 1, "Bolognese", "penne")));
+        Assertions.assertThat(recipeSuggestionIndex.suggest(USER, "s", 10).getIngredients()).isEmpty();
+        Assertions.assertThat(recipeSuggestionIndex.suggest(USER, "p", 10).getIngredients()).containsExactly("penne");
+    }
+
+    @Test
+    void testOlderChangeArrivingLateIsDropped() {
+        final RecipeFacets soup = facets(10, "Tomato Soup", "tomato");
+        final RecipeFacets peaSoup = facets(10, 1, "Pea Soup", "pea");
+        mockRecipes(USER, soup);
+        recipeSuggestionIndex.suggest(USER, "t", 10);
+
+        // two nodes wrote the recipe one after the other, this node hears from the second first
+        recipeSuggestionIndex.onRecipeChanged(new RecipeChangedEvent(peaSoup, facets(10, 2, "Lentil Soup", "lentil")));
+        recipeSuggestionIndex.onRecipeChanged(new RecipeChangedEvent(soup, peaSoup));
+
+        Assertions.assertThat(recipeSuggestionIndex.suggest(USER, "l", 10).getRecipes()).containsExactly("Lentil Soup");
+        Assertions.assertThat(recipeSuggestionIndex.suggest(USER, "p", 10).getRecipes()).isEmpty();
+        Assertions.assertThat(recipeSuggestionIndex.suggest(USER, "p", 10).getIngredients()).isEmpty();
+        Assertions.assertThat(recipeSuggestionIndex.suggest(USER, "t", 10).getIngredients()).isEmpty();
+    }
+
+    @Test
+    void testChangesOfUnloadedUserAreIgnored() {
+        recipeSuggestionIndex.onRecipeChanged(new RecipeChangedEvent(null, facets(10, "Tart", "tamarind")));
+
+        Assertions.assertThat(recipeSuggestionIndex.size()).isZero();
+        Mockito.verifyNoInteractions(recipeReadRepository);
+    }
+
+    @Test
+    void testLeastRecentlyUsedUserIsEvictedWhenFull() throws InterruptedException {
+        recipeSuggestionIndex.suggest(1L, "a", 10);
+        Thread.sleep(5);
+        recipeSuggestionIndex.suggest(2L, "a", 10);
+        Thread.sleep(5);
+        recipeSuggestionIndex.suggest(1L, "a", 10);
+        Thread.sleep(5);
+
+        recipeSuggestionIndex.suggest(3L, "a", 10);
+        recipeSuggestionIndex.suggest(1L, "a", 10);
+
+        Assertions.assertThat(recipeSuggestionIndex.size()).isEqualTo(2);
+        Mockito.verify(recipeReadRepository).forEachFacets(Mockito.eq(1L), Mockito.any());
+        Mockito.verify(recipeReadRepository).forEachFacets(Mockito.eq(2L), Mockito.any());
+        Mockito.verify(recipeReadRepository).forEachFacets(Mockito.eq(3L), Mockito.any());
+    }
+
+    @Test
+    void testEvictIdleDropsIdleUsers() {
+        recipeSuggestionIndex = new RecipeSuggestionIndex(recipeReadRepository, 2, -1, 100);
+        recipeSuggestionIndex.suggest(USER, "a", 10);
+
+        recipeSuggestionIndex.evictIdle();
+
+        Assertions.assertThat(recipeSuggestionIndex.size()).isZero();
+    }
+
+    private void mockRecipes(final long userId, final RecipeFacets... recipes) {
+        Mockito.doAnswer(invocation -> {
+            final Consumer<RecipeFacets> consumer = invocation.getArgument(1);
+            for (RecipeFacets recipe : recipes) {
+                consumer.accept(recipe);
+            }
+            return null;
+        }).when(recipeReadRepository).forEachFacets(Mockito.eq(userId), Mockito.any());
+    }
+
+    private static RecipeFacets facets(final long recipeId, final String name, final String... ingredients) {
+        return facets(recipeId, 0, name, ingredients);
+    }
+
+    private static RecipeFacets facets(final long recipeId, final int version, final String name, final String... ingredients) {
+        return new RecipeFacets(recipeId, version, USER, name, true, 2, Set.of(), Set.of(ingredients));
+    }
+}
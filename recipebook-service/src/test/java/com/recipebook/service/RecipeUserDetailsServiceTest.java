@@ -1,24 +1,30 @@
 package com.recipebook.service;
 
 import com.recipebook.domain.entities.User;
+import com.recipebook.domain.entities.UserCredential;
 import com.recipebook.domain.exceptions.ResourceAlreadyExistsException;
 import com.recipebook.domain.values.SignupRequest;
 import com.recipebook.domain.values.UserResponse;
 import com.recipebook.repository.RecipeRepository;
+import com.recipebook.repository.UserCredentialRepository;
 import com.recipebook.repository.UserRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.cache.support.NoOpCache;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.UUID;
@@ -35,23 +41,29 @@ class RecipeUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
+    @Mock
+    private UserCredentialRepository userCredentialRepository;
+
     private RecipeUserDetailsService userDetailsService;
 
     private final PasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
     @BeforeEach
     public void setup() {
-        userDetailsService = new RecipeUserDetailsService(userRepository, passwordEncoder);
+        userDetailsService = new RecipeUserDetailsService(userRepository, userCredentialRepository, passwordEncoder);
     }
 
     @Test
     void testLoadUserByUsername() {
         User mockUser = buildUser();
+        final String passwordHash = passwordEncoder.encode("AbcD@123");
         Mockito.when(userRepository.findByEmailAddressIgnoreCase("junit.test@gmail.com")).thenReturn(Optional.of(mockUser));
+        Mockito.when(userCredentialRepository.findPasswordHashByUserId(mockUser.getId())).thenReturn(Optional.of(passwordHash));
 
         UserDetails result = userDetailsService.loadUserByUsername("junit.test@gmail.com");
         assertThat(result).isNotNull();
         assertThat(result.getUsername()).isEqualTo(mockUser.getGuid());
+        assertThat(result.getPassword()).isEqualTo(passwordHash);
     }
 
     @Test
@@ -68,23 +80,42 @@ class RecipeUserDetailsServiceTest {
         final SignupRequest signupRequest = this.mockSignupRequest();
         final User userEntity = buildUser();
 
-        Mockito.when(userRepository.existsByEmailAddressIgnoreCase(signupRequest.getEmail())).thenReturn(false);
-        Mockito.when(userRepository.save(Mockito.any(User.class))).thenReturn(userEntity);
+        Mockito.when(userRepository.saveAndFlush(Mockito.any(User.class))).thenReturn(userEntity);
 
         UserResponse userResponse = userDetailsService.registerUser(signupRequest);
         assertThat(userResponse).isNotNull();
         assertThat(userResponse.getId()).isEqualTo(userEntity.getGuid());
+        ArgumentCaptor<UserCredential> credential = ArgumentCaptor.forClass(UserCredential.class);
+        Mockito.verify(userCredentialRepository).save(credential.capture());
+        assertThat(credential.getValue().getUser()).isSameAs(userEntity);
+        assertThat(passwordEncoder.matches(signupRequest.getPassword(), credential.getValue().getPasswordHash())).isTrue();
     }
 
     @Test
     void testRegisterUserWhenUserAlreadyExists() {
         final SignupRequest signupRequest = this.mockSignupRequest();
 
-        Mockito.when(userRepository.existsByEmailAddressIgnoreCase(signupRequest.getEmail())).thenReturn(true);
+        Mockito.when(userRepository.saveAndFlush(Mockito.any(User.class))).thenThrow(integrityViolation("IDX_USERS_EMAILADDRESS_LOWER"));
 
         assertThatThrownBy(() -> userDetailsService.registerUser(signupRequest))
                 .isInstanceOf(ResourceAlreadyExistsException.class)
                 .hasMessage(String.format("User already exists by email '%s'.", signupRequest.getEmail()));
+        Mockito.verifyNoInteractions(userCredentialRepository);
+    }
+
+    @Test
+    void testRegisterUserRethrowsOtherIntegrityViolations() {
+        final SignupRequest signupRequest = this.mockSignupRequest();
+        final DataIntegrityViolationException violation = integrityViolation("recipe_user_pkey");
+
+        Mockito.when(userRepository.saveAndFlush(Mockito.any(User.class))).thenThrow(violation);
+
+        assertThatThrownBy(() -> userDetailsService.registerUser(signupRequest)).isSameAs(violation);
+    }
+
+    private static DataIntegrityViolationException integrityViolation(final String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", new SQLException("duplicate key"), constraintName));
     }
 
     private User buildUser() {
@@ -96,7 +127,6 @@ class RecipeUserDetailsServiceTest {
         newUser.setFirstName("Junit");
         newUser.setLastName("Test");
         newUser.setEmailAddress("junit.test@gmail.com");
-        newUser.setPasswordHash(passwordEncoder.encode("AbcD@123"));
         return newUser;
     }
 
@@ -0,0 +1,59 @@
+package com.recipebook.service;
+
+import com.recipebook.repository.UserTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+@ExtendWith(MockitoExtension.class)
+class RefreshTokenReaperTest {
+    @Mock
+    private UserTokenRepository tokenRepository;
+
+    @Mock
+    private RefreshTokenStore tokenStore;
+
+    private MeterRegistry meterRegistry;
+    private RefreshTokenReaper tokenReaper;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        tokenReaper = new RefreshTokenReaper(tokenRepository, tokenStore, meterRegistry);
+        ReflectionTestUtils.setField(tokenReaper, "batchSize", 10);
+        ReflectionTestUtils.setField(tokenReaper, "maxBatchesPerRun", 3);
+        ReflectionTestUtils.setField(tokenReaper, "pauseInMs", 0L);
+    }
+
+    @Test
+    void testPurgeStopsAtFirstPartialBatch() {
+        Mockito.when(tokenRepository.deleteExpiredBatch(Mockito.any(Instant.class), Mockito.eq(10))).thenReturn(10, 4);
+
+        tokenReaper.purgeExpiredTokens();
+
+        Mockito.verify(tokenRepository, Mockito.times(2)).deleteExpiredBatch(Mockito.any(Instant.class), Mockito.eq(10));
+        Mockito.verify(tokenStore).evictExpired(Mockito.any(Instant.class));
+        Assertions.assertThat(meterRegistry.get("recipebook.auth.refreshtoken.purge.rows").counter().count()).isEqualTo(14);
+        Assertions.assertThat(meterRegistry.get("recipebook.auth.refreshtoken.purge.duration").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void testPurgeIsBoundedPerRun() {
+        Mockito.when(tokenRepository.deleteExpiredBatch(Mockito.any(Instant.class), Mockito.eq(10))).thenReturn(10);
+
+        Assertions.assertThat(tokenReaper.purgeExpiredTokens(Instant.now())).isEqualTo(30);
+        Mockito.verify(tokenRepository, Mockito.times(3)).deleteExpiredBatch(Mockito.any(Instant.class), Mockito.eq(10));
+    }
+}
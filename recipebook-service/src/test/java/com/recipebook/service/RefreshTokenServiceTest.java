@@ -40,7 +40,7 @@ class RefreshTokenServiceTest {
 
     @BeforeEach
     public void setup() {
-        refreshTokenService = new RefreshTokenService(tokenRepository, userRepository);
+        refreshTokenService = new RefreshTokenService(new JpaRefreshTokenStore(tokenRepository, userRepository), userRepository);
     }
 
     @Test
@@ -98,7 +98,7 @@ class RefreshTokenServiceTest {
         mockUserToken.setExpiryDate(Instant.now().minus(40, ChronoUnit.DAYS));
 
         Mockito.when(tokenRepository.findByToken(mockUserToken.getToken())).thenReturn(Optional.of(mockUserToken));
-        Mockito.doNothing().when(tokenRepository).delete(mockUserToken);
+        Mockito.when(tokenRepository.deleteByToken(mockUserToken.getToken())).thenReturn(1);
 
         TokenRefreshRequest tokenRefreshRequest = new TokenRefreshRequest();
         tokenRefreshRequest.setRefreshToken(mockUserToken.getToken());
@@ -0,0 +1,70 @@
+package com.recipebook.service;
+
+import com.recipebook.domain.values.UserPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+class VerifiedTokenCacheTest {
+
+    @Test
+    void testGetReturnsCachedAuthentication() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        Authentication authentication = mockAuthentication();
+        cache.put("token", authentication, Instant.now().plusSeconds(60));
+
+        Assertions.assertThat(cache.get("token")).containsSame(authentication);
+        Assertions.assertThat(cache.get("other-token")).isEmpty();
+    }
+
+    @Test
+    void testGetDropsExpiredToken() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        cache.put("token", mockAuthentication(), Instant.now().minusSeconds(1));
+
+        Assertions.assertThat(cache.get("token")).isEmpty();
+        Assertions.assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void testPutIsBounded() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(2);
+        cache.put("expired", mockAuthentication(), Instant.now().minusSeconds(1));
+        cache.put("token-1", mockAuthentication(), Instant.now().plusSeconds(60));
+        cache.put("token-2", mockAuthentication(), Instant.now().plusSeconds(60));
+        cache.put("token-3", mockAuthentication(), Instant.now().plusSeconds(60));
+
+        Assertions.assertThat(cache.size()).isEqualTo(2);
+        Assertions.assertThat(cache.get("token-1")).isPresent();
+        Assertions.assertThat(cache.get("token-2")).isPresent();
+        Assertions.assertThat(cache.get("token-3")).isEmpty();
+    }
+
+    @Test
+    void testHitAndMissCountersAreExposed() {
+        VerifiedTokenCache cache = new VerifiedTokenCache(10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        cache.bindTo(registry);
+        cache.put("token", mockAuthentication(), Instant.now().plusSeconds(60));
+
+        cache.get("token");
+        cache.get("token");
+        cache.get("unknown");
+
+        Assertions.assertThat(registry.get("recipebook.auth.token.cache.requests").tag("result", "hit").functionCounter().count()).isEqualTo(2);
+        Assertions.assertThat(registry.get("recipebook.auth.token.cache.requests").tag("result", "miss").functionCounter().count()).isEqualTo(1);
+        Assertions.assertThat(registry.get("recipebook.auth.token.cache.size").gauge().value()).isEqualTo(1);
+    }
+
+    private Authentication mockAuthentication() {
+        return new UsernamePasswordAuthenticationToken(new UserPrincipal(20L, UUID.randomUUID().toString(), "", "", null), "token", null);
+    }
+}
@@ -8,6 +8,7 @@ import com.recipebook.domain.values.RecipeRequest;
 import com.recipebook.domain.values.RecipeResponse;
 import com.recipebook.domain.values.UserPrincipal;
 import com.recipebook.repository.UserRepository;
+import com.recipebook.service.IngredientDictionary;
 import com.recipebook.service.mappers.RecipeMapper;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
@@ -17,8 +18,7 @@ import org.mockito.Mockito;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.Collection;
 import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -34,10 +34,15 @@ class RecipeMapperTest {
 
     private UserRepository userRepository;
 
+    private IngredientDictionary ingredientDictionary;
+
     @BeforeAll
     void setUp() {
         userRepository = Mockito.mock(UserRepository.class);
-        Mockito.when(userRepository.findOneByGuid(Mockito.anyString())).thenReturn(Optional.of(mockUserEntity()));
+        Mockito.when(userRepository.getById(123L)).thenReturn(mockUserEntity());
+        ingredientDictionary = Mockito.mock(IngredientDictionary.class);
+        Mockito.when(ingredientDictionary.resolve(Mockito.anyCollection())).thenAnswer(invocation -> invocation.<Collection<String>>getArgument(0).stream()
+                .map(name -> new Ingredient(IngredientDictionary.normalize(name), name)).collect(Collectors.toSet()));
 
         SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
                 new UserPrincipal(123L, UUID.randomUUID().toString(), "First", "Last",  null)
@@ -47,7 +52,7 @@ class RecipeMapperTest {
     @Test
     void testRecipeRequestToEntity() {
         RecipeRequest recipeRequest = newRecipeRequest();
-        Recipe resultEntity =  recipeMapper.toEntity(recipeRequest, userRepository);
+        Recipe resultEntity =  recipeMapper.toEntity(recipeRequest, userRepository, ingredientDictionary);
 
         Assertions.assertThat(resultEntity).isNotNull();
         Assertions.assertThat(resultEntity.getGuid()).isNotNull();
@@ -57,12 +62,13 @@ class RecipeMapperTest {
         Assertions.assertThat(resultEntity.getCookingInstruction()).isNotNull().isEqualTo(recipeRequest.getCookingInstruction());
         Assertions.assertThat(resultEntity.getVegetarian()).isEqualTo(recipeRequest.isVegetarian());
         Assertions.assertThat(resultEntity.getRecipeIngredient()).isNotNull();
-        Assertions.assertThat(resultEntity.getRecipeIngredient().getIngredients()).isNotNull().hasSize(3);
+        Assertions.assertThat(resultEntity.getRecipeIngredient().getIngredients()).isNotNull().extracting(Ingredient::getName)
+                .containsExactlyInAnyOrder("test ingredient1", "test ingredient2", "test ingredient3");
     }
 
     @Test
     void testRecipeRequestToEntityWhenRequestIsNull() {
-        Recipe resultEntity = recipeMapper.toEntity(null, userRepository);
+        Recipe resultEntity = recipeMapper.toEntity(null, userRepository, ingredientDictionary);
         Assertions.assertThat(resultEntity).isNull();
     }
 
@@ -77,7 +83,7 @@ class RecipeMapperTest {
         Assertions.assertThat(resultEntity.getName()).isNotNull().isEqualTo(recipeEntity.getName());
         Assertions.assertThat(resultEntity.getCookingInstruction()).isNotNull().isEqualTo(recipeEntity.getCookingInstruction());
         Assertions.assertThat(resultEntity.isVegetarian()).isEqualTo(recipeEntity.getVegetarian());
-        Assertions.assertThat(resultEntity.getIngredients()).isNotNull().hasSize(3);
+        Assertions.assertThat(resultEntity.getIngredients()).containsExactlyInAnyOrder("Test Ingredient1", "Test Ingredient2", "Test Ingredient3");
     }
 
     @Test
@@ -90,7 +96,7 @@ class RecipeMapperTest {
     void testUpdateEntity() {
         Recipe recipeEntity = newRecipeEntity();
         RecipeRequest recipeRequest = newRecipeRequest();
-        recipeMapper.updateEntity(recipeRequest, recipeEntity);
+        recipeMapper.updateEntity(recipeRequest, recipeEntity, ingredientDictionary);
 
         Assertions.assertThat(recipeEntity.getGuid()).isNotNull();
         Assertions.assertThat(recipeEntity.getSuitableFor()).isNotNull().isEqualTo(recipeRequest.getSuitableFor());
@@ -99,6 +105,19 @@ class RecipeMapperTest {
         Assertions.assertThat(recipeEntity.getVegetarian()).isEqualTo(recipeRequest.isVegetarian());
     }
 
+    @Test
+    void testUpdateEntityMergesIngredientsInPlace() {
+        Recipe recipeEntity = newRecipeEntity();
+        Set<Ingredient> ingredients = recipeEntity.getRecipeIngredient().getIngredients();
+        RecipeRequest recipeRequest = newRecipeRequest();
+        recipeRequest.setIngredients(Set.of("Test Ingredient1", "Test Ingredient2", "Test Ingredient4"));
+
+        recipeMapper.updateEntity(recipeRequest, recipeEntity, ingredientDictionary);
+
+        Assertions.assertThat(recipeEntity.getRecipeIngredient().getIngredients()).isSameAs(ingredients)
+                .extracting(Ingredient::getName).containsExactlyInAnyOrder("test ingredient1", "test ingredient2", "test ingredient4");
+    }
+
     private RecipeRequest newRecipeRequest() {
         RecipeRequest recipeRequest = new RecipeRequest();
         recipeRequest.setName("Test");
@@ -115,7 +134,8 @@ class RecipeMapperTest {
         recipeEntity.setName("Test");
         recipeEntity.setVegetarian(true);
         recipeEntity.setSuitableFor(2);
-        List<Ingredient> ingredients = Stream.of("Test Ingredient1", "Test Ingredient2", "Test Ingredient3").map(Ingredient::new).collect(Collectors.toList());
+        Set<Ingredient> ingredients = Stream.of("Test Ingredient1", "Test Ingredient2", "Test Ingredient3")
+                .map(name -> new Ingredient(IngredientDictionary.normalize(name), name)).collect(Collectors.toSet());
         recipeEntity.setRecipeIngredient(new RecipeIngredient(ingredients));
         recipeEntity.setCookingInstruction("Test Cooking Instruction");
         return recipeEntity;
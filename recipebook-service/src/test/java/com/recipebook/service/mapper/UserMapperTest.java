@@ -6,7 +6,6 @@ import com.recipebook.domain.values.UserResponse;
 import com.recipebook.service.mappers.UserMapper;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.Test;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 /**
  * @author - AvanishKishorPandey
@@ -14,12 +13,10 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 class UserMapperTest {
     private final UserMapper userMapper = UserMapper.INSTANCE;
 
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
-
     @Test
     void testSignupRequestToEntity() {
         SignupRequest signupRequest = newSignupRequest();
-        User resultEntity =  userMapper.toEntity(signupRequest, passwordEncoder);
+        User resultEntity =  userMapper.toEntity(signupRequest);
 
         Assertions.assertThat(resultEntity).isNotNull();
         Assertions.assertThat(resultEntity.getId()).isNull();
@@ -28,12 +25,20 @@ class UserMapperTest {
         Assertions.assertThat(resultEntity.getFirstName()).isNotNull().isEqualTo(signupRequest.getFirstName());
         Assertions.assertThat(resultEntity.getLastName()).isNotNull().isEqualTo(signupRequest.getLastName());
         Assertions.assertThat(resultEntity.getEmailAddress()).isNotNull().isEqualTo(signupRequest.getEmail());
-        Assertions.assertThat(resultEntity.getPasswordHash()).isNotNull();
+    }
+
+    @Test
+    void testSignupRequestToEntityLowercasesEmail() {
+        SignupRequest signupRequest = newSignupRequest();
+        signupRequest.setEmail("First.Last@Email.com");
+        User resultEntity =  userMapper.toEntity(signupRequest);
+
+        Assertions.assertThat(resultEntity.getEmailAddress()).isEqualTo("first.last@email.com");
     }
 
     @Test
     void testSignupRequestToEntityWhenNull() {
-        User resultEntity = userMapper.toEntity(null, passwordEncoder);
+        User resultEntity = userMapper.toEntity(null);
         Assertions.assertThat(resultEntity).isNull();
     }
 
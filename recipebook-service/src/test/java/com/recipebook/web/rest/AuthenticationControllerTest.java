@@ -2,7 +2,9 @@ package com.recipebook.web.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.recipebook.domain.exceptions.ResourceAlreadyExistsException;
+import com.recipebook.domain.exceptions.TooManyRequestsException;
 import com.recipebook.domain.values.*;
+import com.recipebook.service.LoginRateLimiter;
 import com.recipebook.service.RecipeUserDetailsService;
 import com.recipebook.service.RefreshTokenService;
 import com.recipebook.service.TokenProvider;
@@ -15,9 +17,11 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.InternalAuthenticationServiceException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -49,6 +53,9 @@ class AuthenticationControllerTest {
     @MockBean
     private RecipeUserDetailsService userDetailsService;
 
+    @MockBean
+    private LoginRateLimiter loginRateLimiter;
+
     @TestConfiguration
     static class TestConfig {
         @Bean
@@ -62,7 +69,7 @@ class AuthenticationControllerTest {
     void shouldAuthenticateUser() throws Exception {
         final String refreshToken = UUID.randomUUID().toString();
         Mockito.when(authenticationManager.authenticate(Mockito.any(Authentication.class))).thenReturn(mockUsernamePasswordAuthenticationToken());
-        Mockito.when(refreshTokenService.createRefreshToken(20L)).thenReturn(refreshToken);
+        Mockito.when(refreshTokenService.createRefreshToken(Mockito.any(UserPrincipal.class))).thenReturn(refreshToken);
 
         this.mockMvc.perform(MockMvcRequestBuilders.post("/signin")
                         .content(objectMapper.writeValueAsString(buildAuthRequest()))
@@ -94,6 +101,38 @@ class AuthenticationControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.debugMessage", Matchers.is("User not found with email : junt@test.com")));
     }
 
+    @Test
+    void shouldReturn429WhenPasswordHashingIsSaturated() throws Exception {
+        TooManyRequestsException saturated = new TooManyRequestsException("Too many authentication requests, please retry later.", 1);
+        Mockito.when(authenticationManager.authenticate(Mockito.any(Authentication.class))).thenThrow(new InternalAuthenticationServiceException(saturated.getMessage(), saturated));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/signin")
+                        .content(objectMapper.writeValueAsString(buildAuthRequest()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", Matchers.is(HttpStatus.TOO_MANY_REQUESTS.name())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("Too many authentication requests, please retry later.")));
+    }
+
+    @Test
+    void shouldReturn429WhenSigninIsRateLimited() throws Exception {
+        Mockito.doThrow(new TooManyRequestsException("Too many signin attempts, please retry later.", 12))
+                .when(loginRateLimiter).acquire(Mockito.eq("junt@test.com"), Mockito.anyString());
+
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/signin")
+                        .content(objectMapper.writeValueAsString(buildAuthRequest()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "12"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("Too many signin attempts, please retry later.")));
+        Mockito.verifyNoInteractions(authenticationManager);
+    }
+
     @Test
     void shouldRefreshToken() throws Exception {
         TokenRefreshRequest refreshRequest = buildTokenRefreshRequest();
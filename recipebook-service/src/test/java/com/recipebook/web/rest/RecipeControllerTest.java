@@ -1,14 +1,22 @@
 package com.recipebook.web.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.recipebook.domain.exceptions.PreconditionFailedException;
 import com.recipebook.domain.exceptions.ResourceNotFoundException;
 import com.recipebook.domain.values.PageResponse;
+import com.recipebook.domain.values.RecipeBatchRequest;
+import com.recipebook.domain.values.RecipeDeleteResult;
+import com.recipebook.domain.values.RecipeFilter;
+import com.recipebook.domain.values.RecipeListCriteria;
 import com.recipebook.domain.values.RecipeRequest;
 import com.recipebook.domain.values.RecipeResponse;
+import com.recipebook.domain.values.RecipeSuggestions;
+import com.recipebook.service.RecipeExportFormat;
 import com.recipebook.service.RecipeService;
 import com.recipebook.service.RecipeUserDetailsService;
 import com.recipebook.service.TokenProvider;
 import org.hamcrest.Matchers;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,16 +25,22 @@ import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import javax.validation.ValidationException;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 
@@ -57,10 +71,87 @@ class RecipeControllerTest {
         }
     }
 
+    @BeforeEach
+    void setup() {
+        Mockito.when(recipeService.listFingerprint()).thenReturn("list-fingerprint");
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnRecipesAfterCursor() throws Exception {
+        PageResponse<RecipeResponse> pageResponse = mockPageResponse();
+        pageResponse.setTotalItems(PageResponse.UNKNOWN);
+        pageResponse.setTotalPages(PageResponse.UNKNOWN);
+        pageResponse.setCurrentPage(PageResponse.UNKNOWN);
+        pageResponse.setNextCursor("next-cursor");
+        Mockito.when(recipeService.findAllAfter("current-cursor", RecipeListCriteria.builder().build(), 5)).thenReturn(pageResponse);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes")
+                        .param("cursor", "current-cursor")
+                        .param("size", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalItems", Matchers.is(-1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.contents", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", Matchers.is("next-cursor")));
+        Mockito.verify(recipeService, Mockito.never()).findAll(Mockito.any(RecipeListCriteria.class), Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn400WhenCursorIsInvalid() throws Exception {
+        Mockito.when(recipeService.findAllAfter("bad-cursor", RecipeListCriteria.builder().build(), 10)).thenThrow(new ValidationException("Invalid cursor 'bad-cursor'."));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes")
+                        .param("cursor", "bad-cursor")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("Invalid cursor 'bad-cursor'.")));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnSortedAndFilteredRecipes() throws Exception {
+        RecipeListCriteria criteria = RecipeListCriteria.builder().sort("suitableFor,desc").vegetarian(true).minServes(2).build();
+        Mockito.when(recipeService.findAll(criteria, 1, 5)).thenReturn(mockPageResponse());
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes")
+                        .param("sort", "suitableFor,desc")
+                        .param("vegetarian", "true")
+                        .param("minServes", "2")
+                        .param("page", "1")
+                        .param("size", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.contents", Matchers.hasSize(1)));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn400WhenSortIsNotSupported() throws Exception {
+        RecipeListCriteria criteria = RecipeListCriteria.builder().sort("instruction").build();
+        Mockito.when(recipeService.findAll(criteria, 0, 10))
+                .thenThrow(new ValidationException("Sorting by 'instruction' is not supported, use one of createdOn, name, suitableFor."));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes")
+                        .param("sort", "instruction")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("Sorting by 'instruction' is not supported, use one of createdOn, name, suitableFor.")));
+    }
+
     @Test
     @WithMockUser
     void shouldReturnAllRecipes() throws Exception {
-        Mockito.when(recipeService.findAll(0, 10)).thenReturn(mockPageResponse());
+        Mockito.when(recipeService.findAll(RecipeListCriteria.builder().build(), 0, 10)).thenReturn(mockPageResponse());
 
         this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes")
                         .contentType(MediaType.APPLICATION_JSON)
@@ -78,7 +169,137 @@ class RecipeControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.contents[0].cookingInstruction", Matchers.is("Test Cooking Instruction")))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.contents[0].suitableFor", Matchers.is(2)))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.contents[0].ingredients", Matchers.notNullValue()))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.contents[0].ingredients", Matchers.hasSize(3)));
+                .andExpect(MockMvcResultMatchers.jsonPath("$.contents[0].ingredients", Matchers.hasSize(3)))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"list-fingerprint\""))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn304WhenRecipesAreNotModified() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"list-fingerprint\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.content().string(""));
+        Mockito.verify(recipeService, Mockito.never()).findAll(Mockito.any(RecipeListCriteria.class), Mockito.anyInt(), Mockito.anyInt());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnRecipeWithETag() throws Exception {
+        RecipeResponse recipeResponse = mockRecipeResponse();
+        recipeResponse.setVersion(3);
+        Mockito.when(recipeService.findByGuid(recipeResponse.getUuid())).thenReturn(recipeResponse);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes/" + recipeResponse.getUuid())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.name", Matchers.is("Test")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.version").doesNotExist())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"" + recipeResponse.getUuid() + "-3\""))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"));
+        Mockito.verify(recipeService, Mockito.never()).findVersion(Mockito.anyString());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn304WhenRecipeIsNotModified() throws Exception {
+        String guid = UUID.randomUUID().toString();
+        Mockito.when(recipeService.findVersion(guid)).thenReturn(Optional.of(3));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes/" + guid)
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + guid + "-3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isNotModified())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"" + guid + "-3\""));
+        Mockito.verify(recipeService, Mockito.never()).findByGuid(Mockito.anyString());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnRecipeWhenETagIsStale() throws Exception {
+        RecipeResponse recipeResponse = mockRecipeResponse();
+        recipeResponse.setVersion(4);
+        Mockito.when(recipeService.findVersion(recipeResponse.getUuid())).thenReturn(Optional.of(4));
+        Mockito.when(recipeService.findByGuid(recipeResponse.getUuid())).thenReturn(recipeResponse);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes/" + recipeResponse.getUuid())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"" + recipeResponse.getUuid() + "-3\"")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"" + recipeResponse.getUuid() + "-4\""));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldSearchRecipes() throws Exception {
+        PageResponse<RecipeResponse> pageResponse = mockPageResponse();
+        pageResponse.setTotalItems(PageResponse.UNKNOWN);
+        pageResponse.setNextCursor("next-cursor");
+        Mockito.when(recipeService.search("pasta bake", "current-cursor", 5)).thenReturn(pageResponse);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes/search")
+                        .param("q", "pasta bake")
+                        .param("cursor", "current-cursor")
+                        .param("size", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.contents", Matchers.hasSize(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.nextCursor", Matchers.is("next-cursor")));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn400WhenSearchQueryIsMissing() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes/search")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(MockMvcResultHandlers.print());
+        Mockito.verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    @WithMockUser
+    void shouldSuggestNames() throws Exception {
+        Mockito.when(recipeService.suggest("spa", 5)).thenReturn(new RecipeSuggestions(List.of("Spaghetti Carbonara"), List.of("spaghetti", "spam")));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes/suggest")
+                        .param("prefix", "spa")
+                        .param("limit", "5")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.recipes", Matchers.contains("Spaghetti Carbonara")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.ingredients", Matchers.contains("spaghetti", "spam")));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldFilterRecipes() throws Exception {
+        Mockito.when(recipeService.filter(Mockito.any(RecipeFilter.class), Mockito.eq(0), Mockito.eq(10))).thenReturn(mockPageResponse());
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes/filter")
+                        .param("include", "Salt", "Pepper")
+                        .param("exclude", "Chicken")
+                        .param("vegetarian", "true")
+                        .param("minServes", "2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalItems", Matchers.is(1)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.contents", Matchers.hasSize(1)));
+        Mockito.verify(recipeService).filter(RecipeFilter.builder().include(Set.of("Salt", "Pepper")).exclude(Set.of("Chicken"))
+                .vegetarian(true).minServes(2).build(), 0, 10);
     }
 
     @Test
@@ -111,6 +332,86 @@ class RecipeControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.ingredients", Matchers.hasSize(recipeRequest.getIngredients().size())));
     }
 
+    @Test
+    @WithMockUser
+    void shouldStreamExport() throws Exception {
+        Mockito.when(recipeService.exportRecipes(RecipeExportFormat.CSV)).thenReturn(out -> out.write("uuid\n".getBytes(StandardCharsets.UTF_8)));
+
+        MvcResult result = this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes/export").param("format", "csv"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(MockMvcRequestBuilders.asyncDispatch(result))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.content().contentType("text/csv"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"recipes.csv\""))
+                .andExpect(MockMvcResultMatchers.content().string("uuid\n"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn400WhenExportFormatIsUnknown() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes/export").param("format", "xml"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("Export format 'xml' is not supported, use one of ndjson, csv.")));
+        Mockito.verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    @WithMockUser
+    void shouldCreateRecipes() throws Exception {
+        RecipeBatchRequest batchRequest = new RecipeBatchRequest();
+        batchRequest.setRecipes(List.of(mockRecipeRequest(), mockRecipeRequest()));
+        Mockito.when(recipeService.createRecipes(batchRequest.getRecipes())).thenReturn(List.of(mockRecipeResponse(), mockRecipeResponse()));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/recipes/batch")
+                        .content(objectMapper.writeValueAsString(batchRequest))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].uuid", Matchers.notNullValue()));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn400WhenBatchHasAnInvalidRecipe() throws Exception {
+        RecipeRequest invalid = mockRecipeRequest();
+        invalid.setName("");
+        RecipeBatchRequest batchRequest = new RecipeBatchRequest();
+        batchRequest.setRecipes(List.of(mockRecipeRequest(), invalid));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/recipes/batch")
+                        .content(objectMapper.writeValueAsString(batchRequest))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.validationErrors[0].field", Matchers.is("recipes[1].name")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.validationErrors[0].message", Matchers.is("Recipe name is required")));
+        Mockito.verifyNoInteractions(recipeService);
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn400WhenBatchIsTooLarge() throws Exception {
+        RecipeBatchRequest batchRequest = new RecipeBatchRequest();
+        batchRequest.setRecipes(Collections.nCopies(RecipeBatchRequest.MAX_RECIPES + 1, mockRecipeRequest()));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/recipes/batch")
+                        .content(objectMapper.writeValueAsString(batchRequest))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.validationErrors[0].field", Matchers.is("recipes")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.validationErrors[0].message", Matchers.is("At most 100 recipes can be created at once.")));
+        Mockito.verifyNoInteractions(recipeService);
+    }
+
     @Test
     @WithMockUser
     void shouldReturn400WhenRequiredValueIsMissingInRequest() throws Exception {
@@ -166,6 +467,72 @@ class RecipeControllerTest {
                 .andExpect(MockMvcResultMatchers.jsonPath("$.ingredients", Matchers.hasSize(recipeRequest.getIngredients().size())));
     }
 
+    @Test
+    @WithMockUser
+    void shouldUpdateRecipeIfMatch() throws Exception {
+        RecipeRequest recipeRequest = mockRecipeRequest();
+        RecipeResponse recipeResponse = mockRecipeResponse();
+        recipeResponse.setVersion(4);
+        Mockito.when(recipeService.updateRecipe(Mockito.any(RecipeRequest.class), Mockito.eq(3))).thenReturn(recipeResponse);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.put("/recipes/{recipeGuid}", recipeResponse.getUuid())
+                        .header(HttpHeaders.IF_MATCH, "\"" + recipeResponse.getUuid() + "-3\"")
+                        .content(objectMapper.writeValueAsString(recipeRequest))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"" + recipeResponse.getUuid() + "-4\""));
+        Mockito.verify(recipeService, Mockito.never()).updateRecipe(Mockito.any(RecipeRequest.class));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldUpdateRecipeIfMatchBareVersion() throws Exception {
+        RecipeResponse recipeResponse = mockRecipeResponse();
+        Mockito.when(recipeService.updateRecipe(Mockito.any(RecipeRequest.class), Mockito.eq(7))).thenReturn(recipeResponse);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.put("/recipes/{recipeGuid}", recipeResponse.getUuid())
+                        .header(HttpHeaders.IF_MATCH, "7")
+                        .content(objectMapper.writeValueAsString(mockRecipeRequest()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn412WhenRecipeVersionChanged() throws Exception {
+        String guid = UUID.randomUUID().toString();
+        Mockito.when(recipeService.updateRecipe(Mockito.any(RecipeRequest.class), Mockito.eq(3)))
+                .thenThrow(new PreconditionFailedException("Recipe '" + guid + "' is at version 4, not 3."));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.put("/recipes/{recipeGuid}", guid)
+                        .header(HttpHeaders.IF_MATCH, "\"" + guid + "-3\"")
+                        .content(objectMapper.writeValueAsString(mockRecipeRequest()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("Recipe '" + guid + "' is at version 4, not 3.")));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn412WhenIfMatchIsForAnotherRecipe() throws Exception {
+        String guid = UUID.randomUUID().toString();
+
+        this.mockMvc.perform(MockMvcRequestBuilders.put("/recipes/{recipeGuid}", guid)
+                        .header(HttpHeaders.IF_MATCH, "\"" + UUID.randomUUID() + "-3\"")
+                        .content(objectMapper.writeValueAsString(mockRecipeRequest()))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isPreconditionFailed())
+                .andDo(MockMvcResultHandlers.print());
+        Mockito.verifyNoInteractions(recipeService);
+    }
+
     @Test
     @WithMockUser
     void shouldReturn404WhenRecipeIsNotExists() throws Exception {
@@ -227,6 +594,35 @@ class RecipeControllerTest {
                 .andDo(MockMvcResultHandlers.print());
     }
 
+    @Test
+    @WithMockUser
+    void shouldDeleteRecipes() throws Exception {
+        final String deleted = UUID.randomUUID().toString();
+        final String missing = UUID.randomUUID().toString();
+        Mockito.when(recipeService.deleteRecipes(List.of(deleted, missing))).thenReturn(List.of(
+                new RecipeDeleteResult(deleted, RecipeDeleteResult.Status.DELETED), new RecipeDeleteResult(missing, RecipeDeleteResult.Status.NOT_FOUND)));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.delete("/recipes")
+                        .param("ids", deleted + "," + missing)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.jsonPath("$", Matchers.hasSize(2)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].uuid", Matchers.is(deleted)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].status", Matchers.is("DELETED")))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].status", Matchers.is("NOT_FOUND")));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn400WhenDeleteRecipesHasNoIds() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders.delete("/recipes")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest())
+                .andDo(MockMvcResultHandlers.print());
+        Mockito.verifyNoInteractions(recipeService);
+    }
+
     @Test
     @WithMockUser
     void shouldReturn404WhenDeleteRecipeIsNotExists() throws Exception {
@@ -0,0 +1,195 @@
+package com.recipebook.web.rest;
+
+import com.recipebook.domain.exceptions.PayloadTooLargeException;
+import com.recipebook.domain.exceptions.ResourceNotFoundException;
+import com.recipebook.domain.exceptions.TooManyRequestsException;
+import com.recipebook.domain.values.RecipeImportJobResponse;
+import com.recipebook.service.RecipeImportService;
+import com.recipebook.service.RecipeUserDetailsService;
+import com.recipebook.service.TokenProvider;
+import org.assertj.core.api.Assertions;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.result.MockMvcResultHandlers;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import javax.validation.ValidationException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * @author - AvanishKishorPandey
+ */
+
+@WebMvcTest(RecipeImportController.class)
+class RecipeImportControllerTest {
+    private static final String DUMP = "{\"name\":\"Soup\"}\n{\"name\":\"Stew\"}\n";
+
+    @Autowired
+    protected MockMvc mockMvc;
+
+    @MockBean
+    private RecipeImportService recipeImportService;
+
+    @MockBean
+    private RecipeUserDetailsService userDetailsService;
+
+    @TestConfiguration
+    static class TestConfig {
+        @Bean
+        @Primary
+        TokenProvider tokenProvider() {
+            return new TokenProvider();
+        }
+    }
+
+    @Test
+    @WithMockUser
+    void shouldQueueImportOfRequestBody() throws Exception {
+        RecipeImportJobResponse job = mockJob("QUEUED");
+        Mockito.when(recipeImportService.startImport(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            assertDump(invocation.getArgument(0));
+            return job;
+        });
+
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/recipes/import")
+                        .content(DUMP)
+                        .contentType(RecipeImportController.NDJSON_VALUE)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andDo(MockMvcResultHandlers.print())
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LOCATION, "/recipes/import/" + job.getUuid()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.status", Matchers.is("QUEUED")));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldQueueImportOfUploadedFile() throws Exception {
+        RecipeImportJobResponse job = mockJob("QUEUED");
+        Mockito.when(recipeImportService.startImport(ArgumentMatchers.any())).thenAnswer(invocation -> {
+            assertDump(invocation.getArgument(0));
+            return job;
+        });
+
+        this.mockMvc.perform(MockMvcRequestBuilders.multipart("/recipes/import")
+                        .file(new MockMultipartFile("file", "recipes.ndjson", RecipeImportController.NDJSON_VALUE, DUMP.getBytes(StandardCharsets.UTF_8)))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.LOCATION, "/recipes/import/" + job.getUuid()));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn429WhenImportQueueIsFull() throws Exception {
+        Mockito.when(recipeImportService.startImport(ArgumentMatchers.any()))
+                .thenThrow(new TooManyRequestsException("Too many imports are queued.", 60));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/recipes/import")
+                        .content(DUMP)
+                        .contentType(RecipeImportController.NDJSON_VALUE)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isTooManyRequests())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.RETRY_AFTER, "60"));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn413WhenDumpIsTooLarge() throws Exception {
+        Mockito.when(recipeImportService.startImport(ArgumentMatchers.any()))
+                .thenThrow(new PayloadTooLargeException("The dump is larger than the import limit of 104857600 bytes."));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/recipes/import")
+                        .content(DUMP)
+                        .contentType(RecipeImportController.NDJSON_VALUE)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isPayloadTooLarge())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.message", Matchers.is("The dump is larger than the import limit of 104857600 bytes.")));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturnImportProgress() throws Exception {
+        RecipeImportJobResponse job = mockJob("RUNNING");
+        job.setCommittedOffset(200);
+        job.setImportedCount(199);
+        job.setRejectedCount(1);
+        job.setErrors(List.of(new RecipeImportJobResponse.RecordError(7, "Recipe name is required")));
+        Mockito.when(recipeImportService.findJob(job.getUuid())).thenReturn(job);
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes/import/{id}", job.getUuid())
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.committedOffset", Matchers.is(200)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.importedCount", Matchers.is(199)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].record", Matchers.is(7)))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.errors[0].message", Matchers.is("Recipe name is required")));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn404WhenImportIsNotFound() throws Exception {
+        Mockito.when(recipeImportService.findJob("unknown")).thenThrow(new ResourceNotFoundException("Import", "GUID", "unknown"));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.get("/recipes/import/{id}", "unknown")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser
+    void shouldResumeFailedImport() throws Exception {
+        RecipeImportJobResponse job = mockJob("QUEUED");
+        Mockito.when(recipeImportService.resumeImport(ArgumentMatchers.eq(job.getUuid()), ArgumentMatchers.any())).thenAnswer(invocation -> {
+            assertDump(invocation.getArgument(1));
+            return job;
+        });
+
+        this.mockMvc.perform(MockMvcRequestBuilders.post("/recipes/import/{id}/resume", job.getUuid())
+                        .content(DUMP)
+                        .contentType(RecipeImportController.NDJSON_VALUE)
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isAccepted())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.uuid", Matchers.is(job.getUuid())));
+    }
+
+    @Test
+    @WithMockUser
+    void shouldReturn400WhenResumedImportHasNotFailed() throws Exception {
+        Mockito.when(recipeImportService.resumeImport(ArgumentMatchers.eq("completed"), ArgumentMatchers.any()))
+                .thenThrow(new ValidationException("Only a failed import can be resumed, import 'completed' is COMPLETED."));
+
+        this.mockMvc.perform(MockMvcRequestBuilders.multipart("/recipes/import/{id}/resume", "completed")
+                        .file(new MockMultipartFile("file", "recipes.ndjson", RecipeImportController.NDJSON_VALUE, DUMP.getBytes(StandardCharsets.UTF_8)))
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    private static RecipeImportJobResponse mockJob(String status) {
+        return RecipeImportJobResponse.builder()
+                .uuid(UUID.randomUUID().toString())
+                .status(status)
+                .createdAt("18‐10‐2026 10:00")
+                .errors(List.of())
+                .build();
+    }
+
+    private static void assertDump(InputStream dump) throws Exception {
+        Assertions.assertThat(new String(dump.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo(DUMP);
+    }
+}